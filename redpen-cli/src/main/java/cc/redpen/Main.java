@@ -22,17 +22,25 @@ import cc.redpen.model.Document;
 import cc.redpen.parser.DocumentParser;
 import cc.redpen.util.FormatterUtils;
 import cc.redpen.validator.ValidationError;
+import cc.redpen.validator.Validator;
 import org.apache.commons.cli.*;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Class containing main method called from command line.
@@ -73,7 +81,7 @@ public final class Main {
         options.addOption("h", "help", false, "Displays this help information and exits");
 
         options.addOption(OptionBuilder.withLongOpt("format")
-                .withDescription("Input file format (markdown,plain,wiki,asciidoc,latex,rest)")
+                .withDescription("Input file format (markdown,commonmark,plain,wiki,asciidoc,latex,rest)")
                 .hasArg()
                 .withArgName("FORMAT")
                 .create("f"));
@@ -114,6 +122,23 @@ public final class Main {
                 .withArgName("THRESHOLD")
                 .create("t"));
 
+        options.addOption(OptionBuilder.withLongOpt("threads")
+                .withDescription("Number of threads used to validate documents")
+                .hasArg()
+                .withArgName("THREADS")
+                .create("T"));
+
+        options.addOption(OptionBuilder.withLongOpt("cache-dir")
+                .withDescription("Directory keeping the errors of unchanged input files between runs")
+                .hasArg()
+                .withArgName("DIRECTORY")
+                .create("C"));
+
+        options.addOption(OptionBuilder.withLongOpt("fail-fast")
+                .withDescription("Stop validating once the errors exceed the limit, reporting only the errors found so far, "
+                        + "also with xml or json results, threads or a cache directory (plain results stop there by default)")
+                .create("F"));
+
         options.addOption(OptionBuilder.withLongOpt("version")
                 .withDescription("Displays version information and exits")
                 .create("v"));
@@ -134,8 +159,11 @@ public final class Main {
         String inputSentence = null;
         String language = "en";
         String threshold = "error";
+        File cacheDirectory = null;
+        boolean failFast = false;
 
         int limit = DEFAULT_LIMIT;
+        int threads = 1;
 
         if (commandLine.hasOption("h")) {
             printHelp(options);
@@ -166,6 +194,15 @@ public final class Main {
         if (commandLine.hasOption("t")) {
             threshold= commandLine.getOptionValue("t");
         }
+        if (commandLine.hasOption("T")) {
+            threads = Integer.valueOf(commandLine.getOptionValue("T"));
+        }
+        if (commandLine.hasOption("C")) {
+            cacheDirectory = new File(commandLine.getOptionValue("C"));
+        }
+        if (commandLine.hasOption("F")) {
+            failFast = true;
+        }
 
         // set language
         if (language.equals("ja")) {
@@ -200,20 +237,41 @@ public final class Main {
             return -1;
         }
 
-        List<Document> documents = getDocuments(inputFormat, inputSentence, inputFileNames, redPen);
-        Map<Document, List<ValidationError>> documentListMap = redPen.validate(documents, threshold);
+        Map<Document, List<ValidationError>> documentListMap;
+        boolean truncated = false;
+        if (failFast || (!needsAllErrors(resultFormat) && cacheDirectory == null && threads == 1)) {
+            // stops at the first block exceeding the limit, without threads nor the cache
+            List<Document> documents = getDocuments(inputFormat, inputSentence, inputFileNames, redPen);
+            ValidationContext context = redPen.newContext(threshold);
+            documentListMap = context.validate(documents, limit);
+            truncated = context.isTruncated();
+        } else if (cacheDirectory != null && inputSentence == null) {
+            documentListMap = validateWithCache(redPen, configFile, inputFormat, inputFileNames, threshold, threads, cacheDirectory);
+        } else {
+            List<Document> documents = getDocuments(inputFormat, inputSentence, inputFileNames, redPen);
+            documentListMap = validate(redPen, documents, threshold, threads);
+        }
 
         Formatter formatter = FormatterUtils.getFormatterByName(resultFormat);
         if (formatter == null) {
             LOG.error("Unsupported format: " + resultFormat + " - please use xml, plain, plain2, json or json2");
             return -1;
         }
-        String result = formatter.format(documentListMap);
-        System.out.println(result);
+        try {
+            // written document by document, without building the whole result in memory,
+            // in the platform charset as the rest of the console output
+            formatter.open(new OutputStreamWriter(System.out)).writeAll(documentListMap);
+        } catch (IOException e) {
+            throw new RedPenException(e);
+        }
+        System.out.println();
 
         long errorCount = documentListMap.values().stream().mapToLong(List::size).sum();
 
-        if (errorCount > limit) {
+        if (truncated) {
+            LOG.error("Validation stopped after \"{}\" errors, more than specified (limit is \"{}\"). Other errors may not be reported.", errorCount, limit);
+            return 1;
+        } else if (errorCount > limit) {
             LOG.error("The number of errors \"{}\" is larger than specified (limit is \"{}\").", errorCount, limit);
             return 1;
         } else {
@@ -221,6 +279,14 @@ public final class Main {
         }
     }
 
+    /**
+     * Return true for the result formats read by other tools, which expect every error of the documents.
+     * The plain formats are read by people and hooks, for whom the errors found until the limit is exceeded are enough.
+     */
+    static boolean needsAllErrors(String resultFormat) {
+        return !resultFormat.toLowerCase().startsWith("plain");
+    }
+
     private static List<Document> getDocuments(String inputFormat, String inputSentence, String[] inputFileNames, RedPen redPen) throws RedPenException {
         List<Document> documents = new ArrayList<>();
         DocumentParser parser = DocumentParser.of(inputFormat);
@@ -232,6 +298,100 @@ public final class Main {
         return documents;
     }
 
+    private static Map<Document, List<ValidationError>> validate(RedPen redPen, List<Document> documents, String threshold, int threads) {
+        if (threads <= 1) {
+            return redPen.validate(documents, threshold);
+        }
+        ForkJoinPool executor = new ForkJoinPool(threads);
+        try {
+            return redPen.validate(documents, threshold, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Map<Document, List<ValidationError>> validate(ValidationPlan plan, List<Document> documents, int threads) {
+        if (threads <= 1) {
+            return plan.newContext().validate(documents);
+        }
+        ForkJoinPool executor = new ForkJoinPool(threads);
+        try {
+            return plan.newContext().validate(documents, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Validate the input files, taking the errors of the document context-free validators from the cache for the
+     * unchanged files. Only the files missing from the cache are validated by these validators, and their errors are
+     * stored for the next runs. The other validators depend on all the files, so they validate all of them on every
+     * run; their errors follow the ones of the context-free validators.
+     */
+    private static Map<Document, List<ValidationError>> validateWithCache(RedPen redPen, File configFile, String inputFormat,
+                                                                         String[] inputFileNames, String threshold, int threads,
+                                                                         File cacheDirectory) throws RedPenException {
+        ValidationPlan plan = redPen.getPlan(threshold);
+        String configurationKey = ValidationCache.configurationKey(configFile, plan, inputFormat);
+        if (configurationKey == null) {
+            return validate(redPen, getDocuments(inputFormat, null, inputFileNames, redPen), threshold, threads);
+        }
+        File[] files = extractInputFiles(inputFileNames);
+        ValidationPlan contextFree = plan.select(Validator::isDocumentContextFree);
+        ValidationPlan corpusWide = plan.select(validator -> !validator.isDocumentContextFree());
+        ValidationCache cache = new ValidationCache(cacheDirectory, configurationKey, files);
+
+        List<List<ValidationError>> errors = new ArrayList<>();
+        List<Integer> missed = new ArrayList<>();
+        for (int i = 0; i < files.length; i++) {
+            List<ValidationError> cached = cache.load(i);
+            if (cached == null) {
+                missed.add(i);
+            }
+            errors.add(cached);
+        }
+        LOG.info("Errors of {} of {} files found in cache", files.length - missed.size(), files.length);
+
+        // corpus-wide validators need every file, otherwise only the missed ones are parsed
+        List<Integer> parsedIndexes = missed;
+        if (!corpusWide.getValidators().isEmpty()) {
+            parsedIndexes = IntStream.range(0, files.length).boxed().collect(Collectors.toList());
+        }
+        Document[] documents = new Document[files.length];
+        if (!parsedIndexes.isEmpty()) {
+            List<Document> parsed = redPen.parse(DocumentParser.of(inputFormat),
+                    parsedIndexes.stream().map(i -> files[i]).toArray(File[]::new));
+            for (int k = 0; k < parsedIndexes.size(); k++) {
+                documents[parsedIndexes.get(k)] = parsed.get(k);
+            }
+        }
+
+        if (!missed.isEmpty()) {
+            List<Document> missedDocuments = missed.stream().map(i -> documents[i]).collect(Collectors.toList());
+            Map<Document, List<ValidationError>> validated = validate(contextFree, missedDocuments, threads);
+            for (int i : missed) {
+                errors.set(i, validated.get(documents[i]));
+                cache.store(i, errors.get(i));
+            }
+        }
+        if (!corpusWide.getValidators().isEmpty()) {
+            Map<Document, List<ValidationError>> validated = validate(corpusWide, Arrays.asList(documents), threads);
+            for (int i = 0; i < files.length; i++) {
+                List<ValidationError> merged = new ArrayList<>(errors.get(i));
+                merged.addAll(validated.get(documents[i]));
+                errors.set(i, merged);
+            }
+        }
+
+        Map<Document, List<ValidationError>> documentListMap = new LinkedHashMap<>();
+        for (int i = 0; i < files.length; i++) {
+            // formatters only need the file name of the documents which were not parsed
+            Document document = documents[i] != null ? documents[i] : Document.builder().setFileName(files[i].getPath()).build();
+            documentListMap.put(document, errors.get(i));
+        }
+        return documentListMap;
+    }
+
     static String guessInputFormat(String[] inputFileNames) {
         String inputFormat = "";
         for (String inputFileName : inputFileNames) {
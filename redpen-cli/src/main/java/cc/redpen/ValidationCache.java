@@ -0,0 +1,340 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.config.Configuration;
+import cc.redpen.config.ValidatorConfiguration;
+import cc.redpen.model.Sentence;
+import cc.redpen.parser.LineOffset;
+import cc.redpen.validator.ValidationError;
+import cc.redpen.validator.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Errors of the input files kept on disk between runs of the command line tool.
+ * <p>
+ * Only the errors of the {@link Validator#isDocumentContextFree() document context-free} validators are stored, since
+ * the errors of the other validators depend on all the input files. The errors of a file are stored under a key made
+ * of the content of the file, the configuration file and the dictionaries and scripts its validators read, the
+ * threshold, the input format, the locale of the messages and {@link RedPen#VERSION}, so any change of them makes
+ * the entry unused.
+ * <p>
+ * Each entry is a small binary file written atomically, so concurrent runs sharing the directory do not
+ * see partial entries. Unused entries are never removed; the directory can be deleted at any time.
+ */
+final class ValidationCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ValidationCache.class);
+
+    private static final int MAGIC = 0x52504302;
+    private static final String SUFFIX = ".rpc";
+
+    private final File directory;
+    private final String[] keys;
+
+    /**
+     * Constructor.
+     *
+     * @param directory        directory holding the entries, created if needed
+     * @param configurationKey key of the configuration, see {@link #configurationKey}
+     * @param files            input files
+     * @throws RedPenException when failed to read the files or to create the directory
+     */
+    ValidationCache(File directory, String configurationKey, File[] files) throws RedPenException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new RedPenException("Failed to create cache directory " + directory);
+        }
+        this.directory = directory;
+        this.keys = new String[files.length];
+        for (int i = 0; i < files.length; i++) {
+            MessageDigest digest = newDigest();
+            update(digest, configurationKey);
+            update(digest, files[i].getPath());
+            try {
+                update(digest, hex(newDigest().digest(Files.readAllBytes(files[i].toPath()))));
+            } catch (IOException e) {
+                throw new RedPenException(e);
+            }
+            keys[i] = hex(digest.digest());
+        }
+    }
+
+    /**
+     * Compute the key of a configuration.
+     * <p>
+     * Besides the configuration file, the key covers the files and directories named by the properties the
+     * validators read, including the default values of properties missing from the configuration. A directory
+     * is covered by the names of its entries and the contents of the files directly in it. Messages are stored
+     * formatted, so the key covers the default locale as well.
+     *
+     * @param configFile  configuration file
+     * @param plan        validation plan of the configuration and threshold
+     * @param inputFormat format of the input files
+     * @return key of the configuration, or null when some input of the validators cannot be read
+     * @throws RedPenException when failed to read the configuration file
+     */
+    static String configurationKey(File configFile, ValidationPlan plan, String inputFormat) throws RedPenException {
+        MessageDigest digest = newDigest();
+        update(digest, RedPen.VERSION);
+        update(digest, plan.getThreshold().toString());
+        update(digest, inputFormat);
+        update(digest, Locale.getDefault().toString());
+        try {
+            update(digest, hex(newDigest().digest(Files.readAllBytes(configFile.toPath()))));
+        } catch (IOException e) {
+            throw new RedPenException(e);
+        }
+        // dictionaries and scripts given as validator properties or their defaults
+        for (int i = 0; i < plan.getValidators().size(); i++) {
+            Map<String, String> properties = new TreeMap<>();
+            plan.getValidators().get(i).getProperties().forEach((name, value) -> {
+                if (value instanceof String) {
+                    properties.put(name, (String) value);
+                }
+            });
+            properties.putAll(plan.getValidatorConfigs().get(i).getProperties());
+            for (String value : properties.values()) {
+                File file = findFile(plan.getConfiguration(), value);
+                if (file != null) {
+                    update(digest, value);
+                    try {
+                        updateWithFile(digest, file.toPath());
+                    } catch (IOException e) {
+                        LOG.warn("Cannot cache errors, failed to read {}: {}", file, e.toString());
+                        return null;
+                    }
+                }
+            }
+        }
+        return hex(digest.digest());
+    }
+
+    private static File findFile(Configuration configuration, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return configuration.findFile(value);
+        } catch (RedPenException e) {
+            return null;
+        }
+    }
+
+    private static void updateWithFile(MessageDigest digest, Path path) throws IOException {
+        if (Files.isRegularFile(path)) {
+            update(digest, hex(newDigest().digest(Files.readAllBytes(path))));
+        } else if (Files.isDirectory(path)) {
+            // validators read the files directly in a directory, such as the scripts of JavaScriptValidator
+            List<Path> children;
+            try (Stream<Path> list = Files.list(path)) {
+                children = list.sorted().collect(Collectors.toList());
+            }
+            update(digest, Integer.toString(children.size()));
+            for (Path child : children) {
+                update(digest, child.getFileName().toString());
+                if (Files.isRegularFile(child)) {
+                    update(digest, hex(newDigest().digest(Files.readAllBytes(child))));
+                }
+            }
+        } else {
+            throw new IOException("Neither a file nor a directory: " + path);
+        }
+    }
+
+    /**
+     * Load the errors of a file.
+     *
+     * @param index index of the file
+     * @return errors, or null when the file is not in the cache
+     */
+    List<ValidationError> load(int index) {
+        File entry = new File(directory, keys[index] + SUFFIX);
+        if (!entry.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(entry)))) {
+            return read(in);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Ignoring unreadable cache entry {}: {}", entry, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Store the errors of a file.
+     *
+     * @param index  index of the file
+     * @param errors errors of the file
+     */
+    void store(int index, List<ValidationError> errors) {
+        File entry = new File(directory, keys[index] + SUFFIX);
+        try {
+            File temp = File.createTempFile(keys[index], ".tmp", directory);
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                    write(out, errors);
+                }
+                try {
+                    Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to write cache entry {}: {}", entry, e.toString());
+        }
+    }
+
+    static void write(DataOutputStream out, List<ValidationError> errors) throws IOException {
+        // sentences are shared by the errors reported on them
+        Map<Sentence, Integer> sentenceIndexes = new IdentityHashMap<>();
+        List<Sentence> sentences = new ArrayList<>();
+        for (ValidationError error : errors) {
+            if (!sentenceIndexes.containsKey(error.getSentence())) {
+                sentenceIndexes.put(error.getSentence(), sentences.size());
+                sentences.add(error.getSentence());
+            }
+        }
+        out.writeInt(MAGIC);
+        out.writeInt(sentences.size());
+        for (Sentence sentence : sentences) {
+            writeString(out, sentence.getContent());
+            out.writeInt(sentence.getLineNumber());
+            out.writeInt(sentence.getStartPositionOffset());
+            List<LineOffset> offsets = sentence.getOffsetMap();
+            out.writeInt(offsets.size());
+            for (LineOffset offset : offsets) {
+                out.writeInt(offset.lineNum);
+                out.writeInt(offset.offset);
+            }
+            out.writeInt(sentence.getLinks().size());
+            for (String link : sentence.getLinks()) {
+                writeString(out, link);
+            }
+        }
+        out.writeInt(errors.size());
+        for (ValidationError error : errors) {
+            out.writeInt(sentenceIndexes.get(error.getSentence()));
+            writeString(out, error.getValidatorName());
+            writeString(out, error.getMessage());
+            out.writeByte(error.getLevel().ordinal());
+            writeOffset(out, error.getStartPosition().orElse(null));
+            writeOffset(out, error.getEndPosition().orElse(null));
+        }
+    }
+
+    static List<ValidationError> read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Unknown cache entry format");
+        }
+        Sentence[] sentences = new Sentence[in.readInt()];
+        for (int i = 0; i < sentences.length; i++) {
+            String content = readString(in);
+            int lineNumber = in.readInt();
+            int startOffset = in.readInt();
+            List<LineOffset> offsets = new ArrayList<>();
+            for (int j = in.readInt(); j > 0; j--) {
+                offsets.add(new LineOffset(in.readInt(), in.readInt()));
+            }
+            List<String> links = new ArrayList<>();
+            for (int j = in.readInt(); j > 0; j--) {
+                links.add(readString(in));
+            }
+            if (!offsets.isEmpty() && offsets.get(0).lineNum == lineNumber && offsets.get(0).offset == startOffset) {
+                sentences[i] = new Sentence(content, offsets, links);
+            } else {
+                sentences[i] = new Sentence(content, lineNumber, startOffset);
+            }
+        }
+        ValidatorConfiguration.LEVEL[] levels = ValidatorConfiguration.LEVEL.values();
+        List<ValidationError> errors = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            Sentence sentence = sentences[in.readInt()];
+            String validatorName = readString(in);
+            String message = readString(in);
+            ValidatorConfiguration.LEVEL level = levels[in.readByte()];
+            LineOffset start = readOffset(in);
+            LineOffset end = readOffset(in);
+            errors.add(new ValidationError(validatorName, message, sentence, start, end, level));
+        }
+        return errors;
+    }
+
+    private static void writeOffset(DataOutputStream out, LineOffset offset) throws IOException {
+        out.writeBoolean(offset != null);
+        if (offset != null) {
+            out.writeInt(offset.lineNum);
+            out.writeInt(offset.offset);
+        }
+    }
+
+    private static LineOffset readOffset(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new LineOffset(in.readInt(), in.readInt()) : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        // DataOutput#writeUTF is limited to 64KB, which long sentences may exceed
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String field) {
+        byte[] bytes = (field == null ? "" : field).getBytes(StandardCharsets.UTF_8);
+        // length prefixed, so that no field can be confused with a separator
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -19,13 +19,19 @@ package cc.redpen;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 class MainTest {
@@ -39,6 +45,71 @@ class MainTest {
         Main.run(args);
     }
 
+    @Test
+    void testCacheDirectory() throws RedPenException, IOException {
+        File cacheDirectory = Files.createTempDirectory("redpen-cache").toFile();
+        String[] args = new String[]{
+                "-c", "sample/conf/redpen-conf-en.xml",
+                "-C", cacheDirectory.getPath(),
+                "-l", "1000",
+                "sample/sample-doc/en/sampledoc-en.txt"
+        };
+        assertEquals(0, Main.run(args));
+        assertEquals(1, cacheDirectory.list().length);
+        // the second run takes the errors from the cache
+        assertEquals(0, Main.run(args));
+        assertEquals(1, cacheDirectory.list().length);
+    }
+
+    @Test
+    void testCacheKeepsFilesValidatedByCorpusWideValidators() throws Exception {
+        File directory = Files.createTempDirectory("redpen-cache").toFile();
+        File cacheDirectory = new File(directory, "cache");
+        File configFile = writeFile(directory, "redpen-conf.xml", "<redpen-conf lang=\"en\"><validators>" +
+                "<validator name=\"SentenceLength\"><property name=\"max_len\" value=\"20\"/></validator>" +
+                "<validator name=\"DuplicatedSection\"/>" +
+                "</validators></redpen-conf>");
+        File first = writeFile(directory, "first.txt", "This sentence is long enough to be reported.");
+        File second = writeFile(directory, "second.txt", "This sentence is long enough to be reported.");
+        String[] args = new String[]{
+                "-c", configFile.getPath(),
+                "-C", cacheDirectory.getPath(),
+                "-r", "json",
+                "-l", "1000",
+                first.getPath(), second.getPath()
+        };
+        String validated = runAndCaptureOutput(args);
+        assertEquals(2, cacheDirectory.list().length);
+        assertEquals(validated, runAndCaptureOutput(args));
+
+        // only the changed file is validated again by the document context-free validators
+        writeFile(directory, "second.txt", "This other sentence is long enough to be reported.");
+        runAndCaptureOutput(args);
+        assertEquals(3, cacheDirectory.list().length);
+    }
+
+    private static String runAndCaptureOutput(String[] args) throws RedPenException {
+        return runAndCaptureOutput(args, 0);
+    }
+
+    private static String runAndCaptureOutput(String[] args, int expectedStatus) throws RedPenException {
+        PrintStream out = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured));
+        try {
+            assertEquals(expectedStatus, Main.run(args));
+        } finally {
+            System.setOut(out);
+        }
+        return captured.toString();
+    }
+
+    private static File writeFile(File directory, String name, String content) throws IOException {
+        File file = new File(directory, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
     @Test
     void testDefaultConfigFile() throws RedPenException, IOException {
         File file;
@@ -88,6 +159,60 @@ class MainTest {
         assertEquals(0, Main.run(args));
     }
 
+    @Test
+    void testMainWithThreads() throws RedPenException {
+        String[] args = new String[]{
+                "-c", "sample/conf/redpen-conf-en.xml",
+                "sample/sample-doc/en/sampledoc-en.txt",
+                "-l", "1"
+        };
+        String[] argsWithThreads = new String[]{
+                "-c", "sample/conf/redpen-conf-en.xml",
+                "sample/sample-doc/en/sampledoc-en.txt",
+                "-l", "1",
+                "-T", "4"
+        };
+        assertEquals(Main.run(args), Main.run(argsWithThreads));
+    }
+
+    @Test
+    void testFailFast() throws RedPenException {
+        String[] args = new String[]{
+                "-c", "sample/conf/redpen-conf-en.xml",
+                "sample/sample-doc/en/sampledoc-en.txt",
+                "-l", "1",
+                "-F"
+        };
+        assertEquals(1, Main.run(args));
+        args[4] = "1000";
+        assertEquals(0, Main.run(args));
+    }
+
+    @Test
+    void testPlainResultsStopOnceTheLimitIsExceeded() throws Exception {
+        File directory = Files.createTempDirectory("redpen-limit").toFile();
+        File configFile = writeFile(directory, "redpen-conf.xml", "<redpen-conf lang=\"en\"><validators>" +
+                "<validator name=\"SentenceLength\"><property name=\"max_len\" value=\"20\"/></validator>" +
+                "</validators></redpen-conf>");
+        File first = writeFile(directory, "first.txt", "This sentence is long enough to be reported.");
+        File second = writeFile(directory, "second.txt", "This sentence is long enough to be reported.");
+        String[] args = new String[]{
+                "-c", configFile.getPath(),
+                "-r", "plain",
+                "-l", "0",
+                first.getPath(), second.getPath()
+        };
+        String bounded = runAndCaptureOutput(args, 1);
+        assertTrue(bounded.contains("first.txt"));
+        assertFalse(bounded.contains("second.txt"));
+
+        // results read by other tools hold every error
+        args[3] = "json";
+        String json = runAndCaptureOutput(args, 1);
+        assertTrue(json.contains("first.txt"));
+        assertTrue(json.contains("second.txt"));
+    }
+
     @Test
     void testPlugin() throws Exception {
         String[] args = new String[]{
@@ -0,0 +1,132 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.config.Configuration;
+import cc.redpen.config.ValidatorConfiguration;
+import cc.redpen.formatter.JSONFormatter;
+import cc.redpen.model.Document;
+import cc.redpen.parser.DocumentParser;
+import cc.redpen.validator.ValidationError;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidationCacheTest {
+
+    @Test
+    void testStoredErrorsAreFormattedLikeValidatedOnes() throws Exception {
+        File directory = Files.createTempDirectory("redpen-cache").toFile();
+        File input = writeFile(directory, "input.md", "# Header header\n\nThis is a a pen.\nIt's a [long](http://redpen.cc) sentence, really.\n");
+        RedPen redPen = new RedPen(Configuration.builder()
+                .addValidatorConfig(new ValidatorConfiguration("DoubledWord"))
+                .addValidatorConfig(new ValidatorConfiguration("SentenceLength").addProperty("max_len", "20"))
+                .addValidatorConfig(new ValidatorConfiguration("Contraction"))
+                .build());
+        Document document = redPen.parse(DocumentParser.MARKDOWN, new File[]{input}).get(0);
+        List<ValidationError> errors = redPen.validate(document);
+
+        ValidationCache cache = new ValidationCache(new File(directory, "cache"), "key", new File[]{input});
+        assertNull(cache.load(0));
+        cache.store(0, errors);
+        List<ValidationError> loaded = new ValidationCache(new File(directory, "cache"), "key", new File[]{input}).load(0);
+        assertNotNull(loaded);
+
+        Document placeholder = Document.builder().setFileName(input.getPath()).build();
+        assertEquals(new JSONFormatter().format(document, errors), new JSONFormatter().format(placeholder, loaded));
+    }
+
+    @Test
+    void testEntriesDependOnContentAndConfiguration() throws Exception {
+        File directory = Files.createTempDirectory("redpen-cache").toFile();
+        File cacheDirectory = new File(directory, "cache");
+        File first = writeFile(directory, "first.txt", "This is a pen.");
+        File second = writeFile(directory, "second.txt", "That is a pen.");
+        File[] files = {first, second};
+
+        new ValidationCache(cacheDirectory, "key", files).store(0, Collections.emptyList());
+        new ValidationCache(cacheDirectory, "key", files).store(1, Collections.emptyList());
+        assertNotNull(new ValidationCache(cacheDirectory, "key", files).load(0));
+        assertNull(new ValidationCache(cacheDirectory, "other key", files).load(0));
+        assertNotNull(new ValidationCache(cacheDirectory, "key", files).load(1));
+
+        writeFile(directory, "second.txt", "That is a pencil.");
+        // entries hold the errors of document context-free validators, other files do not matter
+        assertNotNull(new ValidationCache(cacheDirectory, "key", files).load(0));
+        assertNull(new ValidationCache(cacheDirectory, "key", files).load(1));
+        writeFile(directory, "second.txt", "That is a pen.");
+        assertNotNull(new ValidationCache(cacheDirectory, "key", files).load(1));
+    }
+
+    @Test
+    void testConfigurationKeyCoversLocale() throws Exception {
+        File directory = Files.createTempDirectory("redpen-cache").toFile();
+        File configFile = writeFile(directory, "redpen-conf.xml", "<redpen-conf/>");
+        ValidationPlan plan = new RedPen(Configuration.builder()
+                .addValidatorConfig(new ValidatorConfiguration("SentenceLength"))
+                .build()).getPlan("error");
+        Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.ENGLISH);
+            String english = ValidationCache.configurationKey(configFile, plan, "plain");
+            Locale.setDefault(Locale.JAPANESE);
+            assertNotEquals(english, ValidationCache.configurationKey(configFile, plan, "plain"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    void testConfigurationKeyCoversScriptsOfDefaultScriptPath() throws Exception {
+        File directory = Files.createTempDirectory("redpen-cache").toFile();
+        File configFile = writeFile(directory, "redpen-conf.xml", "<redpen-conf/>");
+        File scripts = new File(directory, "js");
+        assertTrue(scripts.mkdir());
+        writeFile(scripts, "first.js", "function validateSentence(sentence) {}");
+        // script-path is not configured, JavaScriptValidator reads its default "js" directory
+        ValidationPlan plan = new RedPen(Configuration.builder().setBaseDir(directory).secure()
+                .addValidatorConfig(new ValidatorConfiguration("JavaScript"))
+                .build()).getPlan("info");
+
+        String key = ValidationCache.configurationKey(configFile, plan, "plain");
+        assertEquals(key, ValidationCache.configurationKey(configFile, plan, "plain"));
+        writeFile(scripts, "first.js", "function validateSentence(sentence) { addError('error', sentence); }");
+        String modified = ValidationCache.configurationKey(configFile, plan, "plain");
+        assertNotEquals(key, modified);
+        writeFile(scripts, "second.js", "");
+        assertNotEquals(modified, ValidationCache.configurationKey(configFile, plan, "plain"));
+    }
+
+    private static File writeFile(File directory, String name, String content) throws IOException {
+        File file = new File(directory, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
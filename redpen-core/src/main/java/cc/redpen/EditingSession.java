@@ -0,0 +1,209 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.model.Document;
+import cc.redpen.model.ListBlock;
+import cc.redpen.model.ListElement;
+import cc.redpen.model.Paragraph;
+import cc.redpen.model.Section;
+import cc.redpen.model.Sentence;
+import cc.redpen.parser.DocumentParser;
+import cc.redpen.parser.SentenceExtractor;
+import cc.redpen.tokenizer.RedPenTokenizer;
+import cc.redpen.tokenizer.TokenElement;
+import cc.redpen.validator.ValidationError;
+
+import java.util.*;
+
+/**
+ * A document being edited, validated again after each batch of edits.
+ * <p>
+ * The session keeps the text as lines, the tokens of the sentences, the errors of the
+ * {@link cc.redpen.validator.Validator#isSentenceContextFree() context-free} validators for each sentence and the
+ * errors of the {@link cc.redpen.validator.Validator#isSectionContextFree() section context-free} validators for
+ * each section. After an edit, the text is parsed again, but only the new or changed sentences are tokenized and
+ * validated by these validators, and only the sections whose sentences changed are validated by the section ones.
+ * The other validators, and the document validators, run on the whole document, so the errors are always the ones
+ * {@link RedPen#validate(Document, String)} reports for the current text.
+ * <p>
+ * Sessions are thread safe; edits and validations of a session are serialized.
+ */
+public class EditingSession {
+    private static final int CACHED_SENTENCES = 16384;
+    private static final int CACHED_SECTIONS = 1024;
+
+    private final RedPen redPen;
+    private final DocumentParser parser;
+    private final String threshold;
+    private final SentenceExtractor sentenceExtractor;
+    private final ReusingTokenizer tokenizer;
+    private final SentenceResultCache results = new SentenceResultCache(CACHED_SENTENCES);
+    private final SectionResultCache sectionResults = new SectionResultCache(CACHED_SECTIONS);
+    private final List<String> lines;
+    private Document document;
+    private List<ValidationError> errors;
+
+    /**
+     * Constructor.
+     *
+     * @param redPen    RedPen validating the document
+     * @param parser    parser of the document
+     * @param text      initial text of the document
+     * @param threshold threshold of error level
+     */
+    public EditingSession(RedPen redPen, DocumentParser parser, String text, String threshold) {
+        this.redPen = redPen;
+        this.parser = parser;
+        this.threshold = threshold;
+        this.sentenceExtractor = new SentenceExtractor(redPen.getConfiguration().getSymbolTable(),
+                redPen.getConfiguration().getWhiteWords());
+        this.tokenizer = new ReusingTokenizer(redPen.getConfiguration().getTokenizer());
+        this.lines = new ArrayList<>(Arrays.asList(text.split("\n", -1)));
+    }
+
+    /**
+     * Replace a range of lines.
+     *
+     * @param startLine first line to replace, starting from 1
+     * @param endLine   line following the last line to replace; lines are inserted before startLine when equal
+     * @param newLines  lines replacing the range
+     * @throws RedPenException when the range is outside of the document
+     */
+    public synchronized void replaceLines(int startLine, int endLine, List<String> newLines) throws RedPenException {
+        if (startLine < 1 || endLine < startLine || endLine > lines.size() + 1) {
+            throw new RedPenException("Invalid line range " + startLine + "-" + endLine + " for a document of "
+                    + lines.size() + " lines");
+        }
+        List<String> range = lines.subList(startLine - 1, endLine - 1);
+        range.clear();
+        range.addAll(newLines);
+        document = null;
+        errors = null;
+    }
+
+    /**
+     * Get the errors of the current text, validating the text when it changed since the last call.
+     *
+     * @return validation errors
+     * @throws RedPenException when failed to parse the text
+     */
+    public synchronized List<ValidationError> validate() throws RedPenException {
+        if (errors == null) {
+            Document parsed = parser.parse(getText(), sentenceExtractor, tokenizer);
+            errors = redPen.newContext(threshold)
+                    .validate(Collections.singletonList(parsed), results, sectionResults).get(parsed);
+            document = parsed;
+            tokenizer.forgetUnused(parsed);
+        }
+        return errors;
+    }
+
+    /**
+     * Get the document parsed by the last validation.
+     *
+     * @return document
+     * @throws RedPenException when failed to parse the text
+     */
+    public synchronized Document getDocument() throws RedPenException {
+        validate();
+        return document;
+    }
+
+    /**
+     * Get the current text.
+     *
+     * @return text
+     */
+    public synchronized String getText() {
+        return String.join("\n", lines);
+    }
+
+    /**
+     * Get the RedPen validating the document.
+     *
+     * @return RedPen
+     */
+    public RedPen getRedPen() {
+        return redPen;
+    }
+
+    /**
+     * Get the number of sentences whose results were taken from previous validations.
+     *
+     * @return number of reused sentences
+     */
+    public long getReusedSentenceCount() {
+        return results.getHitCount();
+    }
+
+    /**
+     * Get the number of sections whose results were taken from previous validations.
+     *
+     * @return number of reused sections
+     */
+    public long getReusedSectionCount() {
+        return sectionResults.getHitCount();
+    }
+
+    /**
+     * Tokenizer reusing the tokens of the sentences which were already in the previous version of the document.
+     * Sentences are tokenized lazily, so tokens may be fetched for the sentences of a document after it was validated;
+     * they are kept as long as the sentences are in the document.
+     */
+    private static final class ReusingTokenizer implements RedPenTokenizer {
+        private final RedPenTokenizer tokenizer;
+        private final Map<String, List<TokenElement>> tokens = new HashMap<>();
+
+        private ReusingTokenizer(RedPenTokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+        }
+
+        @Override
+        public synchronized List<TokenElement> tokenize(String sentence) {
+            return tokens.computeIfAbsent(sentence, s -> Collections.unmodifiableList(tokenizer.tokenize(s)));
+        }
+
+        @Override
+        public synchronized void tokenizeAll(List<Sentence> sentences) {
+            for (Sentence sentence : sentences) {
+                sentence.setTokens(tokenize(sentence.getContent()));
+            }
+        }
+
+        /**
+         * Keep only the tokens of the sentences of the given document, whether they were fetched during its
+         * validation or not.
+         */
+        private synchronized void forgetUnused(Document document) {
+            Set<String> contents = new HashSet<>();
+            for (Section section : document) {
+                section.getHeaderContents().forEach(sentence -> contents.add(sentence.getContent()));
+                for (Paragraph paragraph : section.getParagraphs()) {
+                    paragraph.getSentences().forEach(sentence -> contents.add(sentence.getContent()));
+                }
+                for (ListBlock listBlock : section.getListBlocks()) {
+                    for (ListElement listElement : listBlock.getListElements()) {
+                        listElement.getSentences().forEach(sentence -> contents.add(sentence.getContent()));
+                    }
+                }
+            }
+            tokens.keySet().retainAll(contents);
+        }
+    }
+}
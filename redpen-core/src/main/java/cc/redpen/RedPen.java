@@ -20,19 +20,19 @@ package cc.redpen;
 import cc.redpen.config.Configuration;
 import cc.redpen.config.ConfigurationLoader;
 import cc.redpen.config.ValidatorConfiguration;
-import cc.redpen.model.*;
+import cc.redpen.model.Document;
 import cc.redpen.parser.DocumentParser;
-import cc.redpen.parser.PreprocessorRule;
 import cc.redpen.parser.SentenceExtractor;
 import cc.redpen.validator.ValidationError;
 import cc.redpen.validator.Validator;
-import cc.redpen.validator.ValidatorFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Validate all input files using appended Validators.
@@ -44,7 +44,7 @@ public class RedPen {
 
     private final Configuration configuration;
     private final SentenceExtractor sentenceExtractor;
-    private final List<Validator> validators;
+    private final Map<ValidatorConfiguration.LEVEL, ValidationPlan> plans = new ConcurrentHashMap<>();
 
     /**
      * constructs RedPen with specified config file.
@@ -74,25 +74,9 @@ public class RedPen {
      */
     public RedPen(Configuration configuration) throws RedPenException {
         this.configuration = configuration;
-        this.sentenceExtractor = new SentenceExtractor(configuration.getSymbolTable());
-        this.validators = new ArrayList<>();
+        this.sentenceExtractor = new SentenceExtractor(configuration.getSymbolTable(), configuration.getWhiteWords());
     }
 
-    private void initializeValidators(String thresholdStr) {
-        ValidatorConfiguration.LEVEL threshold = ValidatorConfiguration.LEVEL.valueOf(thresholdStr.toUpperCase());
-        validators.clear();
-        for (ValidatorConfiguration config : configuration.getValidatorConfigs()) {
-            try {
-                if (config.getLevel().isWorseThan(threshold)) {
-                    validators.add(ValidatorFactory.getInstance(config, configuration));
-                }
-            } catch (RedPenException e) {
-                throw new IllegalStateException("Failed to initialize validators.", e);
-            }
-        }
-    }
-
-
     /**
      * parse given input stream.
      *
@@ -134,7 +118,7 @@ public class RedPen {
     }
 
     /**
-     * validate the input document collection. Note that this method call is NOT thread safe. RedPen instances need to be crated for each thread.
+     * validate the input document collection.
      *
      * @param documents input document collection generated by Parser
      * @return list of validation errors
@@ -144,180 +128,125 @@ public class RedPen {
     }
 
     /**
-     * validate the input document collection. Note that this method call is NOT thread safe. RedPen instances need to be crated for each thread.
+     * validate the input document collection.
      *
      * @param documents input document collection generated by Parser
      * @param threshold threshold of error level
      * @return list of validation errors
      */
     public Map<Document, List<ValidationError>> validate(List<Document> documents, String threshold) {
-        Map<Document, List<ValidationError>> docErrorsMap = new HashMap<>();
-        documents.forEach(e -> docErrorsMap.put(e, new ArrayList<>()));
-        initializeValidators(threshold);
-        runDocumentValidators(documents, docErrorsMap);
-        runSectionValidators(documents, docErrorsMap);
-        runSentenceValidators(documents, docErrorsMap);
-        applyPreprocessorRules(documents, docErrorsMap);
-        return docErrorsMap;
+        return getPlan(threshold).newContext().validate(documents);
     }
 
     /**
-     * validate the input document. Note that this method call is NOT thread safe. RedPen instances need to be crated for each thread.
+     * validate the input document collection, running the validators as tasks of the given executor.
+     * The result is the same as the one of {@link #validate(List, String)}, including the order of the errors.
      *
-     * @param document document to be validated
+     * @param documents input document collection generated by Parser
+     * @param threshold threshold of error level
+     * @param executor  executor running the validation tasks
      * @return list of validation errors
      */
-    public List<ValidationError> validate(Document document) {
-        return validate(document, "error");
+    public Map<Document, List<ValidationError>> validate(List<Document> documents, String threshold, ExecutorService executor) {
+        return getPlan(threshold).newContext().validate(documents, executor);
     }
 
     /**
-     * validate the input document. Note that this method call is NOT thread safe. RedPen instances need to be crated for each thread.
+     * validate the input document collection, reusing the errors the cache holds for unchanged sentences.
+     * The result is the same as the one of {@link #validate(List, String)}.
+     * <p>
+     * Only the {@link Validator#isSentenceContextFree() context-free} validators take their results from the cache.
+     * The cache is used by this method only: the other validate methods, including the ones with an executor or an
+     * error limit, validate every sentence.
      *
-     * @param document document to be validated
+     * @param documents input document collection generated by Parser
      * @param threshold threshold of error level
+     * @param cache     errors of the sentences validated before, updated with the new sentences
      * @return list of validation errors
      */
-    public List<ValidationError> validate(Document document, String threshold) {
-        List<Document> documents = new ArrayList<>();
-        documents.add(document);
-        Map<Document, List<ValidationError>> documentListMap = validate(documents, threshold);
-        return documentListMap.get(document);
+    public Map<Document, List<ValidationError>> validate(List<Document> documents, String threshold, SentenceResultCache cache) {
+        return getPlan(threshold).newContext().validate(documents, cache);
     }
 
     /**
-     * Get validators associated with this RedPen instance
+     * validate the input document collection, stopping as soon as more errors than the given limit are reported.
+     * This is enough to know whether the documents have more errors than allowed: the result holds more than
+     * errorLimit errors exactly when the limit is exceeded, but then it may not hold all the errors of the documents.
+     * To know whether the result is complete, validate with a context of {@link #newContext(String)} and check
+     * {@link ValidationContext#isTruncated()}. See {@link ValidationContext#validate(List, int)}.
      *
-     * @return validators
+     * @param documents  input document collection generated by Parser
+     * @param threshold  threshold of error level
+     * @param errorLimit number of errors allowed before validation stops
+     * @return list of validation errors
      */
-    public List<Validator> getValidators() {
-        return Collections.unmodifiableList(validators);
+    public Map<Document, List<ValidationError>> validate(List<Document> documents, String threshold, int errorLimit) {
+        return newContext(threshold).validate(documents, errorLimit);
     }
 
     /**
-     * Get the configuration object for this RedPen
+     * Create a context for a single validation run, which tells afterwards whether the run was truncated
+     * by an error limit.
      *
-     * @return The configuration object for this RedPen
+     * @param threshold threshold of error level
+     * @return new validation context
      */
-    public Configuration getConfiguration() {
-        return configuration;
+    public ValidationContext newContext(String threshold) {
+        return getPlan(threshold).newContext();
     }
 
     /**
-     * Apply the preprocessor rules in the document to the valudation errors
+     * Get the validation plan for the given threshold. Plans are built on first use and shared afterwards.
      *
-     * @param document
-     * @param errors
+     * @param threshold threshold of error level
+     * @return validation plan
      */
-    private void applyPreprocessorRules(Document document, List<ValidationError> errors) {
-        Set<ValidationError> suppressedErrors = new HashSet<>();
-        if (document.getPreprocessorRules() != null) {
-            for (ValidationError error : errors) {
-                for (PreprocessorRule rule : document.getPreprocessorRules()) {
-                    switch (rule.getRuleType()) {
-                        case SUPPRESS:
-                            if (rule.isTriggeredBy(document, error.getLineNumber(), error.getValidatorName())){
-                                suppressedErrors.add(error);
-                            }
-                            break;
-                    }
-                }
-            }
-        }
-        errors.removeAll(suppressedErrors);
+    public ValidationPlan getPlan(String threshold) {
+        ValidatorConfiguration.LEVEL level = ValidatorConfiguration.LEVEL.valueOf(threshold.toUpperCase());
+        return plans.computeIfAbsent(level, l -> new ValidationPlan(configuration, l));
     }
 
     /**
-     * Apply the preprocessor rules in each document to its relevent validation errors
+     * validate the input document.
      *
-     * @param documents
-     * @param docErrorsMap
+     * @param document document to be validated
+     * @return list of validation errors
      */
-    private void applyPreprocessorRules(List<Document> documents, Map<Document, List<ValidationError>> docErrorsMap) {
-        for (Document document : documents) {
-            applyPreprocessorRules(document, docErrorsMap.get(document));
-        }
+    public List<ValidationError> validate(Document document) {
+        return validate(document, "error");
     }
 
-    private void runDocumentValidators(List<Document> documents, Map<Document, List<ValidationError>> docErrorsMap) {
-        // run Document PreProcessors to documents
-        for (Document document : documents) {
-            validators.forEach(e -> e.preValidate(document));
-        }
-
-        // run Section validator to documents
-        for (Document document : documents) {
-            List<ValidationError> errors = new ArrayList<>();
-            validators.forEach(e -> {e.setErrorList(errors); e.validate(document);});
-            docErrorsMap.put(document, errors);
-        }
+    /**
+     * validate the input document.
+     *
+     * @param document document to be validated
+     * @param threshold threshold of error level
+     * @return list of validation errors
+     */
+    public List<ValidationError> validate(Document document, String threshold) {
+        List<Document> documents = new ArrayList<>();
+        documents.add(document);
+        Map<Document, List<ValidationError>> documentListMap = validate(documents, threshold);
+        return documentListMap.get(document);
     }
 
-    private void runSectionValidators(List<Document> documents, Map<Document, List<ValidationError>> docErrorsMap) {
-        // run Section PreProcessors to documents
-        for (Document document : documents) {
-            for (Section section : document) {
-                validators.forEach(e -> e.preValidate(section));
-            }
-        }
-        // run Section validator to documents
-        for (Document document : documents) {
-            for (Section section : document) {
-                List<ValidationError> errors = docErrorsMap.get(document);
-                validators.forEach(e -> {e.setErrorList(errors); e.validate(section);});
-            }
-        }
+    /**
+     * Get validators associated with this RedPen instance, that is the validators of every configured level.
+     * They are the validators of the plan for the lowest threshold, built on first use.
+     *
+     * @return validators
+     */
+    public List<Validator> getValidators() {
+        return getPlan(ValidatorConfiguration.LEVEL.INFO.name()).getValidators();
     }
 
-    private void runSentenceValidators(List<Document> documents, Map<Document, List<ValidationError>> docErrorsMap) {
-        // run Sentence PreProcessors to documents
-        for (Document document : documents) {
-            for (Section section : document) {
-                // apply Sentence PreProcessors to section
-                // apply paragraphs
-                for (Paragraph paragraph : section.getParagraphs()) {
-                    validators.forEach(e -> paragraph.getSentences().forEach(e::preValidate));
-                }
-                // apply to section header
-                validators.forEach(e -> section.getHeaderContents().forEach(e::preValidate));
-
-                // apply to lists
-                for (ListBlock listBlock : section.getListBlocks()) {
-                    for (ListElement listElement : listBlock.getListElements()) {
-                        validators.forEach(e -> listElement.getSentences().forEach(e::preValidate));
-                    }
-                }
-            }
-        }
-        // run Sentence Validators to documents
-        for (Document document : documents) {
-            for (Section section : document) {
-                List<ValidationError> errors = docErrorsMap.get(document);
-
-                // apply SentenceValidations to section
-                // apply paragraphs
-                for (Paragraph paragraph : section.getParagraphs()) {
-                    validators.forEach(e -> {
-                        e.setErrorList(errors);
-                        paragraph.getSentences().forEach(sentence -> e.validate(sentence));
-                    });
-                }
-                // apply to section header
-                validators.forEach(e -> {
-                    e.setErrorList(errors);
-                    section.getHeaderContents().forEach(sentence -> e.validate(sentence));
-                });
-                // apply to lists
-                for (ListBlock listBlock : section.getListBlocks()) {
-                    for (ListElement listElement : listBlock.getListElements()) {
-                        validators.forEach(e -> {
-                            e.setErrorList(errors);
-                            listElement.getSentences().forEach(sentence -> e.validate(sentence));
-                        });
-                    }
-                }
-            }
-        }
+    /**
+     * Get the configuration object for this RedPen
+     *
+     * @return The configuration object for this RedPen
+     */
+    public Configuration getConfiguration() {
+        return configuration;
     }
 
     @Override
@@ -341,7 +270,7 @@ public class RedPen {
         return "RedPen{" +
             "configuration=" + configuration +
             ", sentenceExtractor=" + sentenceExtractor +
-            ", validators=" + validators +
+            ", validators=" + getValidators() +
             '}';
     }
 }
@@ -0,0 +1,184 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.model.ListBlock;
+import cc.redpen.model.ListElement;
+import cc.redpen.model.Paragraph;
+import cc.redpen.model.Section;
+import cc.redpen.model.Sentence;
+import cc.redpen.validator.ValidationError;
+
+import java.util.*;
+
+/**
+ * Errors reported by the {@link cc.redpen.validator.Validator#isSectionContextFree() section context-free}
+ * validators of validation plans for the sections they have seen, so that sections whose sentences and structure
+ * did not change since the previous validation are not validated again.
+ * <p>
+ * Sections are identified by their level and by the content, links and block position of their header, paragraph
+ * and list sentences, together with the plan validating them. The cache keeps the most recently used entries.
+ */
+final class SectionResultCache {
+    private final int maxEntries;
+    private final Map<List<Object>, Entry> entries;
+    private long hitCount;
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries maximum number of sections to keep the errors of
+     */
+    SectionResultCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<List<Object>, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Entry> eldest) {
+                return size() > SectionResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the entry of a section, creating an empty one if needed.
+     */
+    synchronized Entry entry(ValidationPlan plan, Section section) {
+        List<Object> key = Arrays.asList(plan, section.getLevel(), keys(section.getHeaderContents()),
+                paragraphKeys(section), listKeys(section));
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(section, plan.getValidatorConfigs().size());
+            entries.put(key, entry);
+        } else {
+            hitCount++;
+        }
+        return entry;
+    }
+
+    /**
+     * Get the number of sections found in the cache.
+     *
+     * @return number of hits
+     */
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    private static List<Object> paragraphKeys(Section section) {
+        List<Object> keys = new ArrayList<>();
+        for (Paragraph paragraph : section.getParagraphs()) {
+            keys.add(keys(paragraph.getSentences()));
+        }
+        return keys;
+    }
+
+    private static List<Object> listKeys(Section section) {
+        List<Object> keys = new ArrayList<>();
+        for (ListBlock listBlock : section.getListBlocks()) {
+            List<Object> elements = new ArrayList<>();
+            for (ListElement listElement : listBlock.getListElements()) {
+                elements.add(Arrays.asList(listElement.getLevel(), keys(listElement.getSentences())));
+            }
+            keys.add(elements);
+        }
+        return keys;
+    }
+
+    private static List<Object> keys(List<Sentence> sentences) {
+        List<Object> keys = new ArrayList<>(sentences.size());
+        for (Sentence sentence : sentences) {
+            keys.add(Arrays.asList(sentence.getContent(), new ArrayList<>(sentence.getLinks()),
+                    sentence.isFirstSentence()));
+        }
+        return keys;
+    }
+
+    private static List<Sentence> sentences(Section section) {
+        List<Sentence> sentences = new ArrayList<>(section.getHeaderContents());
+        for (Paragraph paragraph : section.getParagraphs()) {
+            sentences.addAll(paragraph.getSentences());
+        }
+        for (ListBlock listBlock : section.getListBlocks()) {
+            for (ListElement listElement : listBlock.getListElements()) {
+                sentences.addAll(listElement.getSentences());
+            }
+        }
+        return sentences;
+    }
+
+    /**
+     * Errors of each validator of a plan for a section, null for the validators which did not run yet.
+     */
+    static final class Entry {
+        private final Section section;
+        private final List<List<ValidationError>> errors;
+
+        private Entry(Section section, int validatorCount) {
+            this.section = section;
+            this.errors = new ArrayList<>(Collections.nCopies(validatorCount, null));
+        }
+
+        synchronized void put(int validatorIndex, List<ValidationError> validatorErrors) {
+            errors.set(validatorIndex, validatorErrors);
+        }
+
+        /**
+         * Get the errors of a validator moved to the given section, which has the same sentences as the section of
+         * this entry.
+         *
+         * @return errors, or null if the validator did not run or an error is not on a sentence of the section
+         */
+        synchronized List<ValidationError> get(int validatorIndex, Section target) {
+            List<ValidationError> validatorErrors = errors.get(validatorIndex);
+            if (validatorErrors == null || target == section) {
+                return validatorErrors;
+            }
+            List<Sentence> from = sentences(section);
+            List<Sentence> to = sentences(target);
+            List<ValidationError> moved = new ArrayList<>(validatorErrors.size());
+            for (ValidationError error : validatorErrors) {
+                Sentence sentence = error.getSentence();
+                int index = indexOf(from, sentence);
+                if (index >= 0) {
+                    moved.add(error.withSentence(to.get(index)));
+                } else if (isJoinedHeader(sentence)) {
+                    // validators reporting on the whole header build a new sentence joining its contents
+                    moved.add(error.withSentence(target.getJoinedHeaderContents()));
+                } else {
+                    return null;
+                }
+            }
+            return moved;
+        }
+
+        private boolean isJoinedHeader(Sentence sentence) {
+            Sentence header = section.getJoinedHeaderContents();
+            return sentence.getLineNumber() == header.getLineNumber()
+                    && sentence.getContent().equals(header.getContent());
+        }
+
+        private static int indexOf(List<Sentence> sentences, Sentence sentence) {
+            for (int i = 0; i < sentences.size(); i++) {
+                if (sentences.get(i) == sentence) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
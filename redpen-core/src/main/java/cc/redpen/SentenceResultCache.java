@@ -0,0 +1,136 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.model.Sentence;
+import cc.redpen.validator.ValidationError;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Errors reported by the {@link cc.redpen.validator.Validator#isSentenceContextFree() context-free} validators of
+ * validation plans for the sentences they have seen, so that sentences which did not change since the previous
+ * validation are not validated again.
+ * <p>
+ * Sentences are identified by their content, their links and whether they start their block, together with the plan
+ * validating them. Cached errors are moved to the sentence being validated, so identical sentences on other lines or
+ * in other documents share the same entry. The cache keeps the most recently used entries.
+ */
+public final class SentenceResultCache {
+    private final int maxEntries;
+    private final Map<Key, AtomicReferenceArray<List<ValidationError>>> entries;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries maximum number of sentences to keep the errors of
+     */
+    public SentenceResultCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<Key, AtomicReferenceArray<List<ValidationError>>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, AtomicReferenceArray<List<ValidationError>>> eldest) {
+                return size() > SentenceResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the entry of a sentence, creating an empty one if needed.
+     * The entry holds the errors of each validator of the plan, null for the validators which did not run yet.
+     */
+    synchronized AtomicReferenceArray<List<ValidationError>> entry(ValidationPlan plan, Sentence sentence) {
+        Key key = new Key(plan, sentence);
+        AtomicReferenceArray<List<ValidationError>> entry = entries.get(key);
+        if (entry == null) {
+            missCount++;
+            entry = new AtomicReferenceArray<>(plan.getValidatorConfigs().size());
+            entries.put(key, entry);
+        } else {
+            hitCount++;
+        }
+        return entry;
+    }
+
+    /**
+     * Get the number of sentences in the cache.
+     *
+     * @return number of sentences
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the number of sentences found in the cache.
+     *
+     * @return number of hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the number of sentences not found in the cache.
+     *
+     * @return number of misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Remove all the entries.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private static final class Key {
+        private final ValidationPlan plan;
+        private final String content;
+        private final List<String> links;
+        private final boolean firstSentence;
+        private final int hash;
+
+        private Key(ValidationPlan plan, Sentence sentence) {
+            this.plan = plan;
+            this.content = sentence.getContent();
+            this.links = new ArrayList<>(sentence.getLinks());
+            this.firstSentence = sentence.isFirstSentence();
+            this.hash = Objects.hash(System.identityHashCode(plan), content, links, firstSentence);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return hash == that.hash && plan == that.plan && firstSentence == that.firstSentence &&
+                    content.equals(that.content) && links.equals(that.links);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
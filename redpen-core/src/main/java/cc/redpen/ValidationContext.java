@@ -0,0 +1,617 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.model.*;
+import cc.redpen.parser.SuppressionIndex;
+import cc.redpen.validator.ValidationError;
+import cc.redpen.validator.Validator;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Per-run state of a {@link ValidationPlan}: the validator instances keeping state and the errors they report.
+ * <p>
+ * Validators keep information gathered in preValidate until the end of a run, so a context
+ * must be used by a single thread and for a single run only. Context-free validators are shared with the plan
+ * and report their errors to lists set for the current thread, which are released at the end of the run. To validate documents on several threads,
+ * pass an executor to {@link #validate(List, ExecutorService)}.
+ */
+public final class ValidationContext {
+    /** Number of sentence blocks (paragraphs, headers and list elements) validated by one parallel task */
+    private static final int BLOCKS_PER_TASK = 64;
+
+    /** Number of sentences passed through all the validators before moving on in serial validation */
+    private static final int SENTENCES_PER_TILE = 64;
+
+    private final ValidationPlan plan;
+    private final List<Validator> validators;
+    private long errorLimit = Long.MAX_VALUE;
+    private long reportedErrors;
+    private boolean truncated;
+    // suppression rules of the documents with any, compiled on first use
+    private final Map<Document, SuppressionIndex> suppressionIndexes = new IdentityHashMap<>();
+
+    ValidationContext(ValidationPlan plan, List<Validator> validators) {
+        this.plan = plan;
+        this.validators = validators;
+    }
+
+    /**
+     * Get the plan this context was created from.
+     *
+     * @return validation plan
+     */
+    public ValidationPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Get the validator instances of this context.
+     *
+     * @return validators
+     */
+    public List<Validator> getValidators() {
+        return Collections.unmodifiableList(validators);
+    }
+
+    /**
+     * validate the input document collection.
+     *
+     * @param documents input document collection generated by Parser
+     * @return list of validation errors
+     */
+    public Map<Document, List<ValidationError>> validate(List<Document> documents) {
+        return validate(documents, (SentenceResultCache) null);
+    }
+
+    /**
+     * validate the input document collection, reusing the errors cached for sentences seen before.
+     * <p>
+     * Only the sentences of {@link Validator#isSentenceContextFree() context-free} validators are looked up in the
+     * cache. The other validators, and the document and section phases, run on the whole documents.
+     * The result is the same as the one of {@link #validate(List)}.
+     *
+     * @param documents input document collection generated by Parser
+     * @param cache     errors of the sentences validated before, updated with the new sentences
+     * @return list of validation errors
+     */
+    public Map<Document, List<ValidationError>> validate(List<Document> documents, SentenceResultCache cache) {
+        return validate(documents, cache, null);
+    }
+
+    /**
+     * validate the input document collection, reusing the errors cached for sentences and sections seen before.
+     * Sections are looked up only for the {@link Validator#isSectionContextFree() section context-free} validators.
+     */
+    Map<Document, List<ValidationError>> validate(List<Document> documents, SentenceResultCache cache,
+                                                  SectionResultCache sectionCache) {
+        return validate(documents, cache, sectionCache, Long.MAX_VALUE);
+    }
+
+    private Map<Document, List<ValidationError>> validate(List<Document> documents, SentenceResultCache cache,
+                                                          SectionResultCache sectionCache, long errorLimit) {
+        start(errorLimit);
+        Map<Document, List<ValidationError>> docErrorsMap = new HashMap<>();
+        documents.forEach(e -> docErrorsMap.put(e, new ArrayList<>()));
+        try {
+            runDocumentValidators(documents, docErrorsMap);
+            if (!truncated) {
+                runSectionValidators(documents, docErrorsMap, sectionCache);
+            }
+            if (!truncated) {
+                runSentenceValidators(documents, docErrorsMap, cache);
+            }
+        } finally {
+            validators.forEach(e -> e.setErrorList(null));
+        }
+        applyPreprocessorRules(documents, docErrorsMap);
+        return docErrorsMap;
+    }
+
+    /**
+     * validate the input document collection until more errors than the given limit are reported.
+     * <p>
+     * The errors are counted as validators report them, leaving out the ones suppressed by preprocessor rules.
+     * Once the limit is exceeded, no further validator is run and {@link #isTruncated()} returns true: the result
+     * then holds more than errorLimit errors, but not necessarily all the errors of the documents.
+     * Otherwise the result is the same as the one of {@link #validate(List)}.
+     *
+     * @param documents  input document collection generated by Parser
+     * @param errorLimit number of errors allowed before validation stops
+     * @return list of validation errors
+     */
+    public Map<Document, List<ValidationError>> validate(List<Document> documents, int errorLimit) {
+        if (errorLimit < 0) {
+            throw new IllegalArgumentException("Error limit must not be negative: " + errorLimit);
+        }
+        return validate(documents, null, null, errorLimit);
+    }
+
+    /**
+     * Return true when the last validation stopped because the error limit was exceeded.
+     *
+     * @return true if the errors of the last validation may be incomplete
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    // each run counts its own errors against its own limit
+    private void start(long errorLimit) {
+        this.errorLimit = errorLimit;
+        this.reportedErrors = 0;
+        this.truncated = false;
+    }
+
+    /**
+     * validate the input document collection using the given executor.
+     * <p>
+     * Validators whose results depend on other sentences run their whole pipeline in a single task.
+     * Sentences of {@link Validator#isSentenceContextFree() context-free} validators are split into tasks of
+     * {@value #BLOCKS_PER_TASK} blocks, validated by the instances shared with the plan.
+     * The errors are merged in the order {@link #validate(List)} reports them, so the result does not depend
+     * on the executor.
+     *
+     * @param documents input document collection generated by Parser
+     * @param executor  executor running the validation tasks
+     * @return list of validation errors
+     */
+    public Map<Document, List<ValidationError>> validate(List<Document> documents, ExecutorService executor) {
+        start(Long.MAX_VALUE);
+        List<SentenceBlocks> sentenceBlocks = new ArrayList<>(documents.size());
+        documents.forEach(document -> sentenceBlocks.add(new SentenceBlocks(document)));
+
+        List<Callable<List<ErrorRun>>> tasks = new ArrayList<>();
+        List<Integer> contextFreeValidators = new ArrayList<>();
+        for (int i = 0; i < validators.size(); i++) {
+            int validatorIndex = i;
+            boolean contextFree = validators.get(i).isSentenceContextFree();
+            if (contextFree) {
+                contextFreeValidators.add(i);
+            }
+            tasks.add(() -> runValidator(validatorIndex, documents, sentenceBlocks, !contextFree));
+        }
+        if (!contextFreeValidators.isEmpty()) {
+            for (int i = 0; i < documents.size(); i++) {
+                int documentIndex = i;
+                int firstBlock = 1 + documents.get(i).size();
+                SentenceBlocks blocks = sentenceBlocks.get(i);
+                for (int from = 0; from < blocks.size(); from += BLOCKS_PER_TASK) {
+                    int start = from;
+                    int end = Math.min(from + BLOCKS_PER_TASK, blocks.size());
+                    tasks.add(() -> runSentenceBlocks(documentIndex, firstBlock, blocks, start, end, contextFreeValidators));
+                }
+            }
+        }
+
+        List<ErrorRun> runs = new ArrayList<>();
+        for (Future<List<ErrorRun>> future : invokeAll(executor, tasks)) {
+            runs.addAll(getResult(future));
+        }
+        runs.sort(Comparator.<ErrorRun>comparingInt(run -> run.document).thenComparingLong(run -> run.slot));
+
+        Map<Document, List<ValidationError>> docErrorsMap = new HashMap<>();
+        documents.forEach(e -> docErrorsMap.put(e, new ArrayList<>()));
+        for (ErrorRun run : runs) {
+            docErrorsMap.get(documents.get(run.document)).addAll(run.errors);
+        }
+        applyPreprocessorRules(documents, docErrorsMap);
+        return docErrorsMap;
+    }
+
+    /**
+     * Run all phases of a single validator in the order of {@link #validate(List)}.
+     * Blocks of a document are numbered as the document itself, its sections and then its sentence blocks.
+     */
+    private List<ErrorRun> runValidator(int validatorIndex, List<Document> documents,
+                                        List<SentenceBlocks> sentenceBlocks, boolean withSentences) {
+        Validator validator = validators.get(validatorIndex);
+        ErrorCollector collector = new ErrorCollector(validators.size());
+        validator.setErrorList(collector.buffer);
+        try {
+            runValidator(validator, validatorIndex, documents, sentenceBlocks, withSentences, collector);
+        } finally {
+            validator.setErrorList(null);
+        }
+        return collector.runs;
+    }
+
+    private void runValidator(Validator validator, int validatorIndex, List<Document> documents,
+                              List<SentenceBlocks> sentenceBlocks, boolean withSentences, ErrorCollector collector) {
+
+        documents.forEach(validator::preValidate);
+        for (int i = 0; i < documents.size(); i++) {
+            validator.validate(documents.get(i));
+            collector.flush(i, 0, validatorIndex);
+        }
+
+        documents.forEach(document -> document.forEach(validator::preValidate));
+        for (int i = 0; i < documents.size(); i++) {
+            Document document = documents.get(i);
+            for (int j = 0; j < document.size(); j++) {
+                validator.validate(document.getSection(j));
+                collector.flush(i, 1 + j, validatorIndex);
+            }
+        }
+
+        if (withSentences) {
+            for (SentenceBlocks blocks : sentenceBlocks) {
+                for (Sentence sentence : blocks.sentences) {
+                    validator.preValidate(sentence);
+                }
+            }
+            for (int i = 0; i < documents.size(); i++) {
+                int firstBlock = 1 + documents.get(i).size();
+                SentenceBlocks blocks = sentenceBlocks.get(i);
+                for (int j = 0; j < blocks.size(); j++) {
+                    for (int k = blocks.start(j); k < blocks.end(j); k++) {
+                        validator.validate(blocks.sentences[k]);
+                    }
+                    collector.flush(i, firstBlock + j, validatorIndex);
+                }
+            }
+        }
+    }
+
+    private List<ErrorRun> runSentenceBlocks(int documentIndex, int firstBlock, SentenceBlocks blocks,
+                                             int from, int to, List<Integer> validatorIndexes) {
+        ErrorCollector collector = new ErrorCollector(validators.size());
+        validatorIndexes.forEach(index -> validators.get(index).setErrorList(collector.buffer));
+        try {
+            for (int i = from; i < to; i++) {
+                for (int index : validatorIndexes) {
+                    Validator validator = validators.get(index);
+                    for (int k = blocks.start(i); k < blocks.end(i); k++) {
+                        validator.validate(blocks.sentences[k]);
+                    }
+                    collector.flush(documentIndex, firstBlock + i, index);
+                }
+            }
+            return collector.runs;
+        } finally {
+            validatorIndexes.forEach(index -> validators.get(index).setErrorList(null));
+        }
+    }
+
+    private static <T> List<Future<T>> invokeAll(ExecutorService executor, List<Callable<T>> tasks) {
+        try {
+            return executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validation was interrupted.", e);
+        }
+    }
+
+    private static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validation was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException("Validation failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Sentences of a document flattened in the order sentence validators visit them:
+     * for each section its paragraphs, its header and its list elements.
+     * Each of these is a block; errors are reported block by block.
+     */
+    private static final class SentenceBlocks {
+        private final Sentence[] sentences;
+        /** start of each block in sentences, followed by the number of sentences */
+        private final int[] offsets;
+
+        private SentenceBlocks(Document document) {
+            int[] counts = new int[2];
+            forEachBlock(document, block -> {
+                counts[0]++;
+                counts[1] += block.size();
+            });
+            sentences = new Sentence[counts[1]];
+            offsets = new int[counts[0] + 1];
+            int[] position = new int[2];
+            forEachBlock(document, block -> {
+                offsets[position[0]++] = position[1];
+                for (Sentence sentence : block) {
+                    sentences[position[1]++] = sentence;
+                }
+            });
+            offsets[counts[0]] = counts[1];
+        }
+
+        private static void forEachBlock(Document document, Consumer<List<Sentence>> action) {
+            for (Section section : document) {
+                for (Paragraph paragraph : section.getParagraphs()) {
+                    action.accept(paragraph.getSentences());
+                }
+                action.accept(section.getHeaderContents());
+                for (ListBlock listBlock : section.getListBlocks()) {
+                    for (ListElement listElement : listBlock.getListElements()) {
+                        action.accept(listElement.getSentences());
+                    }
+                }
+            }
+        }
+
+        private int size() {
+            return offsets.length - 1;
+        }
+
+        private int start(int block) {
+            return offsets[block];
+        }
+
+        private int end(int block) {
+            return offsets[block + 1];
+        }
+    }
+
+    /**
+     * Errors reported by one validator for one block of a document.
+     */
+    private static final class ErrorRun {
+        private final int document;
+        private final long slot;
+        private final List<ValidationError> errors;
+
+        private ErrorRun(int document, long slot, List<ValidationError> errors) {
+            this.document = document;
+            this.slot = slot;
+            this.errors = errors;
+        }
+    }
+
+    /**
+     * Collects the errors of a task, keeping where each of them was reported.
+     */
+    private static final class ErrorCollector {
+        private final int validatorCount;
+        private final List<ValidationError> buffer = new ArrayList<>();
+        private final List<ErrorRun> runs = new ArrayList<>();
+
+        private ErrorCollector(int validatorCount) {
+            this.validatorCount = validatorCount;
+        }
+
+        private void flush(int document, int block, int validatorIndex) {
+            if (!buffer.isEmpty()) {
+                runs.add(new ErrorRun(document, (long) block * validatorCount + validatorIndex, new ArrayList<>(buffer)));
+                buffer.clear();
+            }
+        }
+    }
+
+    /**
+     * Apply the preprocessor rules in the document to the valudation errors
+     *
+     * @param document
+     * @param errors
+     */
+    private void applyPreprocessorRules(Document document, List<ValidationError> errors) {
+        if (hasPreprocessorRules(document)) {
+            errors.removeIf(error -> isSuppressed(document, error));
+        }
+    }
+
+    private static boolean hasPreprocessorRules(Document document) {
+        return document.getPreprocessorRules() != null && !document.getPreprocessorRules().isEmpty();
+    }
+
+    private boolean isSuppressed(Document document, ValidationError error) {
+        return suppressionIndexes.computeIfAbsent(document, SuppressionIndex::new)
+                .isSuppressed(error.getLineNumber(), error.getValidatorName());
+    }
+
+    /**
+     * Count the errors reported on a document since the given index, when validating with an error limit.
+     *
+     * @return true once the error limit is exceeded
+     */
+    private boolean exceedsErrorLimit(Document document, List<ValidationError> errors, int from) {
+        if (errorLimit == Long.MAX_VALUE) {
+            return false;
+        }
+        for (int i = from; i < errors.size(); i++) {
+            if (!hasPreprocessorRules(document) || !isSuppressed(document, errors.get(i))) {
+                reportedErrors++;
+            }
+        }
+        truncated = reportedErrors > errorLimit;
+        return truncated;
+    }
+
+    /**
+     * Apply the preprocessor rules in each document to its relevent validation errors
+     *
+     * @param documents
+     * @param docErrorsMap
+     */
+    private void applyPreprocessorRules(List<Document> documents, Map<Document, List<ValidationError>> docErrorsMap) {
+        for (Document document : documents) {
+            applyPreprocessorRules(document, docErrorsMap.get(document));
+        }
+    }
+
+    private void runDocumentValidators(List<Document> documents, Map<Document, List<ValidationError>> docErrorsMap) {
+        // run Document PreProcessors to documents
+        for (Document document : documents) {
+            validators.forEach(e -> e.preValidate(document));
+        }
+
+        // run Section validator to documents
+        for (Document document : documents) {
+            List<ValidationError> errors = new ArrayList<>();
+            validators.forEach(e -> {e.setErrorList(errors); e.validate(document);});
+            docErrorsMap.put(document, errors);
+            if (exceedsErrorLimit(document, errors, 0)) {
+                return;
+            }
+        }
+    }
+
+    private void runSectionValidators(List<Document> documents, Map<Document, List<ValidationError>> docErrorsMap,
+                                      SectionResultCache cache) {
+        // run Section PreProcessors to documents
+        for (Document document : documents) {
+            for (Section section : document) {
+                validators.forEach(e -> e.preValidate(section));
+            }
+        }
+        // run Section validator to documents
+        for (Document document : documents) {
+            for (Section section : document) {
+                List<ValidationError> errors = docErrorsMap.get(document);
+                int from = errors.size();
+                if (cache == null) {
+                    validators.forEach(e -> {e.setErrorList(errors); e.validate(section);});
+                } else {
+                    validateCached(section, cache.entry(plan, section), errors);
+                }
+                if (exceedsErrorLimit(document, errors, from)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void validateCached(Section section, SectionResultCache.Entry entry, List<ValidationError> errors) {
+        for (int v = 0; v < validators.size(); v++) {
+            Validator validator = validators.get(v);
+            List<ValidationError> cached = validator.isSectionContextFree() ? entry.get(v, section) : null;
+            if (cached != null) {
+                errors.addAll(cached);
+                continue;
+            }
+            int start = errors.size();
+            validator.setErrorList(errors);
+            validator.validate(section);
+            if (validator.isSectionContextFree()) {
+                entry.put(v, new ArrayList<>(errors.subList(start, errors.size())));
+            }
+        }
+    }
+
+    /**
+     * Run the sentence validators in a single pass over the flattened sentences of each document. A tile of
+     * at most {@value #SENTENCES_PER_TILE} sentences of a block is given to every validator before moving on,
+     * so the sentences are still in cache for the next validator. Errors are buffered per validator and flushed
+     * at the end of each block, so they keep the order of a validator by validator traversal.
+     * When a cache is given, context-free validators take the errors of the sentences found in it.
+     */
+    private void runSentenceValidators(List<Document> documents, Map<Document, List<ValidationError>> docErrorsMap,
+                                       SentenceResultCache cache) {
+        Validator[] validators = this.validators.toArray(new Validator[0]);
+        boolean[] cached = new boolean[validators.length];
+        boolean anyCached = false;
+        for (int v = 0; v < validators.length; v++) {
+            cached[v] = cache != null && validators[v].isSentenceContextFree();
+            anyCached |= cached[v];
+        }
+        List<AtomicReferenceArray<List<ValidationError>>> entries = new ArrayList<>(SENTENCES_PER_TILE);
+        List<SentenceBlocks> sentenceBlocks = new ArrayList<>(documents.size());
+        documents.forEach(document -> sentenceBlocks.add(new SentenceBlocks(document)));
+
+        // run Sentence PreProcessors to documents
+        for (SentenceBlocks blocks : sentenceBlocks) {
+            for (int from = 0; from < blocks.sentences.length; from += SENTENCES_PER_TILE) {
+                int to = Math.min(from + SENTENCES_PER_TILE, blocks.sentences.length);
+                for (Validator validator : validators) {
+                    for (int k = from; k < to; k++) {
+                        validator.preValidate(blocks.sentences[k]);
+                    }
+                }
+            }
+        }
+
+        // run Sentence Validators to documents
+        List<List<ValidationError>> buffers = new ArrayList<>(validators.length);
+        for (Validator validator : validators) {
+            List<ValidationError> buffer = new ArrayList<>();
+            validator.setErrorList(buffer);
+            buffers.add(buffer);
+        }
+        for (int i = 0; i < documents.size(); i++) {
+            List<ValidationError> errors = docErrorsMap.get(documents.get(i));
+            SentenceBlocks blocks = sentenceBlocks.get(i);
+            for (int j = 0; j < blocks.size(); j++) {
+                for (int from = blocks.start(j); from < blocks.end(j); from += SENTENCES_PER_TILE) {
+                    int to = Math.min(from + SENTENCES_PER_TILE, blocks.end(j));
+                    if (anyCached) {
+                        entries.clear();
+                        for (int k = from; k < to; k++) {
+                            entries.add(cache.entry(plan, blocks.sentences[k]));
+                        }
+                    }
+                    for (int v = 0; v < validators.length; v++) {
+                        if (cached[v]) {
+                            validateCached(validators[v], v, blocks.sentences, from, to, entries, buffers.get(v));
+                        } else {
+                            for (int k = from; k < to; k++) {
+                                validators[v].validate(blocks.sentences[k]);
+                            }
+                        }
+                    }
+                }
+                int reported = errors.size();
+                for (List<ValidationError> buffer : buffers) {
+                    if (!buffer.isEmpty()) {
+                        errors.addAll(buffer);
+                        buffer.clear();
+                    }
+                }
+                if (exceedsErrorLimit(documents.get(i), errors, reported)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void validateCached(Validator validator, int validatorIndex, Sentence[] sentences, int from, int to,
+                                       List<AtomicReferenceArray<List<ValidationError>>> entries,
+                                       List<ValidationError> buffer) {
+        for (int k = from; k < to; k++) {
+            Sentence sentence = sentences[k];
+            AtomicReferenceArray<List<ValidationError>> entry = entries.get(k - from);
+            List<ValidationError> errors = entry.get(validatorIndex);
+            if (errors == null) {
+                int start = buffer.size();
+                validator.validate(sentence);
+                entry.set(validatorIndex, new ArrayList<>(buffer.subList(start, buffer.size())));
+            } else {
+                for (ValidationError error : errors) {
+                    buffer.add(error.getSentence() == sentence ? error : error.withSentence(sentence));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.config.Configuration;
+import cc.redpen.config.ValidatorConfiguration;
+import cc.redpen.validator.Validator;
+import cc.redpen.validator.ValidatorFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Immutable set of validators resolved for a configuration and an error level threshold.
+ * <p>
+ * A plan is built once and can be shared between threads. The validators are initialized when the plan is
+ * built. Each validation run gets its own {@link ValidationContext}, which shares the
+ * {@link Validator#isSentenceContextFree() context-free} validators of the plan and creates new instances of the
+ * validators keeping state during a run.
+ */
+public final class ValidationPlan {
+    private final Configuration configuration;
+    private final ValidatorConfiguration.LEVEL threshold;
+    private final List<ValidatorConfiguration> validatorConfigs;
+    private final List<Validator> validators;
+
+    /**
+     * Constructor.
+     *
+     * @param configuration configuration
+     * @param threshold     threshold of error level
+     */
+    public ValidationPlan(Configuration configuration, ValidatorConfiguration.LEVEL threshold) {
+        this.configuration = configuration;
+        this.threshold = threshold;
+        List<ValidatorConfiguration> configs = new ArrayList<>();
+        for (ValidatorConfiguration config : configuration.getValidatorConfigs()) {
+            if (config.getLevel().isWorseThan(threshold)) {
+                configs.add(config);
+            }
+        }
+        this.validatorConfigs = Collections.unmodifiableList(configs);
+        // initialize once, so that broken configurations fail here and runs share the stateless validators
+        this.validators = Collections.unmodifiableList(createValidators());
+    }
+
+    private ValidationPlan(Configuration configuration, ValidatorConfiguration.LEVEL threshold,
+                           List<ValidatorConfiguration> validatorConfigs, List<Validator> validators) {
+        this.configuration = configuration;
+        this.threshold = threshold;
+        this.validatorConfigs = Collections.unmodifiableList(validatorConfigs);
+        this.validators = Collections.unmodifiableList(validators);
+    }
+
+    /**
+     * Create a plan running only the validators of this plan accepted by the given filter, such as the
+     * {@link Validator#isDocumentContextFree() document context-free} ones. The validators are shared with this plan.
+     *
+     * @param filter validators to keep
+     * @return validation plan
+     */
+    public ValidationPlan select(Predicate<Validator> filter) {
+        List<ValidatorConfiguration> configs = new ArrayList<>();
+        List<Validator> selected = new ArrayList<>();
+        for (int i = 0; i < validators.size(); i++) {
+            if (filter.test(validators.get(i))) {
+                configs.add(validatorConfigs.get(i));
+                selected.add(validators.get(i));
+            }
+        }
+        return new ValidationPlan(configuration, threshold, configs, selected);
+    }
+
+    /**
+     * Create a context holding the per-run state of this plan.
+     *
+     * @return new validation context
+     */
+    public ValidationContext newContext() {
+        List<Validator> instances = new ArrayList<>(validators.size());
+        for (int i = 0; i < validators.size(); i++) {
+            Validator validator = validators.get(i);
+            instances.add(validator.isSentenceContextFree() ? validator : createValidator(validatorConfigs.get(i)));
+        }
+        return new ValidationContext(this, instances);
+    }
+
+    private List<Validator> createValidators() {
+        List<Validator> instances = new ArrayList<>(validatorConfigs.size());
+        for (ValidatorConfiguration config : validatorConfigs) {
+            instances.add(createValidator(config));
+        }
+        return instances;
+    }
+
+    private Validator createValidator(ValidatorConfiguration config) {
+        try {
+            return ValidatorFactory.getInstance(config, configuration);
+        } catch (RedPenException e) {
+            throw new IllegalStateException("Failed to initialize validators.", e);
+        }
+    }
+
+    /**
+     * Get the configuration of this plan.
+     *
+     * @return configuration
+     */
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Get the threshold of error level.
+     *
+     * @return threshold
+     */
+    public ValidatorConfiguration.LEVEL getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Get the configurations of the validators which pass the threshold.
+     *
+     * @return validator configurations
+     */
+    public List<ValidatorConfiguration> getValidatorConfigs() {
+        return validatorConfigs;
+    }
+
+    /**
+     * Get the validators of this plan. The context-free ones are shared by the contexts of this plan.
+     *
+     * @return validators
+     */
+    public List<Validator> getValidators() {
+        return validators;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationPlan{" +
+            "threshold=" + threshold +
+            ", validators=" + validators +
+            '}';
+    }
+}
@@ -33,6 +33,8 @@ import java.util.Objects;
 import java.util.Optional;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
@@ -42,6 +44,7 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 public class Configuration implements Serializable, Cloneable {
     private SymbolTable symbolTable;
     private List<ValidatorConfiguration> validatorConfigs = new ArrayList<>();
+    private final List<String> whiteWords;
     private final String lang;
     private transient RedPenTokenizer tokenizer;
     private final File home = new File(Optional.ofNullable(System.getProperty("REDPEN_HOME", System.getenv("REDPEN_HOME"))).orElse(""));
@@ -56,8 +59,14 @@ public class Configuration implements Serializable, Cloneable {
     }
 
     Configuration(File base, SymbolTable symbolTable, List<ValidatorConfiguration> validatorConfigs, String lang, boolean secure) {
+        this(base, symbolTable, validatorConfigs, emptyList(), lang, secure);
+    }
+
+    Configuration(File base, SymbolTable symbolTable, List<ValidatorConfiguration> validatorConfigs, List<String> whiteWords,
+                  String lang, boolean secure) {
         this.base = base;
         this.symbolTable = symbolTable;
+        this.whiteWords = unmodifiableList(new ArrayList<>(whiteWords));
 
         this.validatorConfigs.addAll(validatorConfigs);
         this.lang = lang;
@@ -91,6 +100,16 @@ public class Configuration implements Serializable, Cloneable {
         return validatorConfigs;
     }
 
+    /**
+     * Get the words containing end of sentence characters which do not end sentences, such as abbreviations,
+     * in addition to the ones {@link cc.redpen.parser.SentenceExtractor} knows by default.
+     *
+     * @return list of white words
+     */
+    public List<String> getWhiteWords() {
+        return whiteWords;
+    }
+
     /**
      * returns language targeted by this configuration
      *
@@ -207,7 +226,8 @@ public class Configuration implements Serializable, Cloneable {
         Configuration that = (Configuration)o;
         return Objects.equals(lang, that.lang) &&
           Objects.equals(symbolTable, that.symbolTable) &&
-          Objects.equals(validatorConfigs, that.validatorConfigs);
+          Objects.equals(validatorConfigs, that.validatorConfigs) &&
+          Objects.equals(whiteWords, that.whiteWords);
     }
 
     @Override public int hashCode() {
@@ -220,6 +240,7 @@ public class Configuration implements Serializable, Cloneable {
           ", tokenizer=" + tokenizer +
           ", validatorConfigs=" + validatorConfigs +
           ", symbolTable=" + symbolTable +
+          ", whiteWords=" + whiteWords +
           '}';
     }
 
@@ -240,6 +261,7 @@ public class Configuration implements Serializable, Cloneable {
     public static class ConfigurationBuilder {
         private final List<ValidatorConfiguration> validatorConfigs = new ArrayList<>();
         private final List<Symbol> customSymbols = new ArrayList<>();
+        private final List<String> whiteWords = new ArrayList<>();
         private boolean built = false;
 
         private String lang = "en";
@@ -269,6 +291,12 @@ public class Configuration implements Serializable, Cloneable {
             return this;
         }
 
+        public ConfigurationBuilder addWhiteWord(String whiteWord) {
+            checkBuilt();
+            whiteWords.add(whiteWord);
+            return this;
+        }
+
         public ConfigurationBuilder addValidatorConfig(ValidatorConfiguration config) {
             checkBuilt();
             validatorConfigs.add(config);
@@ -299,7 +327,7 @@ public class Configuration implements Serializable, Cloneable {
         public Configuration build() {
             checkBuilt();
             built = true;
-            return new Configuration(base, new SymbolTable(lang, variant, customSymbols), this.validatorConfigs, this.lang, this.secure);
+            return new Configuration(base, new SymbolTable(lang, variant, customSymbols), this.validatorConfigs, this.whiteWords, this.lang, this.secure);
         }
     }
 }
@@ -23,6 +23,7 @@ public class ConfigurationExporter {
       addRoot(config, sax);
       addValidators(config.getValidatorConfigs(), sax);
       addNonDefaultSymbols(config.getSymbolTable(), sax);
+      addWhiteWords(config.getWhiteWords(), sax);
 
       sax.writeEndElement();
       sax.flush();
@@ -57,6 +58,16 @@ public class ConfigurationExporter {
     sax.writeEndElement();
   }
 
+  private void addWhiteWords(List<String> whiteWords, XMLStreamWriter sax) throws XMLStreamException {
+    if (whiteWords.isEmpty()) return;
+    sax.writeStartElement("white-words");
+    for (String word : whiteWords) {
+      sax.writeEmptyElement("word");
+      sax.writeAttribute("value", word);
+    }
+    sax.writeEndElement();
+  }
+
   private void addNonDefaultSymbols(SymbolTable symbolTable, XMLStreamWriter sax) throws XMLStreamException {
     Map<SymbolType, Symbol> defaults = symbolTable.getDefaultSymbols();
     List<Symbol> nonDefaultSymbols = symbolTable.getNames().stream()
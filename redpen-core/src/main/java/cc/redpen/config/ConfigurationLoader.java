@@ -212,6 +212,12 @@ public class ConfigurationLoader {
         if (symbolTableConfigElementList != null) {
             extractSymbolConfig(configBuilder, symbolTableConfigElementList, language);
         }
+
+        // extract words which do not end sentences
+        NodeList whiteWordsElementList = getSpecifiedNodeList(rootElement, "white-words");
+        if (whiteWordsElementList != null) {
+            extractWhiteWords(configBuilder, (Element) whiteWordsElementList.item(0));
+        }
         return configBuilder.build();
     }
 
@@ -286,6 +292,16 @@ public class ConfigurationLoader {
         }
     }
 
+    private void extractWhiteWords(ConfigurationBuilder configBuilder, Element whiteWordsElement) {
+        NodeList wordElementList = whiteWordsElement.getElementsByTagName("word");
+        for (int i = 0; i < wordElementList.getLength(); i++) {
+            String word = ((Element) wordElementList.item(i)).getAttribute("value");
+            if (!word.isEmpty()) {
+                configBuilder.addWhiteWord(word);
+            }
+        }
+    }
+
     private NodeList getSpecifiedNodeList(Element rootElement, String elementName) {
         NodeList elementList =
                 rootElement.getElementsByTagName(elementName);
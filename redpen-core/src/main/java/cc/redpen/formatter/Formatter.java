@@ -23,11 +23,15 @@ import cc.redpen.validator.ValidationError;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -71,6 +75,116 @@ public abstract class Formatter {
         format(new PrintWriter(outputStream), docErrorsMap);
     }
 
+    /**
+     * Start writing the errors of documents one document at a time, so that the formatted errors of all the
+     * documents are never held in memory together.
+     *
+     * @param writer the destination for the errors, flushed after each document but not closed
+     * @return writer of the errors of each document
+     * @throws IOException when failed to output
+     */
+    public DocumentWriter open(Writer writer) throws IOException {
+        return new DocumentWriter(writer);
+    }
+
+    /**
+     * Start writing the errors of documents one document at a time, encoded in UTF-8.
+     *
+     * @param outputStream the destination for the errors, flushed after each document but not closed
+     * @return writer of the errors of each document
+     * @throws IOException when failed to output
+     */
+    public DocumentWriter open(OutputStream outputStream) throws IOException {
+        return open(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write what comes before the errors of the first document.
+     *
+     * @param writer the destination for the errors
+     * @throws IOException when failed to output
+     */
+    protected void writeHeader(Writer writer) throws IOException {
+    }
+
+    /**
+     * Write the errors of a document. Formatters whose output is more than the errors of each document one after
+     * the other override this method, together with {@link #writeHeader(Writer)} and {@link #writeFooter(Writer)}.
+     *
+     * @param writer   the destination for the errors
+     * @param document the document
+     * @param errors   the list of errors for the document
+     * @param first    true for the first document
+     * @throws RedPenException when failed to format the errors
+     * @throws IOException when failed to output
+     */
+    protected void writeDocument(Writer writer, Document document, List<ValidationError> errors, boolean first)
+            throws RedPenException, IOException {
+        PrintWriter printWriter = new PrintWriter(writer);
+        format(printWriter, Collections.singletonMap(document, errors));
+        printWriter.flush();
+    }
+
+    /**
+     * Write what comes after the errors of the last document.
+     *
+     * @param writer the destination for the errors
+     * @throws IOException when failed to output
+     */
+    protected void writeFooter(Writer writer) throws IOException {
+    }
+
+    /**
+     * Writer of the errors of documents, one document at a time.
+     */
+    public final class DocumentWriter {
+        private final BufferedWriter writer;
+        private boolean first = true;
+
+        private DocumentWriter(Writer writer) throws IOException {
+            this.writer = new BufferedWriter(writer);
+            writeHeader(this.writer);
+        }
+
+        /**
+         * Write the errors of a document.
+         *
+         * @param document the document
+         * @param errors   the list of errors for the document
+         * @throws RedPenException when failed to format the errors
+         * @throws IOException when failed to output
+         */
+        public void write(Document document, List<ValidationError> errors) throws RedPenException, IOException {
+            writeDocument(writer, document, errors, first);
+            first = false;
+            writer.flush();
+        }
+
+        /**
+         * Write the errors of a set of documents and finish the output.
+         *
+         * @param docErrorsMap a map of documents to the corresponding list of errors
+         * @throws RedPenException when failed to format the errors
+         * @throws IOException when failed to output
+         */
+        public void writeAll(Map<Document, List<ValidationError>> docErrorsMap) throws RedPenException, IOException {
+            for (Map.Entry<Document, List<ValidationError>> entry : docErrorsMap.entrySet()) {
+                write(entry.getKey(), entry.getValue());
+            }
+            finish();
+        }
+
+        /**
+         * Write what comes after the errors of the last document and flush the output.
+         *
+         * @throws IOException when failed to output
+         */
+        public void finish() throws IOException {
+            writeFooter(writer);
+            writer.flush();
+        }
+    }
+
     /**
      * Format errors for a set of documents as a String
      *
@@ -32,6 +32,7 @@ import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
@@ -44,11 +45,26 @@ public class JSONFormatter extends Formatter {
 
     @Override
     public void format(PrintWriter pw, Map<Document, List<ValidationError>> docErrorsMap) throws RedPenException, IOException {
-        BufferedWriter writer = new BufferedWriter(new PrintWriter(pw));
-        JSONArray errors = new JSONArray();
-        docErrorsMap.forEach((doc, errorList) -> errors.put(asJSON(doc, errorList)));
-        writer.write(errors.toString());
-        writer.flush();
+        open(pw).writeAll(docErrorsMap);
+    }
+
+    @Override
+    protected void writeHeader(Writer writer) throws IOException {
+        writer.write("[");
+    }
+
+    @Override
+    protected void writeDocument(Writer writer, Document document, List<ValidationError> errors, boolean first) throws IOException {
+        // only the errors of the current document are rendered as a JSON tree
+        if (!first) {
+            writer.write(",");
+        }
+        writer.write(asJSON(document, errors).toString());
+    }
+
+    @Override
+    protected void writeFooter(Writer writer) throws IOException {
+        writer.write("]");
     }
 
     @Override
@@ -23,9 +23,9 @@ import cc.redpen.validator.ValidationError;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
@@ -37,30 +37,24 @@ public final class PlainBySentenceFormatter extends Formatter {
 
     @Override
     public void format(PrintWriter pw, Map<Document, List<ValidationError>> docErrorsMap) throws RedPenException, IOException {
+        open(pw).writeAll(docErrorsMap);
+    }
 
-        BufferedWriter writer = new BufferedWriter(new PrintWriter(pw));
-
-        for (Document document : docErrorsMap.keySet()) {
-            if (document.getFileName().isPresent()) {
-                writer.write("Document: " + document.getFileName().get() + "\n");
-            }
+    @Override
+    protected void writeDocument(Writer writer, Document document, List<ValidationError> errors, boolean first) throws IOException {
+        if (document.getFileName().isPresent()) {
+            writer.write("Document: " + document.getFileName().get() + "\n");
+        }
 
-            List<ValidationError> errors = docErrorsMap.get(document);
-            errors.sort(JSONBySentenceFormatter.BY_SENTENCE_COMPARATOR);
-            ValidationError lastError = null;
-            for (ValidationError error : errors) {
-                if (JSONBySentenceFormatter.BY_SENTENCE_COMPARATOR.compare(lastError, error) != 0) {
-                    writer.write("\tLine: " + error.getSentence().getLineNumber() + ", Offset: " + error.getSentence().getStartPositionOffset() + "\n");
-                    writer.write("\t\tSentence: " + error.getSentence().getContent() + "\n");
-                    lastError = error;
-                }
-                writer.write("\t\t\t" + formatError(document, error));
+        errors.sort(JSONBySentenceFormatter.BY_SENTENCE_COMPARATOR);
+        ValidationError lastError = null;
+        for (ValidationError error : errors) {
+            if (JSONBySentenceFormatter.BY_SENTENCE_COMPARATOR.compare(lastError, error) != 0) {
+                writer.write("\tLine: " + error.getSentence().getLineNumber() + ", Offset: " + error.getSentence().getStartPositionOffset() + "\n");
+                writer.write("\t\tSentence: " + error.getSentence().getContent() + "\n");
+                lastError = error;
             }
-        }
-        try {
-            writer.flush();
-        } catch (IOException e) {
-            LOG.error("failed to flush", e);
+            writer.write("\t\t\t" + formatError(document, error));
         }
     }
 
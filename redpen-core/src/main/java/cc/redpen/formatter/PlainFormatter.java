@@ -23,9 +23,9 @@ import cc.redpen.validator.ValidationError;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
@@ -37,17 +37,13 @@ public final class PlainFormatter extends Formatter {
 
     @Override
     public void format(PrintWriter pw, Map<Document, List<ValidationError>> docErrorsMap) throws RedPenException, IOException {
-        BufferedWriter writer = new BufferedWriter(new PrintWriter(pw));
-        for (Document document : docErrorsMap.keySet()) {
-            List<ValidationError> errors = docErrorsMap.get(document);
-            for (ValidationError error : errors) {
-                writer.write(formatError(document, error));
-            }
-        }
-        try {
-            writer.flush();
-        } catch (IOException e) {
-            LOG.error("failed to flush", e);
+        open(pw).writeAll(docErrorsMap);
+    }
+
+    @Override
+    protected void writeDocument(Writer writer, Document document, List<ValidationError> errors, boolean first) throws IOException {
+        for (ValidationError error : errors) {
+            writer.write(formatError(document, error));
         }
     }
 
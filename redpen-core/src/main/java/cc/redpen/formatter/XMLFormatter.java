@@ -36,10 +36,10 @@ import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
@@ -70,19 +70,25 @@ public class XMLFormatter extends Formatter {
 
     @Override
     public void format(PrintWriter pw, Map<cc.redpen.model.Document, List<ValidationError>> docErrorsMap) throws RedPenException, IOException {
+        open(pw).writeAll(docErrorsMap);
+    }
 
-        BufferedWriter writer = new BufferedWriter(new PrintWriter(pw));
-
+    @Override
+    protected void writeHeader(Writer writer) throws IOException {
         writer.write("<validation-result>\n");
+    }
 
-        for (cc.redpen.model.Document document : docErrorsMap.keySet()) {
-            List<ValidationError> errors = docErrorsMap.get(document);
-            for (ValidationError error : errors) {
-                writer.write(formatError(document, error));
-            }
+    @Override
+    protected void writeDocument(Writer writer, cc.redpen.model.Document document, List<ValidationError> errors, boolean first)
+            throws RedPenException, IOException {
+        for (ValidationError error : errors) {
+            writer.write(formatError(document, error));
         }
+    }
+
+    @Override
+    protected void writeFooter(Writer writer) throws IOException {
         writer.write("</validation-result>");
-        writer.flush();
     }
 
     @Override
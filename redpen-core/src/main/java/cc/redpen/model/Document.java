@@ -138,7 +138,8 @@ public class Document implements Iterable<Section>, Serializable {
     }
 
     public static class DocumentBuilder {
-        private final RedPenTokenizer tokenizer;
+        // sentences added to the document, tokenized when their tokens are first needed
+        private final TokenizationBatch tokenization;
         boolean built = false;
         private final List<Section> sections;
         Optional<String> fileName;
@@ -159,7 +160,7 @@ public class Document implements Iterable<Section>, Serializable {
         public DocumentBuilder(RedPenTokenizer tokenizer) {
             sections = new ArrayList<>();
             fileName = Optional.empty();
-            this.tokenizer = tokenizer;
+            this.tokenization = new TokenizationBatch(tokenizer);
         }
 
         /**
@@ -171,7 +172,7 @@ public class Document implements Iterable<Section>, Serializable {
         public DocumentBuilder appendSection(Section section) {
             ensureNotBuilt();
             for (Sentence sentence : section.getHeaderContents()) {
-                sentence.setTokens(tokenizer.tokenize(sentence.getContent()));
+                tokenization.add(sentence);
             }
             sections.add(section);
             return this;
@@ -201,7 +202,7 @@ public class Document implements Iterable<Section>, Serializable {
             if (lastParagraph.getNumberOfSentences() == 1) {
                 sentence.setIsFirstSentence(true);
             }
-            sentence.setTokens(tokenizer.tokenize(sentence.getContent()));
+            tokenization.add(sentence);
             return this;
         }
 
@@ -275,7 +276,7 @@ public class Document implements Iterable<Section>, Serializable {
             }
             Section lastSection = getSection(sections.size() - 1);
             for(Sentence sentence : contents) {
-                sentence.setTokens(tokenizer.tokenize(sentence.getContent()));
+                tokenization.add(sentence);
             }
             lastSection.appendListElement(level, contents);
             return this;
@@ -325,7 +326,7 @@ public class Document implements Iterable<Section>, Serializable {
             }
             List<Sentence> headers = lastSection.getHeaderContents();
             Sentence sentence  = new Sentence(header, headers.size());
-            sentence.setTokens(tokenizer.tokenize(sentence.getContent()));
+            tokenization.add(sentence);
             headers.add(sentence);
             return this;
         }
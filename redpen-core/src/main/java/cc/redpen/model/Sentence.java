@@ -18,8 +18,11 @@
 package cc.redpen.model;
 
 import cc.redpen.parser.LineOffset;
+import cc.redpen.parser.LineOffsetTable;
 import cc.redpen.tokenizer.TokenElement;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -54,13 +57,17 @@ public class Sentence implements Serializable {
     /**
      * A list of tokens.
      * <p>
-     * Note: the contents of the tokens are added in DocumentCollectionBuilder
+     * Note: the contents of the tokens are added by Document.DocumentBuilder, on the first call of getTokens()
      */
-    private List<TokenElement> tokens;
+    private volatile List<TokenElement> tokens;
+    /**
+     * Batch which tokenizes this sentence on demand, null once the tokens are set.
+     */
+    private transient volatile TokenizationBatch pendingTokenization;
     /**
      * Combinations of line Number and the position offset
      */
-    private List<LineOffset> offsetMap;
+    private LineOffsetTable offsetMap;
 
     /**
      * Constructor.
@@ -87,15 +94,15 @@ public class Sentence implements Serializable {
         this.links = new ArrayList<>();
         this.tokens = new ArrayList<>();
         this.startPositionOffset = startOffset;
-        this.offsetMap = new ArrayList<>();
+        this.offsetMap = new LineOffsetTable();
     }
 
 
     public Sentence(String content, List<LineOffset> offsetMap, List<String> links) {
         this.content = content;
-        this.offsetMap = offsetMap;
-        this.startPositionOffset = offsetMap.get(0).offset;
-        this.lineNumber = offsetMap.get(0).lineNum;
+        this.offsetMap = new LineOffsetTable(offsetMap);
+        this.startPositionOffset = this.offsetMap.getOffset(0);
+        this.lineNumber = this.offsetMap.getLineNum(0);
         this.isFirstSentence = false;
         this.tokens = new ArrayList<>();
         this.links = links;
@@ -189,6 +196,10 @@ public class Sentence implements Serializable {
      * @return list of tokenized words
      */
     public List<TokenElement> getTokens() {
+        TokenizationBatch batch = pendingTokenization;
+        if (batch != null) {
+            batch.tokenize();
+        }
         return tokens;
     }
 
@@ -199,15 +210,25 @@ public class Sentence implements Serializable {
      */
     public void setTokens(List<TokenElement> tokens) {
         this.tokens = tokens;
+        this.pendingTokenization = null;
+    }
+
+    void setPendingTokenization(TokenizationBatch batch) {
+        this.pendingTokenization = batch;
+    }
+
+    boolean isPendingIn(TokenizationBatch batch) {
+        return pendingTokenization == batch;
     }
 
     /**
      * Set the offset mapping table which contains character position to column offset in line.
+     * The offsets are copied unless they are given as a {@link LineOffsetTable}.
      *
      * @param offsetMap position mapping table
      */
     public void setOffsetMap(List<LineOffset> offsetMap) {
-        this.offsetMap = offsetMap;
+        this.offsetMap = LineOffsetTable.of(offsetMap);
     }
 
 
@@ -222,8 +243,8 @@ public class Sentence implements Serializable {
             if (offsetMap.size() > position) {
                 return Optional.of(offsetMap.get(position));
             } else if ((position > 0) && (offsetMap.size() == position)) {
-                LineOffset last = offsetMap.get(offsetMap.size() - 1);
-                return Optional.of(new LineOffset(last.lineNum, last.offset + 1));
+                int last = offsetMap.size() - 1;
+                return Optional.of(new LineOffset(offsetMap.getLineNum(last), offsetMap.getOffset(last) + 1));
             }
             return Optional.of(new LineOffset(lineNumber, position));
         }
@@ -241,6 +262,29 @@ public class Sentence implements Serializable {
         return position < 0 ? 0 : position;
     }
 
+    /**
+     * Get the character position of the supplied offset in this sentence, the reverse of {@link #getOffset(int)}.
+     * The offset just after the last character maps to the length of the sentence.
+     *
+     * @param offset the position in the source text
+     * @return the position in the sentence's content, empty if the offset is not in this sentence
+     */
+    public Optional<Integer> getPosition(LineOffset offset) {
+        if (offsetMap.isEmpty()) {
+            // without a mapping table, positions are columns of the sentence's line
+            return offset.lineNum == lineNumber && offset.offset >= 0 ? Optional.of(offset.offset) : Optional.empty();
+        }
+        int position = offsetMap.indexOf(offset);
+        if (position >= 0) {
+            return Optional.of(position);
+        }
+        int size = offsetMap.size();
+        if (offset.equals(getOffset(size).orElse(null))) {
+            return Optional.of(size);
+        }
+        return Optional.empty();
+    }
+
     /**
      * Get size of offset mapping table (the size should be same as the content length).
      *
@@ -251,6 +295,11 @@ public class Sentence implements Serializable {
     }
 
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getTokens();
+        out.defaultWriteObject();
+    }
+
     @Override
     public String toString() {
         return "Sentence{" +
@@ -259,7 +308,7 @@ public class Sentence implements Serializable {
                 ", content='" + content + '\'' +
                 ", startPositionOffset=" + startPositionOffset +
                 ", isFirstSentence=" + isFirstSentence +
-                ", tokens=" + tokens +
+                ", tokens=" + (pendingTokenization == null ? tokens : "(not tokenized yet)") +
                 ", offsetMap=" + offsetMap +
                 '}';
     }
@@ -276,7 +325,10 @@ public class Sentence implements Serializable {
         if (startPositionOffset != sentence.startPositionOffset) return false;
         if (content != null ? !content.equals(sentence.content) : sentence.content != null) return false;
         if (links != null ? !links.equals(sentence.links) : sentence.links != null) return false;
-        if (tokens != null ? !tokens.equals(sentence.tokens) : sentence.tokens != null) return false;
+        // pending sentences are tokenized, so that equality does not depend on when their batch runs
+        List<TokenElement> tokens = getTokens();
+        List<TokenElement> otherTokens = sentence.getTokens();
+        if (tokens != null ? !tokens.equals(otherTokens) : otherTokens != null) return false;
 
         return true;
     }
@@ -288,10 +340,19 @@ public class Sentence implements Serializable {
         result = 31 * result + (content != null ? content.hashCode() : 0);
         result = 31 * result + startPositionOffset;
         result = 31 * result + (isFirstSentence ? 1 : 0);
+        List<TokenElement> tokens = getTokens();
         result = 31 * result + (tokens != null ? tokens.hashCode() : 0);
         return result;
     }
 
+    /**
+     * Get the offset mapping table which contains character position to column offset in line.
+     * <p>
+     * The table is a {@link LineOffsetTable}, which only grows at its end: inserting an offset
+     * anywhere but at the end throws {@link UnsupportedOperationException}.
+     *
+     * @return position mapping table
+     */
     public List<LineOffset> getOffsetMap() {
         return offsetMap;
     }
@@ -0,0 +1,58 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.model;
+
+import cc.redpen.tokenizer.RedPenTokenizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sentences of a document waiting to be tokenized.
+ * <p>
+ * The sentences are tokenized together with {@link RedPenTokenizer#tokenizeAll(List)} when the tokens of
+ * any of them are first requested, so documents checked only by validators which never look at tokens
+ * are not tokenized at all.
+ */
+final class TokenizationBatch {
+    private final RedPenTokenizer tokenizer;
+    private final List<Sentence> sentences = new ArrayList<>();
+
+    TokenizationBatch(RedPenTokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+    }
+
+    synchronized void add(Sentence sentence) {
+        sentences.add(sentence);
+        sentence.setPendingTokenization(this);
+    }
+
+    synchronized void tokenize() {
+        List<Sentence> pending = new ArrayList<>(sentences.size());
+        for (Sentence sentence : sentences) {
+            // skip the sentences whose tokens were set in the meantime
+            if (sentence.isPendingIn(this)) {
+                pending.add(sentence);
+            }
+        }
+        sentences.clear();
+        if (!pending.isEmpty()) {
+            tokenizer.tokenizeAll(pending);
+        }
+    }
+}
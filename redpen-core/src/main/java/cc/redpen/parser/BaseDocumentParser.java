@@ -106,7 +106,7 @@ public abstract class BaseDocumentParser implements DocumentParser {
 
         public ValueWithOffsets extract(int start, int end) {
             if (start == end) return new ValueWithOffsets();
-            return new ValueWithOffsets(getContent().substring(start, end), getOffsetMap().subList(start, end));
+            return new ValueWithOffsets(getContent().substring(start, end), LineOffsetTable.of(getOffsetMap()).copyRange(start, end));
         }
     }
 
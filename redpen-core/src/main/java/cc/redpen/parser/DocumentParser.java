@@ -20,6 +20,7 @@ package cc.redpen.parser;
 import cc.redpen.RedPenException;
 import cc.redpen.model.Document;
 import cc.redpen.parser.asciidoc.AsciiDocParser;
+import cc.redpen.parser.markdown.CommonMarkParser;
 import cc.redpen.parser.rest.ReSTParser;
 import cc.redpen.parser.review.ReVIEWParser;
 import cc.redpen.tokenizer.RedPenTokenizer;
@@ -78,6 +79,7 @@ public interface DocumentParser {
     DocumentParser PROPERTIES = new PropertiesParser();
     DocumentParser REVIEW = new ReVIEWParser();
     DocumentParser REST = new ReSTParser();
+    DocumentParser COMMONMARK = new CommonMarkParser();
 
     Map<String, DocumentParser> PARSER_MAP = Collections.unmodifiableMap(
         new HashMap<String, DocumentParser>() {
@@ -90,6 +92,7 @@ public interface DocumentParser {
                 put("PROPERTIES", PROPERTIES);
                 put("REVIEW", REVIEW);
                 put("REST", REST);
+                put("COMMONMARK", COMMONMARK);
             }
         });
 
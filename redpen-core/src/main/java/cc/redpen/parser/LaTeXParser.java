@@ -48,17 +48,12 @@ class LaTeXParser extends BaseDocumentParser {
 
         StringBuilder sb = new StringBuilder();
         String line;
-        int charCount = 0;
-        List<Integer> lineList = new ArrayList<>();
         PreprocessingReader br = createReader(inputStream);
 
         try {
             while ((line = br.readLine()) != null) {
                 sb.append(line);
                 sb.append("\n");
-                // TODO surrogate pair ?
-                charCount += line.length() + 1;
-                lineList.add(charCount);
             }
         } catch (IOException e) {
             throw new RedPenException(e);
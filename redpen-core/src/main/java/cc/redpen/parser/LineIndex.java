@@ -0,0 +1,117 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.parser;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Character positions of the starts of the lines of a text, mapping positions in the text to lines.
+ * <p>
+ * The starts are kept in a primitive array in ascending order, so the line of a position is found with a binary
+ * search instead of walking the lines before it. Lines are numbered from 0; a position past the end of the text
+ * is on the line following the last line break.
+ */
+public final class LineIndex {
+    private final int[] starts;
+
+    private LineIndex(int[] starts) {
+        this.starts = starts;
+    }
+
+    /**
+     * Index the lines of the given text, separated by '\n' (optionally preceded by '\r').
+     *
+     * @param text text
+     * @return line index of the text
+     */
+    public static LineIndex of(CharSequence text) {
+        int[] starts = new int[16];
+        int count = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                starts[count++] = i + 1;
+            }
+        }
+        return new LineIndex(Arrays.copyOf(starts, count));
+    }
+
+    /**
+     * Index lines given the position following the end of each of them, line break included.
+     *
+     * @param lineEnds end positions of the lines, in ascending order
+     * @return line index of the lines
+     */
+    public static LineIndex ofLineEnds(List<Integer> lineEnds) {
+        int[] starts = new int[lineEnds.size() + 1];
+        for (int i = 0; i < lineEnds.size(); i++) {
+            starts[i + 1] = lineEnds.get(i);
+        }
+        return new LineIndex(starts);
+    }
+
+    /**
+     * @return number of lines, including the empty line following a trailing line break
+     */
+    public int getLineCount() {
+        return starts.length;
+    }
+
+    /**
+     * Return the line a position is on.
+     *
+     * @param position character position in the text
+     * @return line number of the position, from 0
+     */
+    public int getLine(int position) {
+        int low = 1;
+        int high = starts.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] <= position) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Return the position of the start of a line.
+     *
+     * @param line line number, from 0
+     * @return character position of the first character of the line
+     */
+    public int getLineStart(int line) {
+        return starts[line];
+    }
+
+    /**
+     * Return the position of a character in its line.
+     *
+     * @param position character position in the text
+     * @return offset of the position from the start of its line
+     */
+    public int getColumn(int position) {
+        return position - starts[getLine(position)];
+    }
+}
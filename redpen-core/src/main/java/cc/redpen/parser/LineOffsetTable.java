@@ -0,0 +1,316 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.parser;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Compact list of {@link LineOffset}, mapping character positions of a sentence to positions in the source text.
+ * <p>
+ * Consecutive characters on the same line with consecutive offsets are stored as a single segment in primitive
+ * arrays, so a sentence copied verbatim from one line takes a few integers whatever its length.
+ * Elements are created on access. Lookups by position and by offset are binary searches over the segments.
+ * <p>
+ * Appending is the cheap operation. Inserting, replacing or removing elements elsewhere is supported as with any
+ * list, but rebuilds the segments following the change. {@link #subList(int, int)} is a view as with any list;
+ * use {@link #copyRange(int, int)} to get a compact copy of a range.
+ */
+public class LineOffsetTable extends AbstractList<LineOffset> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = -3096573465311278416L;
+
+    private int size;
+    private int segmentCount;
+    // first position, line number and offset of the first position of each segment
+    private int[] starts;
+    private int[] lineNums;
+    private int[] offsets;
+    // true while every element is greater than the previous one
+    private boolean ascending = true;
+
+    /**
+     * Constructor.
+     */
+    public LineOffsetTable() {
+        starts = new int[2];
+        lineNums = new int[2];
+        offsets = new int[2];
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param lineOffsets offsets to copy
+     */
+    public LineOffsetTable(Collection<? extends LineOffset> lineOffsets) {
+        this();
+        if (lineOffsets instanceof LineOffsetTable) {
+            appendAll((LineOffsetTable) lineOffsets, 0, lineOffsets.size());
+        } else {
+            for (LineOffset lineOffset : lineOffsets) {
+                append(lineOffset.lineNum, lineOffset.offset);
+            }
+        }
+    }
+
+    /**
+     * Get the given offsets as a table, copying them unless they are already a table.
+     *
+     * @param lineOffsets offsets
+     * @return table of the offsets
+     */
+    public static LineOffsetTable of(List<LineOffset> lineOffsets) {
+        return lineOffsets instanceof LineOffsetTable ? (LineOffsetTable) lineOffsets : new LineOffsetTable(lineOffsets);
+    }
+
+    /**
+     * Append an offset without creating a LineOffset.
+     *
+     * @param lineNum line number
+     * @param offset  character offset position from start of line
+     */
+    public void append(int lineNum, int offset) {
+        if (segmentCount > 0) {
+            int last = segmentCount - 1;
+            int lastOffset = offsets[last] + size - 1 - starts[last];
+            if (lineNums[last] == lineNum && lastOffset + 1 == offset) {
+                size++;
+                modCount++;
+                return;
+            }
+            if (lineNums[last] > lineNum || (lineNums[last] == lineNum && lastOffset >= offset)) {
+                ascending = false;
+            }
+        }
+        if (segmentCount == starts.length) {
+            int capacity = segmentCount * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            lineNums = Arrays.copyOf(lineNums, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+        }
+        starts[segmentCount] = size;
+        lineNums[segmentCount] = lineNum;
+        offsets[segmentCount] = offset;
+        segmentCount++;
+        size++;
+        modCount++;
+    }
+
+    private void appendAll(LineOffsetTable table, int from, int to) {
+        int position = from;
+        while (position < to) {
+            int segment = table.segmentOf(position);
+            int end = Math.min(to, table.segmentEnd(segment));
+            int offset = table.offsets[segment] + position - table.starts[segment];
+            // appending the first element of the run starts a segment, the following ones extend it
+            append(table.lineNums[segment], offset);
+            int rest = end - position - 1;
+            size += rest;
+            position = end;
+        }
+    }
+
+    /**
+     * Get the line number of the given position.
+     *
+     * @param index character position
+     * @return line number
+     */
+    public int getLineNum(int index) {
+        checkIndex(index);
+        return lineNums[segmentOf(index)];
+    }
+
+    /**
+     * Get the offset in line of the given position.
+     *
+     * @param index character position
+     * @return character offset position from start of line
+     */
+    public int getOffset(int index) {
+        checkIndex(index);
+        int segment = segmentOf(index);
+        return offsets[segment] + index - starts[segment];
+    }
+
+    @Override
+    public LineOffset get(int index) {
+        checkIndex(index);
+        int segment = segmentOf(index);
+        return new LineOffset(lineNums[segment], offsets[segment] + index - starts[segment]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(LineOffset lineOffset) {
+        append(lineOffset.lineNum, lineOffset.offset);
+        return true;
+    }
+
+    @Override
+    public void add(int index, LineOffset lineOffset) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index == size) {
+            add(lineOffset);
+        } else {
+            replaceRange(index, index, lineOffset);
+            modCount++;
+        }
+    }
+
+    @Override
+    public LineOffset set(int index, LineOffset lineOffset) {
+        LineOffset previous = get(index);
+        // not a structural modification, so that views stay usable
+        replaceRange(index, index + 1, lineOffset);
+        return previous;
+    }
+
+    @Override
+    public LineOffset remove(int index) {
+        LineOffset previous = get(index);
+        replaceRange(index, index + 1, null);
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < toIndex) {
+            replaceRange(fromIndex, toIndex, null);
+            modCount++;
+        }
+    }
+
+    /**
+     * Replace the elements of the given range with the given one, or with nothing when it is null.
+     */
+    private void replaceRange(int fromIndex, int toIndex, LineOffset lineOffset) {
+        LineOffsetTable table = new LineOffsetTable();
+        table.appendAll(this, 0, fromIndex);
+        if (lineOffset != null) {
+            table.append(lineOffset.lineNum, lineOffset.offset);
+        }
+        table.appendAll(this, toIndex, size);
+        size = table.size;
+        segmentCount = table.segmentCount;
+        starts = table.starts;
+        lineNums = table.lineNums;
+        offsets = table.offsets;
+        ascending = table.ascending;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends LineOffset> lineOffsets) {
+        if (lineOffsets instanceof LineOffsetTable) {
+            appendAll((LineOffsetTable) lineOffsets, 0, lineOffsets.size());
+            return !lineOffsets.isEmpty();
+        }
+        return super.addAll(lineOffsets);
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        segmentCount = 0;
+        ascending = true;
+        modCount++;
+    }
+
+    /**
+     * Copy the given range into a new table. Unlike {@link #subList(int, int)}, the result is not a view of this table.
+     *
+     * @param fromIndex low endpoint (inclusive) of the range
+     * @param toIndex   high endpoint (exclusive) of the range
+     * @return a new table holding the offsets of the range
+     */
+    public LineOffsetTable copyRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + size);
+        }
+        LineOffsetTable table = new LineOffsetTable();
+        table.appendAll(this, fromIndex, toIndex);
+        return table;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof LineOffset)) {
+            return -1;
+        }
+        LineOffset target = (LineOffset) o;
+        if (ascending) {
+            // last segment starting at or before the target
+            int low = 0;
+            int high = segmentCount - 1;
+            int found = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (lineNums[middle] < target.lineNum
+                        || (lineNums[middle] == target.lineNum && offsets[middle] <= target.offset)) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return found >= 0 ? positionIn(found, target) : -1;
+        }
+        for (int segment = 0; segment < segmentCount; segment++) {
+            int position = positionIn(segment, target);
+            if (position >= 0) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    private int positionIn(int segment, LineOffset target) {
+        int delta = target.offset - offsets[segment];
+        if (lineNums[segment] == target.lineNum && delta >= 0 && delta < segmentEnd(segment) - starts[segment]) {
+            return starts[segment] + delta;
+        }
+        return -1;
+    }
+
+    private int segmentOf(int index) {
+        int found = Arrays.binarySearch(starts, 0, segmentCount, index);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    private int segmentEnd(int segment) {
+        return segment + 1 < segmentCount ? starts[segment + 1] : size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -28,8 +28,6 @@ import org.pegdown.ast.RootNode;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -56,16 +54,11 @@ class MarkdownParser extends BaseDocumentParser {
         fileName.ifPresent(documentBuilder::setFileName);
 
         StringBuilder fullText = new StringBuilder();
-        List<Integer> lineLengths = new ArrayList<>();
 
         try (PreprocessingReader br = createReader(inputStream)) {
             String line;
-            int charCount = 0;
             while ((line = br.readLine()) != null) {
                 fullText.append(line).append("\n");
-                // TODO surrogate pair ?
-                charCount += line.length() + 1;
-                lineLengths.add(charCount);
             }
             documentBuilder.setPreprocessorRules(br.getPreprocessorRules());
         } catch (IOException e) {
@@ -75,7 +68,7 @@ class MarkdownParser extends BaseDocumentParser {
         try {
             // TODO create documentBuilder after parsing... overhead...
             RootNode rootNode = pegDownProcessor.parseMarkdown(fullText.toString().toCharArray());
-            ToFileContentSerializer serializer = new ToFileContentSerializer(documentBuilder, lineLengths, sentenceExtractor);
+            ToFileContentSerializer serializer = new ToFileContentSerializer(documentBuilder, LineIndex.of(fullText), sentenceExtractor);
             serializer.toFileContent(rootNode);
         } catch (ParsingTimeoutException e) {
             throw new RedPenException("Failed to parse timeout: ", e);
@@ -95,7 +95,7 @@ final public class PlainTextParser extends BaseDocumentParser implements Seriali
         int sentenceStartLineNum = lineNum;
         int sentenceStartLineOffset = offset;
 
-        List<LineOffset> offsetMap = new ArrayList<>();
+        LineOffsetTable offsetMap = new LineOffsetTable();
         String normalizedSentence = "";
         int i;
         // skip leading line breaks to find the start line of the sentence
@@ -114,14 +114,14 @@ final public class PlainTextParser extends BaseDocumentParser implements Seriali
             char ch = rawSentenceText.charAt(i);
             if (ch == '\n') {
                 if (!sentenceExtractor.getBrokenLineSeparator().isEmpty()) {
-                    offsetMap.add(new LineOffset(lineNum, offset));
+                    offsetMap.append(lineNum, offset);
                     normalizedSentence += sentenceExtractor.getBrokenLineSeparator();
                 }
                 lineNum++;
                 offset = 0;
             } else {
                 normalizedSentence += ch;
-                offsetMap.add(new LineOffset(lineNum, offset));
+                offsetMap.append(lineNum, offset);
                 offset++;
             }
         }
@@ -134,22 +134,19 @@ final public class PlainTextParser extends BaseDocumentParser implements Seriali
 
     /* Extract sentences from a paragraph */
     private void extractSentences(int lineNum, String paragraphText, SentenceExtractor sentenceExtractor, Document.DocumentBuilder builder) {
-        int periodPosition = sentenceExtractor.getSentenceEndPosition(paragraphText);
+        int[] periodPositions = sentenceExtractor.getSentenceEndPositions(paragraphText);
         LineOffset lineOffset = new LineOffset(lineNum, 0);
-        if (periodPosition == -1) {
+        if (periodPositions.length == 0) {
             addSentence(lineOffset, paragraphText, sentenceExtractor, builder);
-        } else {
-            while (true) {
-                lineOffset = addSentence(lineOffset, paragraphText.substring(0, periodPosition + 1), sentenceExtractor, builder);
-                paragraphText = paragraphText.substring(periodPosition + 1, paragraphText.length());
-                periodPosition = sentenceExtractor.getSentenceEndPosition(paragraphText);
-                if (periodPosition == -1) {
-                    if (!paragraphText.isEmpty()) {
-                        addSentence(lineOffset, paragraphText, sentenceExtractor, builder);
-                    }
-                    return;
-                }
-            }
+            return;
+        }
+        int start = 0;
+        for (int periodPosition : periodPositions) {
+            lineOffset = addSentence(lineOffset, paragraphText.substring(start, periodPosition + 1), sentenceExtractor, builder);
+            start = periodPosition + 1;
+        }
+        if (start < paragraphText.length()) {
+            addSentence(lineOffset, paragraphText.substring(start), sentenceExtractor, builder);
         }
     }
 
@@ -18,6 +18,7 @@
 package cc.redpen.parser;
 
 import cc.redpen.parser.asciidoc.AsciiDocParser;
+import cc.redpen.parser.markdown.CommonMarkParser;
 import cc.redpen.parser.rest.ReSTParser;
 import cc.redpen.parser.review.ReVIEWParser;
 
@@ -26,6 +27,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * This class wraps a buffered reader. It looks for preprocessor instructions in the input text and
@@ -38,10 +40,56 @@ public class PreprocessingReader implements AutoCloseable {
     private int lineNumber = 0;
     private PreprocessorRule lastRule = null;
     private DocumentParser parser = null;
+    private final CommentDirective commentDirective;
+    private final boolean asciiDoc;
+
+    /**
+     * Suppress directives written as comments, recognized with precompiled patterns. Lines not starting with one
+     * of the possible first characters of a directive are rejected before any pattern is tried.
+     */
+    private static final class CommentDirective {
+        private final String firstCharacters;
+        private final Pattern directive;
+        // parts of the line removed to get the rule
+        private final Pattern markers;
+        private final int gap;
+
+        private CommentDirective(String firstCharacters, String directive, String markers, int gap) {
+            this.firstCharacters = firstCharacters;
+            this.directive = Pattern.compile(directive);
+            this.markers = Pattern.compile(markers);
+            this.gap = gap;
+        }
+
+        private boolean matches(String line) {
+            return !line.isEmpty() && firstCharacters.indexOf(line.charAt(0)) >= 0 && directive.matcher(line).matches();
+        }
+
+        private String ruleText(String line) {
+            return markers.matcher(line).replaceAll("").trim();
+        }
+    }
+
+    private static final CommentDirective MARKDOWN = new CommentDirective(" <", "^ *<!-- *@suppress (.*)-->", "^ *<!--|-->", 0);
+    private static final CommentDirective REVIEW = new CommentDirective("#", "^#@# *@suppress(.*)", "^#@#", 0);
+    private static final CommentDirective LATEX = new CommentDirective("%", "^% *@suppress(.*)", "^%", 0);
+    private static final CommentDirective REST = new CommentDirective(".", "[.][.] *@suppress(.*)", "[.][.]", 3);
 
     public PreprocessingReader(Reader reader, DocumentParser parser) {
         this.reader = new BufferedReader(reader);
         this.parser = parser;
+        if (parser instanceof MarkdownParser || parser instanceof CommonMarkParser) {
+            commentDirective = MARKDOWN;
+        } else if (parser instanceof ReVIEWParser) {
+            commentDirective = REVIEW;
+        } else if (parser instanceof LaTeXParser) {
+            commentDirective = LATEX;
+        } else if (parser instanceof ReSTParser) {
+            commentDirective = REST;
+        } else {
+            commentDirective = null;
+        }
+        asciiDoc = parser instanceof AsciiDocParser;
     }
 
     @Override
@@ -54,40 +102,14 @@ public class PreprocessingReader implements AutoCloseable {
         lineNumber++;
         if (line == null) { return line; }
 
-        String ruleText = line;
-        if (parser instanceof AsciiDocParser) {
-            if (ruleText.toLowerCase().startsWith("[suppress")) {
-                addAsciiDocAttributeSuppressRule(ruleText);
-                return "";
-            }
-        } else if (parser instanceof MarkdownParser) {
-            if (ruleText.matches("^ *<!-- *@suppress (.*)-->")) {
-                ruleText = line
-                        .replaceAll("^ *<!--", "")
-                        .replaceAll("-->", "")
-                        .trim();
-                addCommentSuppressRule(ruleText);
-            }
-        } else if (parser instanceof ReVIEWParser) {
-            if (ruleText.matches("^#@# *@suppress(.*)")) {
-                ruleText = line
-                        .replaceAll("^#@#", "")
-                        .trim();
-                addCommentSuppressRule(ruleText);
+        if (commentDirective != null) {
+            if (commentDirective.matches(line)) {
+                addCommentSuppressRule(commentDirective.ruleText(line), commentDirective.gap);
             }
-        } else if (parser instanceof LaTeXParser) {
-            if (ruleText.matches("^% *@suppress(.*)")) {
-                ruleText = line
-                        .replaceAll("^%", "")
-                        .trim();
-                addCommentSuppressRule(ruleText);
-            }
-        }  else if (parser instanceof ReSTParser) {
-            if (ruleText.matches("[.][.] *@suppress(.*)")) {
-                ruleText = line
-                        .replaceAll("[.][.]", "")
-                        .trim();
-                addCommentSuppressRule(ruleText, 3);
+        } else if (asciiDoc) {
+            if (line.regionMatches(true, 0, "[suppress", 0, 9)) {
+                addAsciiDocAttributeSuppressRule(line);
+                return "";
             }
         }
         return line;
@@ -109,10 +131,6 @@ public class PreprocessingReader implements AutoCloseable {
         preprocessorRules.add(rule);
     }
 
-    private void addCommentSuppressRule(String ruleString) {
-        addCommentSuppressRule(ruleString, 0);
-    }
-
     private void addCommentSuppressRule(String ruleString, int gap) {
         PreprocessorRule rule = new PreprocessorRule(PreprocessorRule.RuleType.SUPPRESS, lineNumber + gap);
         if (lastRule != null) { lastRule.setLineNumberLimit(lineNumber); }
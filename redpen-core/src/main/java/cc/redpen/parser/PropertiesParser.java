@@ -7,8 +7,6 @@ import cc.redpen.tokenizer.RedPenTokenizer;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -47,21 +45,21 @@ class PropertiesParser extends BaseDocumentParser {
     private void addSentences(Document.DocumentBuilder builder, SentenceExtractor sentenceExtractor, ValueWithOffsets value) {
         if (value == null) return;
         String text = value.getContent();
-        List<LineOffset> offsets = value.getOffsetMap();
+        LineOffsetTable offsets = LineOffsetTable.of(value.getOffsetMap());
         builder.addSection(0).addParagraph();
         while (text.length() > 0) {
             int end = sentenceExtractor.getSentenceEndPosition(text) + 1;
             if (end == 0) end = text.length();
-            builder.addSentence(new Sentence(text.substring(0, end), offsets.subList(0, end), emptyList()));
+            builder.addSentence(new Sentence(text.substring(0, end), offsets.copyRange(0, end), emptyList()));
             text = text.substring(end, text.length());
-            offsets = offsets.subList(end, offsets.size());
+            offsets = offsets.copyRange(end, offsets.size());
         }
     }
 
     private ValueWithOffsets section(String line, AtomicInteger lineNum, int valueStart, PreprocessingReader reader) throws IOException {
         int length = line.length();
         StringBuilder value = new StringBuilder(length);
-        List<LineOffset> offsets = new ArrayList<>(length);
+        LineOffsetTable offsets = new LineOffsetTable();
         for (int i = valueStart; i < length; i++) {
             char c = line.charAt(i);
             int offset = i;
@@ -70,7 +68,7 @@ class PropertiesParser extends BaseDocumentParser {
                     lineNum.incrementAndGet();
                     line = reader.readLine();
                     valueStart = skipWhitespace(line, 0);
-                    offsets.add(new LineOffset(lineNum.get(), valueStart));
+                    offsets.append(lineNum.get(), valueStart);
                     Sentence nextLine = section(line, lineNum, valueStart, reader);
                     if (nextLine == null) continue;
                     value.append('\n').append(nextLine.getContent());
@@ -90,7 +88,7 @@ class PropertiesParser extends BaseDocumentParser {
                 }
             }
             value.append(c);
-            offsets.add(new LineOffset(lineNum.get(), offset));
+            offsets.append(lineNum.get(), offset);
         }
         return value.length() == 0 ? null : new ValueWithOffsets(value.toString(), offsets);
     }
@@ -26,6 +26,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -40,7 +41,6 @@ public class SentenceExtractor {
     private Pattern fullStopPattern;
     private char[] fullStopList;
     private char[] rightQuotationList;
-    // TODO make white words configurable.
     private static final List<String> WHITE_WORDS = generateUmList("Mr.",
             "Mrs.", "Dr.", "genn.ai", "Co., Ltd.", "Miss.", "a.m.",
             "U.S.A.", "Jan.", "Feb.", "Mar.", "Apr.",
@@ -65,7 +65,18 @@ public class SentenceExtractor {
      * @param symbolTable symbolTable
      */
     public SentenceExtractor(SymbolTable symbolTable) {
-        this(extractPeriods(symbolTable), extractRightQuotations(symbolTable));
+        this(symbolTable, Collections.emptyList());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param symbolTable symbolTable
+     * @param whiteWords  words containing end of sentence characters which do not end sentences, such as
+     *                    abbreviations, in addition to the default ones
+     */
+    public SentenceExtractor(SymbolTable symbolTable, List<String> whiteWords) {
+        this(extractPeriods(symbolTable), extractRightQuotations(symbolTable), whiteWords);
         this.symbolTable = symbolTable;
     }
 
@@ -73,11 +84,20 @@ public class SentenceExtractor {
      * Constructor.
      */
     SentenceExtractor(char[] fullStopList, char[] rightQuotationList) {
+        this(fullStopList, rightQuotationList, Collections.emptyList());
+    }
+
+    private SentenceExtractor(char[] fullStopList, char[] rightQuotationList, List<String> whiteWords) {
         this.fullStopList = fullStopList;
         this.rightQuotationList = rightQuotationList;
         this.fullStopPattern = this.constructEndSentencePattern();
+        List<String> words = WHITE_WORDS;
+        if (!whiteWords.isEmpty()) {
+            words = new ArrayList<>(WHITE_WORDS);
+            words.addAll(whiteWords);
+        }
         this.endOfSentenceDetector = new EndOfSentenceDetector(
-                this.fullStopPattern, WHITE_WORDS);
+                this.fullStopList, this.rightQuotationList, words);
     }
 
     private static char[] extractPeriods(SymbolTable symbolTable) {
@@ -132,15 +152,23 @@ public class SentenceExtractor {
      */
     public int extract(String line, List<Pair<Integer, Integer>> sentencePositions) {
         int startPosition = 0;
-        int periodPosition = endOfSentenceDetector.getSentenceEndPosition(line, 0);
-        while (periodPosition >= 0) {
+        for (int periodPosition : getSentenceEndPositions(line)) {
             sentencePositions.add(new Pair<>(startPosition, periodPosition + 1));
             startPosition = periodPosition + 1;
-            periodPosition = endOfSentenceDetector.getSentenceEndPosition(line, startPosition);
         }
         return startPosition;
     }
 
+    /**
+     * Given string, return the end positions of all the sentences in a single scan.
+     *
+     * @param str input string
+     * @return positions of the full stops ending sentences, in ascending order
+     */
+    public int[] getSentenceEndPositions(CharSequence str) {
+        return endOfSentenceDetector.getSentenceEndPositions(str, 0);
+    }
+
     /**
      * Given string, return sentence end position.
      *
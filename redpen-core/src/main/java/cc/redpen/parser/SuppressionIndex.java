@@ -0,0 +1,202 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.parser;
+
+import cc.redpen.model.*;
+
+import java.util.*;
+
+/**
+ * The {@link PreprocessorRule.RuleType#SUPPRESS SUPPRESS} rules of a document compiled into ranges of lines.
+ * <p>
+ * A rule suppresses the errors from its line to the end of the section it is in, or to its line number limit when
+ * it has one. The ranges are grouped by the validators the rules apply to, so whether an error is suppressed is
+ * found with a binary search, with the same result as {@link PreprocessorRule#isTriggeredBy} for each rule.
+ */
+public final class SuppressionIndex {
+    private final LineRanges allValidators;
+    private final Map<String, LineRanges> validators;
+
+    /**
+     * Compile the rules of the given document.
+     *
+     * @param document document with preprocessor rules
+     */
+    public SuppressionIndex(Document document) {
+        Set<PreprocessorRule> rules = document.getPreprocessorRules();
+        if (rules == null || rules.isEmpty()) {
+            allValidators = new LineRanges();
+            validators = Collections.emptyMap();
+            return;
+        }
+        SectionEnds sectionEnds = new SectionEnds(document);
+        LineRanges all = new LineRanges();
+        Map<String, LineRanges> named = new HashMap<>();
+        for (PreprocessorRule rule : rules) {
+            if (rule.getRuleType() != PreprocessorRule.RuleType.SUPPRESS) {
+                continue;
+            }
+            int start = rule.getLineNumber();
+            int end = sectionEnds.endOfSectionAt(start);
+            if (rule.getLineNumberLimit() >= start) {
+                end = Math.min(end, rule.getLineNumberLimit() - 1);
+            }
+            if (end < start) {
+                continue;
+            }
+            if (rule.getParameters().isEmpty()) {
+                all.add(start, end);
+            } else {
+                for (String parameter : rule.getParameters()) {
+                    named.computeIfAbsent(parameter, key -> new LineRanges()).add(start, end);
+                }
+            }
+        }
+        all.build();
+        named.values().forEach(LineRanges::build);
+        allValidators = all;
+        validators = named;
+    }
+
+    /**
+     * Return true if an error of the given validator on the given line is suppressed.
+     *
+     * @param lineNumber    line number of the error
+     * @param validatorName name of the validator reporting the error
+     * @return true when the error is suppressed
+     */
+    public boolean isSuppressed(int lineNumber, String validatorName) {
+        if (allValidators.contains(lineNumber)) {
+            return true;
+        }
+        if (validators.isEmpty()) {
+            return false;
+        }
+        String name = validatorName.toLowerCase();
+        if (name.endsWith(".js")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        LineRanges ranges = validators.get(name);
+        return ranges != null && ranges.contains(lineNumber);
+    }
+
+    /**
+     * Lines covered by the sections of a document: the first and last line of the sentences of each section.
+     */
+    private static final class SectionEnds {
+        private final int[] starts;
+        // the last line of the sections starting before or at the corresponding start
+        private final int[] maxEnds;
+
+        private SectionEnds(Document document) {
+            List<int[]> ranges = new ArrayList<>();
+            for (Section section : document) {
+                int[] range = {Integer.MAX_VALUE, 0};
+                section.getHeaderContents().forEach(sentence -> include(range, sentence));
+                for (Paragraph paragraph : section.getParagraphs()) {
+                    paragraph.getSentences().forEach(sentence -> include(range, sentence));
+                }
+                for (ListBlock listBlock : section.getListBlocks()) {
+                    for (ListElement element : listBlock.getListElements()) {
+                        element.getSentences().forEach(sentence -> include(range, sentence));
+                    }
+                }
+                if (range[0] <= range[1]) {
+                    ranges.add(range);
+                }
+            }
+            ranges.sort(Comparator.comparingInt(range -> range[0]));
+            starts = new int[ranges.size()];
+            maxEnds = new int[ranges.size()];
+            for (int i = 0; i < ranges.size(); i++) {
+                starts[i] = ranges.get(i)[0];
+                maxEnds[i] = Math.max(ranges.get(i)[1], i > 0 ? maxEnds[i - 1] : 0);
+            }
+        }
+
+        private static void include(int[] range, Sentence sentence) {
+            range[0] = Math.min(range[0], sentence.getLineNumber());
+            range[1] = Math.max(range[1], sentence.getLineNumber());
+        }
+
+        /**
+         * @return the last line of the sections covering the given line, or -1 if there are none
+         */
+        private int endOfSectionAt(int line) {
+            int index = lastAtOrBefore(starts, starts.length, line);
+            // the section ending last among the ones starting before the line covers it, if any does
+            return index >= 0 && maxEnds[index] >= line ? maxEnds[index] : -1;
+        }
+    }
+
+    /**
+     * Ranges of lines, possibly overlapping.
+     */
+    private static final class LineRanges {
+        private int size;
+        private int[] starts = new int[4];
+        private int[] ends = new int[4];
+
+        private void add(int start, int end) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+
+        /**
+         * Sort the ranges by their start, and replace each end by the last line of the ranges starting before.
+         */
+        private void build() {
+            long[] ranges = new long[size];
+            for (int i = 0; i < size; i++) {
+                ranges[i] = ((long) starts[i] << 32) | (ends[i] & 0xffffffffL);
+            }
+            Arrays.sort(ranges);
+            for (int i = 0; i < size; i++) {
+                starts[i] = (int) (ranges[i] >> 32);
+                ends[i] = Math.max((int) ranges[i], i > 0 ? ends[i - 1] : Integer.MIN_VALUE);
+            }
+        }
+
+        private boolean contains(int line) {
+            int index = lastAtOrBefore(starts, size, line);
+            return index >= 0 && ends[index] >= line;
+        }
+    }
+
+    /**
+     * @return index of the last of the first length values that is less than or equal to the key, -1 if none
+     */
+    private static int lastAtOrBefore(int[] sorted, int length, int key) {
+        int low = 0;
+        int high = length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+}
@@ -199,20 +199,20 @@ class WikiParser extends BaseDocumentParser {
 
     private void removeTags(Sentence sentence) {
         String content = sentence.getContent();
-        List<LineOffset> offsets = new ArrayList<>(sentence.getOffsetMap());
+        LineOffsetTable offsets = new LineOffsetTable(sentence.getOffsetMap());
         for (Pattern inlinePattern : INLINE_PATTERNS) {
             Matcher m = inlinePattern.matcher(content);
             StringBuffer sb = new StringBuffer();
-            List<LineOffset> o = new ArrayList<>(sentence.getOffsetMap().size());
+            LineOffsetTable o = new LineOffsetTable();
             int lastPos = 0;
             while (m.find()) {
                 m.appendReplacement(sb, "$1");
-                o.addAll(offsets.subList(lastPos, m.start()));
-                o.addAll(offsets.subList(m.start(1), m.end(1)));
+                o.addAll(offsets.copyRange(lastPos, m.start()));
+                o.addAll(offsets.copyRange(m.start(1), m.end(1)));
                 lastPos = m.end();
             }
             m.appendTail(sb);
-            o.addAll(offsets.subList(lastPos, offsets.size()));
+            o.addAll(offsets.copyRange(lastPos, offsets.size()));
             content = sb.toString();
             offsets = o;
         }
@@ -222,15 +222,16 @@ class WikiParser extends BaseDocumentParser {
 
     private void extractLinks(Sentence sentence) {
         StringBuilder modContent = new StringBuilder();
-        List<LineOffset> modOffsets = new ArrayList<>();
+        LineOffsetTable offsets = LineOffsetTable.of(sentence.getOffsetMap());
+        List<LineOffset> modOffsets = new LineOffsetTable();
         int start = 0;
         Matcher m = LINK_PATTERN.matcher(sentence.getContent());
         while (m.find()) {
             modContent.append(sentence.getContent().substring(start, m.start()));
-            modOffsets.addAll(sentence.getOffsetMap().subList(start, m.start()));
+            modOffsets.addAll(offsets.copyRange(start, m.start()));
 
             modContent.append(sentence.getContent().substring(m.start(1), m.end(1)));
-            modOffsets.addAll(sentence.getOffsetMap().subList(m.start(1), m.end(1)));
+            modOffsets.addAll(offsets.copyRange(m.start(1), m.end(1)));
 
             if (m.start(2) < 0)
                 sentence.addLink(sentence.getContent().substring(m.start(1), m.end(1)));
@@ -241,7 +242,7 @@ class WikiParser extends BaseDocumentParser {
 
         if (start > 0) {
             modContent.append(sentence.getContent().substring(start, sentence.getContent().length()));
-            modOffsets.addAll(sentence.getOffsetMap().subList(start, sentence.getContent().length()));
+            modOffsets.addAll(offsets.copyRange(start, sentence.getContent().length()));
             sentence.setContent(modContent.toString());
             sentence.setOffsetMap(modOffsets);
         }
@@ -50,7 +50,7 @@ public class AsciiDocLine extends Line {
                     escaped.add(false);
                 }
 
-                offsets.add(i);
+                addOffset(i);
                 characters.add(ch);
                 valid.add(true);
 
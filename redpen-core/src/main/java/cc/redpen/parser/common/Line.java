@@ -19,14 +19,16 @@
 package cc.redpen.parser.common;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class Line {
     // value returned for comparison if a character is escaped
     static final char ESCAPED_CHARACTER_VALUE = 'ø';
 
-    // a list of offsets for each character
-    protected List<Integer> offsets = new ArrayList<>();
+    // offsets for each character, the first offsetCount entries are used
+    private int[] offsets = new int[16];
+    private int offsetCount = 0;
     // the character list for the line
     protected List<Character> characters = new ArrayList<>();
     // the text of the line
@@ -212,16 +214,28 @@ public class Line {
      */
     public int getOffset(int i) {
         if (i >= 0) {
-            if (i < offsets.size()) {
-                return offsets.get(i);
+            if (i < offsetCount) {
+                return offsets[i];
             }
             else {
-                return offsets.size();
+                return offsetCount;
             }
         }
         return 0;
     }
 
+    /**
+     * Add the offset of the next character
+     *
+     * @param offset offset of the character in the source line
+     */
+    protected void addOffset(int offset) {
+        if (offsetCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsetCount * 2);
+        }
+        offsets[offsetCount++] = offset;
+    }
+
     /**
      * Is this line a repeating set of the same character?
      *
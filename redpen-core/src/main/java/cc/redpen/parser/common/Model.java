@@ -18,7 +18,7 @@
 package cc.redpen.parser.common;
 
 import cc.redpen.model.Sentence;
-import cc.redpen.parser.LineOffset;
+import cc.redpen.parser.LineOffsetTable;
 import cc.redpen.parser.PreprocessorRule;
 import cc.redpen.parser.SentenceExtractor;
 
@@ -146,19 +146,19 @@ public class Model {
         List<Sentence> sentences = new ArrayList<>();
 
         String content = "";
-        List<LineOffset> offsets = new ArrayList<>();
+        LineOffsetTable offsets = new LineOffsetTable();
         for (int ln = 0; ln < lines.size(); ln++) {
             Line line = lines.get(ln);
 
             for (int i = 0; i < line.length(); i++) {
                 if (line.isValid(i)) {
                     content += line.rawCharAt(i);
-                    offsets.add(new LineOffset(line.getLineNo(), line.getOffset(i)));
+                    offsets.append(line.getLineNo(), line.getOffset(i));
                     // check for end of sentence
                     if (sentenceExtractor.getSentenceEndPosition("" + line.rawCharAt(i)) != -1) {
                         sentences.add(new Sentence(content, offsets, Collections.EMPTY_LIST));
                         content = "";
-                        offsets = new ArrayList<>();
+                        offsets = new LineOffsetTable();
                     }
                 }
             }
@@ -166,7 +166,7 @@ public class Model {
             if ((lines.size() > 1) && (ln != lines.size() - 1)) {
                 for (char c : sentenceExtractor.getBrokenLineSeparator().toCharArray()) {
                     content += c;
-                    offsets.add(new LineOffset(line.getLineNo(), line.getOffset(line.length())));
+                    offsets.append(line.getLineNo(), line.getOffset(line.length()));
                 }
             }
         }
@@ -21,6 +21,7 @@ import cc.redpen.model.Paragraph;
 import cc.redpen.model.Section;
 import cc.redpen.model.Sentence;
 import cc.redpen.parser.LineOffset;
+import cc.redpen.parser.LineOffsetTable;
 import cc.redpen.parser.SentenceExtractor;
 import cc.redpen.parser.markdown.CandidateSentence;
 import cc.redpen.parser.markdown.MergedCandidateSentence;
@@ -85,15 +86,15 @@ public class LaTeXProcessor {
 
             for (Pair<Integer, Integer> sentencePosition : sentencePositions) {
                 List<LineOffset> offsetMap =
-                    mergedCandidateSentence.getOffsetMap().subList(sentencePosition.first,
-                                                                   sentencePosition.second);
+                    LineOffsetTable.of(mergedCandidateSentence.getOffsetMap()).copyRange(sentencePosition.first,
+                                                                                         sentencePosition.second);
                 outputSentences.add(new Sentence(line.substring(
                                                      sentencePosition.first, sentencePosition.second), offsetMap,
                                                  mergedCandidateSentence.getRangedLinks(sentencePosition.first, sentencePosition.second - 1)));
             }
             if (lastPosition < mergedCandidateSentence.getContents().length()) {
-                List<LineOffset> offsetMap = mergedCandidateSentence.getOffsetMap().subList(lastPosition,
-                                                                                            mergedCandidateSentence.getContents().length());
+                List<LineOffset> offsetMap = LineOffsetTable.of(mergedCandidateSentence.getOffsetMap()).copyRange(lastPosition,
+                                                                                                                  mergedCandidateSentence.getContents().length());
                 outputSentences.add(new Sentence(line.substring(
                                                      lastPosition, mergedCandidateSentence.getContents().length()),
                                                  offsetMap,
@@ -17,6 +17,7 @@
  */
 package cc.redpen.parser.latex;
 
+import cc.redpen.parser.LineIndex;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
@@ -299,8 +300,15 @@ public class StreamParser {
                     if ("TEXTILE".equals(t.t)) {
                         if (!EMPTY.matcher(t.v).matches()) {
                             final String stripped = stripTextBlock(t.v);
+                            final LineIndex lines = LineIndex.of(t.v);
+                            int from = 0;
                             for (String s : LINEBREAK.split(stripped)) {
-                                final Position p = new Position(_guessRow(t, s), _guessCol(t, s));
+                                // the blocks are found in the order they appear in the token
+                                final int lead = t.v.indexOf(s, from);
+                                if (lead >= 0) {
+                                    from = lead + s.length();
+                                }
+                                final Position p = new Position(_guessRow(t, lines, lead), _guessCol(t, lines, lead));
                                 o.add(new Token(t.t, maskCharactersInTextBlock(s), p));
                                 o.add(new Token(t.t, Token.BLANK_LINE, p));
                             }
@@ -350,20 +358,26 @@ public class StreamParser {
         }
 
         public static int _guessRow(final Token t, final String needle) {
-            final int lead = t.v.indexOf(needle);
+            return _guessRow(t, LineIndex.of(t.v), t.v.indexOf(needle));
+        }
+
+        public static int _guessRow(final Token t, final LineIndex lines, final int lead) {
             if (lead >= 0) {
-                return t.pos.row + countMatches(Pattern.compile("\\r?\\n"), t.v.substring(0, lead));
+                return t.pos.row + lines.getLine(lead);
             } else {
                 return t.pos.row;
             }
         }
 
         public static int _guessCol(final Token t, final String needle) {
-            final int lead = t.v.indexOf(needle);
+            return _guessCol(t, LineIndex.of(t.v), t.v.indexOf(needle));
+        }
+
+        public static int _guessCol(final Token t, final LineIndex lines, final int lead) {
             if (lead >= 0) {
-                final int lastLinebreak = t.v.substring(0, lead).lastIndexOf("\n");
-                if (lastLinebreak >= 0) {
-                    return 0 + (lead - (lastLinebreak + 1));
+                final int line = lines.getLine(lead);
+                if (line > 0) {
+                    return lead - lines.getLineStart(line);
                 } else {
                     return t.pos.col + lead;
                 }
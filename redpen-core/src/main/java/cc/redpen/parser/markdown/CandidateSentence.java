@@ -18,8 +18,8 @@
 package cc.redpen.parser.markdown;
 
 import cc.redpen.parser.LineOffset;
+import cc.redpen.parser.LineOffsetTable;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -48,10 +48,11 @@ final public class CandidateSentence {
         this.content = content;
         this.link = link;
         this.startPositionOffset = positionOffset;
-        this.offsetMap = new ArrayList<>();
+        LineOffsetTable offsetMap = new LineOffsetTable();
         for (int i = 0; i < content.length(); i++) {
-            offsetMap.add(new LineOffset(lineNum, positionOffset+i));
+            offsetMap.append(lineNum, positionOffset+i);
         }
+        this.offsetMap = offsetMap;
     }
 
     public List<LineOffset> getOffsetMap() {
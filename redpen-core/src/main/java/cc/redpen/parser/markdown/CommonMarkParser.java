@@ -0,0 +1,532 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.parser.markdown;
+
+import cc.redpen.RedPenException;
+import cc.redpen.model.Document;
+import cc.redpen.model.Section;
+import cc.redpen.model.Sentence;
+import cc.redpen.parser.BaseDocumentParser;
+import cc.redpen.parser.PreprocessingReader;
+import cc.redpen.parser.SentenceExtractor;
+import cc.redpen.parser.markdown.InlineParser.SourceLine;
+import cc.redpen.tokenizer.RedPenTokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+import static cc.redpen.parser.ParserUtils.addChild;
+
+/**
+ * Markdown parser reading a document line by line in linear time.
+ * <p>
+ * The blocks are recognized the way CommonMark does, with a single line of look behind, and are added to the
+ * document as soon as they end; only the lines of the current paragraph or list are kept. The document has the
+ * same sections, paragraphs, lists and sentence offsets as with {@link cc.redpen.parser.DocumentParser#MARKDOWN},
+ * whose pegdown grammar is followed where it differs from CommonMark:
+ * <ul>
+ * <li>a paragraph goes on until a blank line, an ATX header, a block quote or a setext underline, which
+ * makes a header of its last line only;</li>
+ * <li>list items are nested by 4 columns, and items separated by blank lines are paragraphs;</li>
+ * <li>tables, code blocks, block quotes, html blocks and images are skipped, and references are not resolved.</li>
+ * </ul>
+ */
+public class CommonMarkParser extends BaseDocumentParser {
+    private static final Logger LOG = LoggerFactory.getLogger(CommonMarkParser.class);
+
+    private static final Set<String> HTML_BLOCK_TAGS = new HashSet<>(Arrays.asList(
+            "address", "article", "aside", "blockquote", "center", "dd", "details", "dir", "div", "dl", "dt",
+            "fieldset", "figcaption", "figure", "footer", "form", "h1", "h2", "h3", "h4", "h5", "h6", "header",
+            "hr", "iframe", "li", "menu", "nav", "noscript", "ol", "p", "pre", "script", "section", "style",
+            "summary", "table", "tbody", "td", "tfoot", "th", "thead", "tr", "ul"));
+
+    public CommonMarkParser() {
+        super();
+    }
+
+    @Override
+    protected Document parse(InputStream inputStream, Optional<String> fileName, SentenceExtractor sentenceExtractor,
+                             RedPenTokenizer tokenizer) throws RedPenException {
+        Document.DocumentBuilder documentBuilder = Document.builder(tokenizer);
+        fileName.ifPresent(documentBuilder::setFileName);
+
+        try (PreprocessingReader br = createReader(inputStream)) {
+            BlockParser blocks = new BlockParser(documentBuilder, sentenceExtractor);
+            String line;
+            int lineNumber = 0;
+            while ((line = br.readLine()) != null) {
+                blocks.addLine(line, ++lineNumber);
+            }
+            blocks.finish();
+            documentBuilder.setPreprocessorRules(br.getPreprocessorRules());
+        } catch (IOException e) {
+            throw new RedPenException(e);
+        }
+        return documentBuilder.build();
+    }
+
+    private enum State {
+        NONE, PARAGRAPH, LIST, QUOTE, CODE, FENCE, HTML
+    }
+
+    /**
+     * Blocks of a document being parsed.
+     */
+    private static final class BlockParser {
+        private final Document.DocumentBuilder builder;
+        private final InlineParser inlineParser;
+        private State state = State.NONE;
+        private final List<SourceLine> paragraph = new ArrayList<>();
+        // closing fence of a fenced code block, or whether an html block is a comment
+        private char fenceCharacter;
+        private int fenceLength;
+        private boolean htmlComment;
+        // items of the current list, whose type is the type of its first item
+        private final List<ListItem> items = new ArrayList<>();
+        private boolean ordered;
+        private boolean blankInList;
+        private boolean loose;
+
+        private BlockParser(Document.DocumentBuilder builder, SentenceExtractor sentenceExtractor) {
+            this.builder = builder;
+            this.inlineParser = new InlineParser(sentenceExtractor);
+        }
+
+        private void addLine(String line, int lineNumber) {
+            if (state == State.FENCE) {
+                if (isClosingFence(line)) {
+                    state = State.NONE;
+                }
+                return;
+            }
+            if (state == State.HTML) {
+                if (htmlComment ? line.contains("-->") : isBlank(line)) {
+                    state = State.NONE;
+                }
+                return;
+            }
+            if (isBlank(line)) {
+                closeParagraph();
+                if (state == State.LIST) {
+                    blankInList = true;
+                } else {
+                    state = State.NONE;
+                }
+                return;
+            }
+            int start = skipSpaces(line);
+            int indent = columns(line, start);
+            if (state == State.LIST) {
+                if (continueList(line, lineNumber, start, indent)) {
+                    return;
+                }
+                closeList();
+            }
+            if (state == State.QUOTE) {
+                // lazy continuation of the quote
+                return;
+            }
+            if (state == State.CODE) {
+                if (indent >= 4) {
+                    return;
+                }
+                state = State.NONE;
+            }
+            if (state == State.PARAGRAPH) {
+                continueParagraph(line, lineNumber, start, indent);
+            } else {
+                startBlock(line, lineNumber, start, indent);
+            }
+        }
+
+        private void finish() {
+            closeParagraph();
+            if (state == State.LIST) {
+                closeList();
+            }
+        }
+
+        private void continueParagraph(String line, int lineNumber, int start, int indent) {
+            if (indent < 4) {
+                int level = atxLevel(line, start);
+                if (level > 0) {
+                    closeParagraph();
+                    addHeader(level, atxContent(line, lineNumber, start + level));
+                    return;
+                }
+                if (line.charAt(start) == '>') {
+                    closeParagraph();
+                    state = State.QUOTE;
+                    return;
+                }
+                level = setextLevel(line, start);
+                if (level > 0) {
+                    // only the last line of the paragraph is the header
+                    SourceLine header = paragraph.remove(paragraph.size() - 1);
+                    closeParagraph();
+                    trimEnd(header);
+                    addHeader(level, Collections.singletonList(header));
+                    return;
+                }
+            }
+            paragraph.add(new SourceLine(line, lineNumber, start));
+        }
+
+        private void startBlock(String line, int lineNumber, int start, int indent) {
+            state = State.NONE;
+            if (indent >= 4) {
+                state = State.CODE;
+                return;
+            }
+            int level = atxLevel(line, start);
+            if (level > 0) {
+                addHeader(level, atxContent(line, lineNumber, start + level));
+                return;
+            }
+            char first = line.charAt(start);
+            if (first == '>') {
+                state = State.QUOTE;
+            } else if (isOpeningFence(line, start)) {
+                state = State.FENCE;
+            } else if (isHtmlBlockStart(line, start)) {
+                htmlComment = line.startsWith("<!--", start);
+                if (!htmlComment || !line.substring(start + 4).contains("-->")) {
+                    state = State.HTML;
+                }
+            } else if (isHorizontalRule(line, start)) {
+                // nothing to validate
+            } else if (listMarkerEnd(line, start) > 0) {
+                startList(line, lineNumber, start);
+            } else if (!isReferenceDefinition(line, start)) {
+                state = State.PARAGRAPH;
+                paragraph.add(new SourceLine(line, lineNumber, start));
+            }
+        }
+
+        private void closeParagraph() {
+            if (state == State.PARAGRAPH) {
+                state = State.NONE;
+            }
+            if (paragraph.isEmpty()) {
+                return;
+            }
+            if (!isTable(paragraph)) {
+                trimEnd(paragraph.get(paragraph.size() - 1));
+                builder.addParagraph();
+                inlineParser.parse(paragraph).forEach(builder::addSentence);
+            }
+            paragraph.clear();
+        }
+
+        private void addHeader(int level, List<SourceLine> lines) {
+            List<Sentence> headerContents = inlineParser.parse(lines);
+            // To deal with a header content as a paragraph
+            if (headerContents.size() > 0) {
+                headerContents.get(0).setIsFirstSentence(true);
+            }
+            Section currentSection = builder.getLastSection();
+            builder.appendSection(new Section(level, headerContents));
+            if (!addChild(currentSection, builder.getLastSection())) {
+                LOG.warn("Failed to add parent for a Section");
+            }
+        }
+
+        private List<SourceLine> atxContent(String line, int lineNumber, int markerEnd) {
+            SourceLine content = new SourceLine(line, lineNumber, skipSpaces(line, markerEnd));
+            trimEnd(content);
+            // closing sequence of '#'
+            int end = content.end;
+            while (end > content.start && line.charAt(end - 1) == '#') {
+                end--;
+            }
+            if (end == content.start || line.charAt(end - 1) == ' ' || line.charAt(end - 1) == '\t') {
+                content.end = end;
+                trimEnd(content);
+            }
+            return Collections.singletonList(content);
+        }
+
+        private void startList(String line, int lineNumber, int start) {
+            state = State.LIST;
+            ordered = Character.isDigit(line.charAt(start));
+            blankInList = false;
+            loose = false;
+            items.add(new ListItem(1, new SourceLine(line, lineNumber, listMarkerEnd(line, start))));
+        }
+
+        /**
+         * @return false when the line ends the list
+         */
+        private boolean continueList(String line, int lineNumber, int start, int indent) {
+            if (isHorizontalRule(line, start)) {
+                return false;
+            }
+            ListItem last = items.get(items.size() - 1);
+            int markerEnd = listMarkerEnd(line, start);
+            if (markerEnd > 0) {
+                int level = Math.min(1 + indent / 4, last.level + 1);
+                if (level == 1 && Character.isDigit(line.charAt(start)) != ordered) {
+                    return false;
+                }
+                loose |= blankInList;
+                blankInList = false;
+                items.add(new ListItem(level, new SourceLine(line, lineNumber, markerEnd)));
+                return true;
+            }
+            if (blankInList) {
+                if (indent < 4) {
+                    return false;
+                }
+                // another paragraph of the last item
+                loose = true;
+                blankInList = false;
+                last.paragraphs.add(new ArrayList<>());
+            } else if (indent < 4 && atxLevel(line, start) > 0) {
+                return false;
+            }
+            last.paragraphs.get(last.paragraphs.size() - 1).add(new SourceLine(line, lineNumber, start));
+            return true;
+        }
+
+        private void closeList() {
+            state = State.NONE;
+            if (builder.getLastSection() == null) {
+                List<Sentence> headers = new ArrayList<>();
+                headers.add(new Sentence("", 0));
+                builder.appendSection(new Section(0, headers));
+            }
+            builder.addListBlock();
+            for (int i = 0; i < items.size(); i++) {
+                ListItem item = items.get(i);
+                for (List<SourceLine> lines : item.paragraphs) {
+                    trimEnd(lines.get(lines.size() - 1));
+                }
+                if (loose) {
+                    for (List<SourceLine> lines : item.paragraphs) {
+                        builder.addParagraph();
+                        inlineParser.parse(lines).forEach(builder::addSentence);
+                    }
+                } else {
+                    List<Sentence> sentences = inlineParser.parse(item.paragraphs.get(0));
+                    // an item with nested items is added even without sentences
+                    boolean nested = i + 1 < items.size() && items.get(i + 1).level > item.level;
+                    if (nested || !sentences.isEmpty()) {
+                        builder.addListElement(item.level, sentences);
+                    }
+                }
+            }
+            items.clear();
+        }
+
+        private boolean isClosingFence(String line) {
+            int start = skipSpaces(line);
+            if (columns(line, start) >= 4) {
+                return false;
+            }
+            int end = start;
+            while (end < line.length() && line.charAt(end) == fenceCharacter) {
+                end++;
+            }
+            return end - start >= fenceLength && isBlank(line.substring(end));
+        }
+
+        private boolean isOpeningFence(String line, int start) {
+            char c = line.charAt(start);
+            if (c != '`' && c != '~') {
+                return false;
+            }
+            int end = start;
+            while (end < line.length() && line.charAt(end) == c) {
+                end++;
+            }
+            if (end - start < 3 || (c == '`' && line.indexOf('`', end) >= 0)) {
+                return false;
+            }
+            fenceCharacter = c;
+            fenceLength = end - start;
+            return true;
+        }
+    }
+
+    /**
+     * Item of a list, with its lines grouped by paragraph.
+     */
+    private static final class ListItem {
+        private final int level;
+        private final List<List<SourceLine>> paragraphs = new ArrayList<>();
+
+        private ListItem(int level, SourceLine firstLine) {
+            this.level = level;
+            List<SourceLine> lines = new ArrayList<>();
+            lines.add(firstLine);
+            paragraphs.add(lines);
+        }
+    }
+
+    private static boolean isBlank(String line) {
+        return skipSpaces(line) == line.length();
+    }
+
+    private static int skipSpaces(String line) {
+        return skipSpaces(line, 0);
+    }
+
+    private static int skipSpaces(String line, int from) {
+        int i = from;
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return columns of the whitespace before the given position, with tab stops of 4 columns
+     */
+    private static int columns(String line, int end) {
+        int columns = 0;
+        for (int i = 0; i < end; i++) {
+            columns = line.charAt(i) == '\t' ? (columns / 4 + 1) * 4 : columns + 1;
+        }
+        return columns;
+    }
+
+    private static void trimEnd(SourceLine line) {
+        while (line.end > line.start && Character.isWhitespace(line.text.charAt(line.end - 1))) {
+            line.end--;
+        }
+    }
+
+    /**
+     * @return level of the ATX header starting at the given position, 0 if there is none
+     */
+    private static int atxLevel(String line, int start) {
+        int end = start;
+        while (end < line.length() && line.charAt(end) == '#') {
+            end++;
+        }
+        // like pegdown, the space after the opening sequence is optional
+        return end - start <= 6 ? end - start : 0;
+    }
+
+    private static int setextLevel(String line, int start) {
+        char c = line.charAt(start);
+        if (c != '=' && c != '-') {
+            return 0;
+        }
+        int end = start;
+        while (end < line.length() && line.charAt(end) == c) {
+            end++;
+        }
+        return isBlank(line.substring(end)) ? (c == '=' ? 1 : 2) : 0;
+    }
+
+    private static boolean isHorizontalRule(String line, int start) {
+        char c = line.charAt(start);
+        if (c != '*' && c != '-' && c != '_') {
+            return false;
+        }
+        int count = 0;
+        for (int i = start; i < line.length(); i++) {
+            if (line.charAt(i) == c) {
+                count++;
+            } else if (line.charAt(i) != ' ' && line.charAt(i) != '\t') {
+                return false;
+            }
+        }
+        return count >= 3;
+    }
+
+    /**
+     * @return position of the content after the list marker starting at the given position, 0 if there is none
+     */
+    private static int listMarkerEnd(String line, int start) {
+        int end = start;
+        char c = line.charAt(start);
+        if (c == '*' || c == '-' || c == '+') {
+            end++;
+        } else {
+            while (end < line.length() && end - start < 9 && Character.isDigit(line.charAt(end))) {
+                end++;
+            }
+            if (end == start || end == line.length() || line.charAt(end) != '.') {
+                return 0;
+            }
+            end++;
+        }
+        if (end == line.length() || (line.charAt(end) != ' ' && line.charAt(end) != '\t')) {
+            return 0;
+        }
+        return skipSpaces(line, end);
+    }
+
+    private static boolean isHtmlBlockStart(String line, int start) {
+        if (line.startsWith("<!--", start)) {
+            return true;
+        }
+        if (line.charAt(start) != '<') {
+            return false;
+        }
+        int nameStart = start + 1 < line.length() && line.charAt(start + 1) == '/' ? start + 2 : start + 1;
+        int nameEnd = nameStart;
+        while (nameEnd < line.length() && Character.isLetterOrDigit(line.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        if (nameEnd < line.length() && " \t>/".indexOf(line.charAt(nameEnd)) < 0) {
+            return false;
+        }
+        return HTML_BLOCK_TAGS.contains(line.substring(nameStart, nameEnd).toLowerCase());
+    }
+
+    private static boolean isReferenceDefinition(String line, int start) {
+        if (line.charAt(start) != '[') {
+            return false;
+        }
+        int close = line.indexOf("]:", start + 1);
+        return close > start + 1 && !isBlank(line.substring(close + 2));
+    }
+
+    /**
+     * @return true if every line has a cell separator, and one of them is the divider of a table
+     */
+    private static boolean isTable(List<SourceLine> lines) {
+        boolean divider = false;
+        for (SourceLine line : lines) {
+            if (line.text.indexOf('|', line.start) < 0) {
+                return false;
+            }
+            divider |= isTableDivider(line.text, line.start);
+        }
+        return divider;
+    }
+
+    private static boolean isTableDivider(String line, int start) {
+        boolean dash = false;
+        for (int i = start; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '-') {
+                dash = true;
+            } else if (c != '|' && c != ':' && c != ' ' && c != '\t') {
+                return false;
+            }
+        }
+        return dash;
+    }
+}
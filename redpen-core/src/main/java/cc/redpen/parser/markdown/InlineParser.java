@@ -0,0 +1,561 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.parser.markdown;
+
+import cc.redpen.model.Sentence;
+import cc.redpen.parser.LineIndex;
+import cc.redpen.parser.SentenceExtractor;
+
+import java.util.*;
+
+/**
+ * Parser of the inline Markdown of a block, producing its sentences.
+ * <p>
+ * The lines of the block are parsed in a single pass: the brackets and parentheses are matched beforehand, and
+ * emphasis is resolved with a stack of opening delimiters, so the time taken is linear in the length of the block.
+ * The text is kept as pieces of the block mapped to their lines, which are merged into {@link CandidateSentence}s
+ * and split into sentences the way {@link ToFileContentSerializer} does.
+ */
+final class InlineParser {
+    private static final String ESCAPABLE = "\\`*_{}[]()#+-.!<>|";
+    private static final String[] URL_PREFIXES = {"http://", "https://", "ftp://"};
+    // deeper links are kept as text, so that nested brackets cannot overflow the stack
+    private static final int MAX_DEPTH = 32;
+
+    private final SentenceExtractor sentenceExtractor;
+
+    private List<SourceLine> lines;
+    private String buffer;
+    private LineIndex lineIndex;
+    private int[] matching;
+    // positions of the runs of backticks by their length, and the index of the next run to look at
+    private final Map<Integer, List<Integer>> backtickRuns = new HashMap<>();
+    private final Map<Integer, Integer> backtickRunIndexes = new HashMap<>();
+    private int commentSearchedFrom;
+    private int commentEnd;
+    private final List<Piece> pieces = new ArrayList<>();
+    private final List<Piece> starOpeners = new ArrayList<>();
+    private final List<Piece> underscoreOpeners = new ArrayList<>();
+
+    InlineParser(SentenceExtractor sentenceExtractor) {
+        this.sentenceExtractor = sentenceExtractor;
+    }
+
+    /**
+     * Parse the given lines into sentences.
+     *
+     * @param lines lines of a block, without their block markup
+     * @return sentences of the block
+     */
+    List<Sentence> parse(List<SourceLine> lines) {
+        if (lines.isEmpty()) {
+            return new ArrayList<>();
+        }
+        StringBuilder text = new StringBuilder();
+        for (SourceLine line : lines) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(line.text, line.start, line.end);
+        }
+        this.lines = lines;
+        this.buffer = text.toString();
+        this.lineIndex = LineIndex.of(buffer);
+        prepare();
+        parseRange(0, buffer.length(), 0);
+
+        List<CandidateSentence> candidates = new ArrayList<>(pieces.size());
+        for (Piece piece : pieces) {
+            String content = piece.getContent();
+            if (!content.isEmpty()) {
+                candidates.add(new CandidateSentence(piece.getLineNumber(), content, piece.link, piece.getOffset()));
+            }
+        }
+        pieces.clear();
+        starOpeners.clear();
+        underscoreOpeners.clear();
+        return MergedCandidateSentence.merge(candidates)
+                .map(merged -> merged.extractSentences(sentenceExtractor))
+                .orElseGet(ArrayList::new);
+    }
+
+    /**
+     * Match the brackets and the parentheses, and list the runs of backticks.
+     */
+    private void prepare() {
+        matching = new int[buffer.length()];
+        Arrays.fill(matching, -1);
+        Deque<Integer> brackets = new ArrayDeque<>();
+        Deque<Integer> parentheses = new ArrayDeque<>();
+        backtickRuns.clear();
+        backtickRunIndexes.clear();
+        for (int i = 0; i < buffer.length(); i++) {
+            char c = buffer.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                brackets.push(i);
+            } else if (c == ']' && !brackets.isEmpty()) {
+                matching[brackets.pop()] = i;
+            } else if (c == '(') {
+                parentheses.push(i);
+            } else if (c == ')' && !parentheses.isEmpty()) {
+                matching[parentheses.pop()] = i;
+            } else if (c == '`') {
+                int length = runLength(i, buffer.length());
+                backtickRuns.computeIfAbsent(length, key -> new ArrayList<>()).add(i);
+                i += length - 1;
+            }
+        }
+        commentSearchedFrom = Integer.MAX_VALUE;
+        commentEnd = -1;
+    }
+
+    private void parseRange(int from, int to, int depth) {
+        int starFloor = starOpeners.size();
+        int underscoreFloor = underscoreOpeners.size();
+        int text = from;
+        int i = from;
+        while (i < to) {
+            char c = buffer.charAt(i);
+            int end = -1;
+            if (c == '\\') {
+                if (i + 1 < to && ESCAPABLE.indexOf(buffer.charAt(i + 1)) >= 0) {
+                    // the escaped character is kept as text
+                    addText(text, i);
+                    text = i + 1;
+                    i += 2;
+                    continue;
+                }
+            } else if (c == '`') {
+                end = codeSpan(i, to, text);
+                if (end < 0) {
+                    i += runLength(i, to);
+                    continue;
+                }
+            } else if (c == '*' || c == '_') {
+                int length = runLength(i, to);
+                addText(text, i);
+                delimiterRun(i, i + length, starFloor, underscoreFloor);
+                text = i + length;
+                i = text;
+                continue;
+            } else if (c == '!' && i + 1 < to && buffer.charAt(i + 1) == '[') {
+                end = link(i, i + 1, to, depth, text, true);
+            } else if (c == '[') {
+                end = link(i, i, to, depth, text, false);
+            } else if (c == '<') {
+                end = angle(i, to, text);
+            } else if (c == 'h' || c == 'f') {
+                end = url(i, to, text);
+            }
+            if (end < 0) {
+                i++;
+            } else {
+                text = end;
+                i = end;
+            }
+        }
+        addText(text, to);
+        truncate(starOpeners, starFloor);
+        truncate(underscoreOpeners, underscoreFloor);
+    }
+
+    private int runLength(int from, int to) {
+        char c = buffer.charAt(from);
+        int i = from;
+        while (i < to && buffer.charAt(i) == c) {
+            i++;
+        }
+        return i - from;
+    }
+
+    private int codeSpan(int start, int to, int text) {
+        int length = runLength(start, to);
+        List<Integer> runs = backtickRuns.get(length);
+        int index = backtickRunIndexes.getOrDefault(length, 0);
+        // the runs are looked for from left to right, so the runs before the opening one are never needed again
+        while (runs != null && index < runs.size() && runs.get(index) <= start) {
+            index++;
+        }
+        backtickRunIndexes.put(length, index);
+        if (runs == null || index == runs.size() || runs.get(index) >= to) {
+            return -1;
+        }
+        int close = runs.get(index);
+        addText(text, start);
+        String code = buffer.substring(start + length, close).replace('\n', ' ').trim();
+        // placed at the opening backticks, like the code nodes of pegdown
+        pieces.add(new Piece(code, position(start)));
+        return close + length;
+    }
+
+    private void delimiterRun(int from, int to, int starFloor, int underscoreFloor) {
+        char c = buffer.charAt(from);
+        char before = from > 0 ? buffer.charAt(from - 1) : '\n';
+        char after = to < buffer.length() ? buffer.charAt(to) : '\n';
+        boolean leftFlanking = !Character.isWhitespace(after)
+                && (!isPunctuation(after) || Character.isWhitespace(before) || isPunctuation(before));
+        boolean rightFlanking = !Character.isWhitespace(before)
+                && (!isPunctuation(before) || Character.isWhitespace(after) || isPunctuation(after));
+        boolean canOpen;
+        boolean canClose;
+        if (c == '*') {
+            canOpen = leftFlanking;
+            canClose = rightFlanking;
+        } else {
+            canOpen = leftFlanking && (!rightFlanking || isPunctuation(before));
+            canClose = rightFlanking && (!leftFlanking || isPunctuation(after));
+        }
+        Piece run = new Piece(from, to);
+        pieces.add(run);
+        List<Piece> openers = c == '*' ? starOpeners : underscoreOpeners;
+        int floor = c == '*' ? starFloor : underscoreFloor;
+        if (canClose) {
+            // the markers of matched delimiters are removed from the text
+            while (run.length() > 0 && openers.size() > floor) {
+                Piece opener = openers.get(openers.size() - 1);
+                int used = opener.length() >= 2 && run.length() >= 2 ? 2 : 1;
+                opener.to -= used;
+                run.from += used;
+                if (opener.length() == 0) {
+                    openers.remove(openers.size() - 1);
+                }
+            }
+        }
+        if (canOpen && run.length() > 0) {
+            openers.add(run);
+        }
+    }
+
+    private int link(int start, int open, int to, int depth, int text, boolean image) {
+        int close = matching[open];
+        if (close < 0 || close + 1 >= to) {
+            return -1;
+        }
+        char next = buffer.charAt(close + 1);
+        if (next != '(' && next != '[') {
+            return -1;
+        }
+        int end = matching[close + 1];
+        if (end < 0 || end >= to) {
+            return -1;
+        }
+        addText(text, start);
+        if (!image) {
+            if (depth < MAX_DEPTH) {
+                parseRange(open + 1, close, depth + 1);
+            } else {
+                addText(open + 1, close);
+            }
+            // only inline links have their url, since references are not resolved
+            if (next == '(' && !pieces.isEmpty()) {
+                pieces.get(pieces.size() - 1).link = destination(close + 2, end);
+            }
+        }
+        return end + 1;
+    }
+
+    private String destination(int from, int to) {
+        String destination = buffer.substring(from, to).trim();
+        if (destination.startsWith("<") && destination.indexOf('>') > 0) {
+            return destination.substring(1, destination.indexOf('>'));
+        }
+        // the title is ignored
+        for (int i = 0; i < destination.length(); i++) {
+            if (Character.isWhitespace(destination.charAt(i))) {
+                return destination.substring(0, i);
+            }
+        }
+        return destination;
+    }
+
+    private int angle(int start, int to, int text) {
+        if (buffer.startsWith("<!--", start)) {
+            int end = commentEnd(start + 4);
+            if (end < 0 || end + 3 > to) {
+                return -1;
+            }
+            addText(text, start);
+            return end + 3;
+        }
+        int i = start + 1;
+        while (i < to && " \t\n<>".indexOf(buffer.charAt(i)) < 0) {
+            i++;
+        }
+        String content = buffer.substring(start + 1, i);
+        if (i < to && buffer.charAt(i) == '>') {
+            if (isScheme(content)) {
+                addText(text, start);
+                Piece url = new Piece(start + 1, i);
+                url.link = content;
+                pieces.add(url);
+                return i + 1;
+            } else if (content.indexOf('@') > 0) {
+                // mail links are not sentences
+                addText(text, start);
+                return i + 1;
+            }
+        }
+        if (!isTagStart(start + 1, to)) {
+            return -1;
+        }
+        // html tags are dropped, the text between them is kept
+        while (i < to && buffer.charAt(i) != '>' && buffer.charAt(i) != '<') {
+            i++;
+        }
+        if (i >= to || buffer.charAt(i) != '>') {
+            return -1;
+        }
+        addText(text, start);
+        return i + 1;
+    }
+
+    private int commentEnd(int from) {
+        if (from >= commentSearchedFrom && (commentEnd < 0 || commentEnd >= from)) {
+            return commentEnd;
+        }
+        commentSearchedFrom = from;
+        commentEnd = buffer.indexOf("-->", from);
+        return commentEnd;
+    }
+
+    private boolean isTagStart(int i, int to) {
+        if (i < to && buffer.charAt(i) == '/') {
+            i++;
+        }
+        if (i >= to || !isAsciiLetter(buffer.charAt(i))) {
+            return false;
+        }
+        while (i < to && (isAsciiLetter(buffer.charAt(i)) || Character.isDigit(buffer.charAt(i)) || buffer.charAt(i) == '-')) {
+            i++;
+        }
+        return i < to && (Character.isWhitespace(buffer.charAt(i)) || buffer.charAt(i) == '/' || buffer.charAt(i) == '>');
+    }
+
+    private static boolean isScheme(String content) {
+        int colon = content.indexOf(':');
+        if (colon < 2 || colon > 32 || !isAsciiLetter(content.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < colon; i++) {
+            char c = content.charAt(i);
+            if (!isAsciiLetter(c) && !Character.isDigit(c) && c != '+' && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int url(int start, int to, int text) {
+        if (start > 0 && Character.isLetterOrDigit(buffer.charAt(start - 1))) {
+            return -1;
+        }
+        boolean found = false;
+        for (String prefix : URL_PREFIXES) {
+            if (buffer.startsWith(prefix, start) && start + prefix.length() < to) {
+                found = true;
+                break;
+            }
+        }
+        if (!found) {
+            return -1;
+        }
+        int end = start;
+        int parentheses = 0;
+        while (end < to && !Character.isWhitespace(buffer.charAt(end))
+                && buffer.charAt(end) != '<' && buffer.charAt(end) != '>') {
+            char c = buffer.charAt(end);
+            if (c == '(') {
+                parentheses++;
+            } else if (c == ')') {
+                parentheses--;
+            }
+            end++;
+        }
+        // trailing punctuation ends the sentence rather than the url
+        while (end > start) {
+            char c = buffer.charAt(end - 1);
+            if (".,:;!?\"'*_".indexOf(c) >= 0 || (c == ')' && parentheses < 0)) {
+                if (c == ')') {
+                    parentheses++;
+                }
+                end--;
+            } else {
+                break;
+            }
+        }
+        addText(text, start);
+        Piece url = new Piece(start, end);
+        url.link = url.getContent();
+        pieces.add(url);
+        return end;
+    }
+
+    /**
+     * Add text, with the spaces and line breaks the way the hard wraps of pegdown are visited.
+     */
+    private void addText(int from, int to) {
+        int run = from;
+        int i = from;
+        while (i < to) {
+            char c = buffer.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\n') {
+                i++;
+                continue;
+            }
+            int spaces = i;
+            while (i < to && (buffer.charAt(i) == ' ' || buffer.charAt(i) == '\t')) {
+                i++;
+            }
+            if (i < to && buffer.charAt(i) == '\n') {
+                addPiece(run, spaces);
+                if (i > spaces) {
+                    // extra whitespace at the end of line
+                    pieces.add(new Piece(repeat(' ', i - spaces), position(spaces)));
+                }
+                int nextLine = lineIndex.getLine(i + 1);
+                pieces.add(new Piece(sentenceExtractor.getBrokenLineSeparator(), lines.get(nextLine).number, 0));
+                i++;
+                run = i;
+            } else if (i - spaces > 1 || buffer.charAt(spaces) == '\t') {
+                // consecutive spaces are a single space
+                addPiece(run, spaces);
+                pieces.add(new Piece(" ", position(spaces)));
+                run = i;
+            }
+        }
+        addPiece(run, to);
+    }
+
+    private void addPiece(int from, int to) {
+        if (from < to) {
+            pieces.add(new Piece(from, to));
+        }
+    }
+
+    private long position(int index) {
+        int line = lineIndex.getLine(index);
+        SourceLine source = lines.get(line);
+        return ((long) source.number << 32) | (source.start + index - lineIndex.getLineStart(line));
+    }
+
+    private static void truncate(List<Piece> openers, int size) {
+        while (openers.size() > size) {
+            openers.remove(openers.size() - 1);
+        }
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isPunctuation(char c) {
+        if (c < 128) {
+            return (c >= '!' && c <= '/') || (c >= ':' && c <= '@') || (c >= '[' && c <= '`') || (c >= '{' && c <= '~');
+        }
+        switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Part of a line of the source: a range of the block, or a text replacing the markup at a position.
+     */
+    private final class Piece {
+        private int from;
+        private int to;
+        private final String text;
+        private final int lineNumber;
+        private final int offset;
+        private String link;
+
+        private Piece(int from, int to) {
+            this.from = from;
+            this.to = to;
+            this.text = null;
+            this.lineNumber = 0;
+            this.offset = 0;
+        }
+
+        private Piece(String text, long position) {
+            this(text, (int) (position >> 32), (int) position);
+        }
+
+        private Piece(String text, int lineNumber, int offset) {
+            this.text = text;
+            this.lineNumber = lineNumber;
+            this.offset = offset;
+        }
+
+        private int length() {
+            return to - from;
+        }
+
+        private String getContent() {
+            return text != null ? text : buffer.substring(from, to);
+        }
+
+        private int getLineNumber() {
+            return text != null ? lineNumber : (int) (position(from) >> 32);
+        }
+
+        private int getOffset() {
+            return text != null ? offset : (int) position(from);
+        }
+    }
+
+    /**
+     * Part of a line of the source holding inline content.
+     */
+    static final class SourceLine {
+        final String text;
+        final int number;
+        final int start;
+        int end;
+
+        /**
+         * Constructor.
+         *
+         * @param text   text of the line
+         * @param number line number
+         * @param start  position of the first character of the content
+         */
+        SourceLine(String text, int number, int start) {
+            this.text = text;
+            this.number = number;
+            this.start = Math.min(start, text.length());
+            this.end = text.length();
+        }
+    }
+}
@@ -17,7 +17,11 @@
  */
 package cc.redpen.parser.markdown;
 
+import cc.redpen.model.Sentence;
 import cc.redpen.parser.LineOffset;
+import cc.redpen.parser.LineOffsetTable;
+import cc.redpen.parser.SentenceExtractor;
+import cc.redpen.util.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,7 +54,7 @@ public class MergedCandidateSentence {
         int lineNum = candidateSentences.get(0).getLineNum();
         StringBuilder contents = new StringBuilder();
         Map<LineOffset, String> links = new HashMap<>();
-        List<LineOffset> offsetMap = new ArrayList<>();
+        List<LineOffset> offsetMap = new LineOffsetTable();
 
         for (CandidateSentence sentence : candidateSentences) {
             contents.append(sentence.getContent());
@@ -68,6 +72,30 @@ public class MergedCandidateSentence {
         return Optional.of(new MergedCandidateSentence(lineNum, contents.toString(), links, offsetMap));
     }
 
+    /**
+     * Split the merged contents into sentences.
+     *
+     * @param sentenceExtractor utility object to extract a sentence list
+     * @return sentences with their offsets and links
+     */
+    public List<Sentence> extractSentences(SentenceExtractor sentenceExtractor) {
+        List<Sentence> outputSentences = new ArrayList<>();
+        List<Pair<Integer, Integer>> sentencePositions = new ArrayList<>();
+        int lastPosition = sentenceExtractor.extract(contents, sentencePositions);
+
+        for (Pair<Integer, Integer> sentencePosition : sentencePositions) {
+            outputSentences.add(new Sentence(contents.substring(sentencePosition.first, sentencePosition.second),
+                    LineOffsetTable.of(offsetMap).copyRange(sentencePosition.first, sentencePosition.second),
+                    getRangedLinks(sentencePosition.first, sentencePosition.second - 1)));
+        }
+        if (lastPosition < contents.length()) {
+            outputSentences.add(new Sentence(contents.substring(lastPosition),
+                    LineOffsetTable.of(offsetMap).copyRange(lastPosition, contents.length()),
+                    getRangedLinks(lastPosition, contents.length())));
+        }
+        return outputSentences;
+    }
+
     public List<String> getRangedLinks(int startPosition, int endPosition) {
         if (startPosition >= offsetMap.size() || endPosition >= offsetMap.size()) {
             return new ArrayList<>();
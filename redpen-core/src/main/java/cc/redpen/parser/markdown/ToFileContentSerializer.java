@@ -21,9 +21,8 @@ import cc.redpen.RedPenException;
 import cc.redpen.model.Document;
 import cc.redpen.model.Section;
 import cc.redpen.model.Sentence;
-import cc.redpen.parser.LineOffset;
+import cc.redpen.parser.LineIndex;
 import cc.redpen.parser.SentenceExtractor;
-import cc.redpen.util.Pair;
 import org.parboiled.common.StringUtils;
 import org.pegdown.Printer;
 import org.pegdown.ast.*;
@@ -49,7 +48,7 @@ public class ToFileContentSerializer implements Visitor {
     private Document.DocumentBuilder builder = null;
     private SentenceExtractor sentenceExtractor;
     private int itemDepth = 0;
-    private List<Integer> lineList = null;
+    private LineIndex lineIndex = null;
     // TODO multi period character not supported
     private List<CandidateSentence> candidateSentences = new ArrayList<>();
     private Printer printer = new Printer();
@@ -64,8 +63,21 @@ public class ToFileContentSerializer implements Visitor {
     public ToFileContentSerializer(Document.DocumentBuilder docBuilder,
                                    List<Integer> listOfLineNumber,
                                    SentenceExtractor extractor) {
+        this(docBuilder, LineIndex.ofLineEnds(listOfLineNumber), extractor);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param docBuilder DocumentBuilder
+     * @param lineIndex  lines of the parsed text
+     * @param extractor  utility object to extract a sentence list
+     */
+    public ToFileContentSerializer(Document.DocumentBuilder docBuilder,
+                                   LineIndex lineIndex,
+                                   SentenceExtractor extractor) {
         this.builder = docBuilder;
-        this.lineList = listOfLineNumber;
+        this.lineIndex = lineIndex;
         this.sentenceExtractor = extractor;
     }
 
@@ -113,23 +125,11 @@ public class ToFileContentSerializer implements Visitor {
     }
 
     private int getLineNumberFromStartIndex(int startIndex) {
-        int lineNum = 1;
-        // TODO test
-        for (int end : lineList) {
-            if (startIndex < end) {
-                break;
-            }
-            lineNum++;
-        }
-        return lineNum;
+        return lineIndex.getLine(startIndex) + 1;
     }
 
     private int getLineStartIndex(int lineNumber) {
-        if (lineNumber == 1) {
-            return 0;
-        } else {
-            return lineList.get(lineNumber-2);
-        }
+        return lineIndex.getLineStart(lineNumber - 1);
     }
 
     private String printChildrenToString(SuperNode node) {
@@ -143,42 +143,13 @@ public class ToFileContentSerializer implements Visitor {
     }
 
     private List<Sentence> createSentenceList() {
-        List<Sentence> outputSentences = new ArrayList<>();
-        Optional<MergedCandidateSentence> mergedCandidateSentence =
-                MergedCandidateSentence.merge(candidateSentences);
-        mergedCandidateSentence.ifPresent(m ->
-            extractSentences(m, outputSentences)
-        );
+        List<Sentence> outputSentences = MergedCandidateSentence.merge(candidateSentences)
+                .map(m -> m.extractSentences(sentenceExtractor))
+                .orElseGet(ArrayList::new);
         candidateSentences.clear();
         return outputSentences;
     }
 
-    private List<Sentence> extractSentences(MergedCandidateSentence mergedCandidateSentence,
-            List<Sentence> outputSentences) {
-        List<Pair<Integer, Integer>> sentencePositions = new ArrayList<>();
-        final String line = mergedCandidateSentence.getContents();
-        int lastPosition = sentenceExtractor.extract(line , sentencePositions);
-
-        for (Pair<Integer, Integer> sentencePosition : sentencePositions) {
-            List<LineOffset> offsetMap =
-                    mergedCandidateSentence.getOffsetMap().subList(sentencePosition.first,
-                    sentencePosition.second);
-            outputSentences.add(new Sentence(line.substring(
-                    sentencePosition.first, sentencePosition.second), offsetMap,
-                    mergedCandidateSentence.getRangedLinks(sentencePosition.first, sentencePosition.second - 1)));
-        }
-        if (lastPosition < mergedCandidateSentence.getContents().length()) {
-            List<LineOffset> offsetMap = mergedCandidateSentence.getOffsetMap().subList(lastPosition,
-                    mergedCandidateSentence.getContents().length());
-            outputSentences.add(new Sentence(line.substring(
-                    lastPosition, mergedCandidateSentence.getContents().length()),
-                    offsetMap,
-                    mergedCandidateSentence.getRangedLinks(lastPosition,
-                            mergedCandidateSentence.getContents().length())));
-        }
-        return outputSentences;
-    }
-
     private void appendSection(HeaderNode headerNode) {
         // 1. remain sentence flush to current section
         fixSentence();
@@ -28,7 +28,7 @@ public class ReSTLine extends Line {
                     escaped.add(false);
                 }
 
-                offsets.add(i);
+                addOffset(i);
                 characters.add(ch);
                 valid.add(true);
 
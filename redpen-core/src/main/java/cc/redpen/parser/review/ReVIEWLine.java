@@ -40,7 +40,7 @@ public class ReVIEWLine extends Line {
                 else {
                     escaped.add(false);
                 }
-                offsets.add(i);
+                addOffset(i);
                 characters.add(ch);
                 valid.add(true);
             }
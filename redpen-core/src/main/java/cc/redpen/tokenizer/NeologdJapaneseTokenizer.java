@@ -21,70 +21,96 @@ import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
 import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
 import org.apache.lucene.util.AttributeFactory;
 import org.codelibs.neologd.ipadic.lucene.analysis.ja.JapaneseTokenizer;
-import org.codelibs.neologd.ipadic.lucene.analysis.ja.tokenattributes.BaseFormAttribute;
 import org.codelibs.neologd.ipadic.lucene.analysis.ja.tokenattributes.InflectionAttribute;
 import org.codelibs.neologd.ipadic.lucene.analysis.ja.tokenattributes.PartOfSpeechAttribute;
 import org.codelibs.neologd.ipadic.lucene.analysis.ja.tokenattributes.ReadingAttribute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Japanese tokenizer backed by Kuromoji with the NEologd dictionary.
+ * <p>
+ * Kuromoji tokenizers are stateful, so each thread tokenizes with its own instance
+ * and the same NeologdJapaneseTokenizer can be shared between concurrent validations.
+ * The Kuromoji tokenizers do not depend on the configuration, so a thread keeps a single one
+ * for all the NeologdJapaneseTokenizers it uses.
+ */
 public class NeologdJapaneseTokenizer implements RedPenTokenizer {
+    private static final Logger LOG = LoggerFactory.getLogger(NeologdJapaneseTokenizer.class);
+
+    // tag lists shared by the tokens with the same part of speech and inflection
+    private static final Map<String, List<String>> TAG_LISTS = new ConcurrentHashMap<>();
 
-    private JapaneseTokenizer tokenizer;
+    private static final ThreadLocal<KuromojiSession> SESSIONS = ThreadLocal.withInitial(KuromojiSession::new);
 
-    public NeologdJapaneseTokenizer() {
-        this.tokenizer = new JapaneseTokenizer(AttributeFactory.DEFAULT_ATTRIBUTE_FACTORY,
+    /**
+     * Kuromoji tokenizer confined to a thread, with its attributes registered once.
+     */
+    private static final class KuromojiSession {
+        private final JapaneseTokenizer tokenizer = new JapaneseTokenizer(AttributeFactory.DEFAULT_ATTRIBUTE_FACTORY,
                 null,
                 false,
                 JapaneseTokenizer.Mode.NORMAL);
+        private final CharTermAttribute charAttr = tokenizer.addAttribute(CharTermAttribute.class);
+        private final PartOfSpeechAttribute posAttr = tokenizer.addAttribute(PartOfSpeechAttribute.class);
+        private final ReadingAttribute readAttr = tokenizer.addAttribute(ReadingAttribute.class);
+        private final OffsetAttribute offsetAttr = tokenizer.addAttribute(OffsetAttribute.class);
+        private final InflectionAttribute inflectionAttr = tokenizer.addAttribute(InflectionAttribute.class);
     }
 
     @Override
     public List<TokenElement> tokenize(String content) {
         List<TokenElement> tokens = new ArrayList<>();
         try {
-            for (TokenElement token : kuromojineologd(content)) {
-                tokens.add(token);
-            }
+            kuromojineologd(content, tokens);
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("Failed to tokenize " + content, e);
         }
         return tokens;
     }
 
-    private List<TokenElement> kuromojineologd(String src) throws IOException {
+    private void kuromojineologd(String src, List<TokenElement> tokens) throws IOException {
+        KuromojiSession session = SESSIONS.get();
+        JapaneseTokenizer tokenizer = session.tokenizer;
         tokenizer.setReader(new StringReader(src));
-        List<TokenElement> tokens = new ArrayList<>();
-        BaseFormAttribute baseAttr = tokenizer.addAttribute(BaseFormAttribute.class);
-        CharTermAttribute charAttr = tokenizer.addAttribute(CharTermAttribute.class);
-        PartOfSpeechAttribute posAttr = tokenizer.addAttribute(PartOfSpeechAttribute.class);
-        ReadingAttribute readAttr = tokenizer.addAttribute(ReadingAttribute.class);
-        OffsetAttribute offsetAttr  = tokenizer.addAttribute(OffsetAttribute.class);
-        InflectionAttribute inflectionAttr = tokenizer.addAttribute(InflectionAttribute.class);
-        tokenizer.reset();
-        while (tokenizer.incrementToken()) {
-            String surface = charAttr.toString();
-            tokens.add(new TokenElement(surface,
-                    getTagList(posAttr, inflectionAttr),
-                    offsetAttr.startOffset(),
-                    readAttr.getReading()
-            ));
+        try {
+            tokenizer.reset();
+            while (tokenizer.incrementToken()) {
+                String surface = session.charAttr.toString();
+                tokens.add(new TokenElement(surface,
+                        getTagList(session.posAttr, session.inflectionAttr),
+                        session.offsetAttr.startOffset(),
+                        session.readAttr.getReading()
+                ));
+            }
+            tokenizer.end();
+        } finally {
+            // a tokenizer left open refuses the next reader
+            tokenizer.close();
         }
-        tokenizer.close();
-        return tokens;
     }
 
-    private List<String> getTagList(PartOfSpeechAttribute posAttr, InflectionAttribute inflectionAttr) {
-        List<String> posList = new ArrayList<>();
-        posList.addAll(Arrays.asList(posAttr.getPartOfSpeech().split("-")));
+    private static List<String> getTagList(PartOfSpeechAttribute posAttr, InflectionAttribute inflectionAttr) {
+        String pos = posAttr.getPartOfSpeech();
         String form = inflectionAttr.getInflectionForm() == null ? "*" : inflectionAttr.getInflectionForm();
         String type = inflectionAttr.getInflectionType() == null ? "*" : inflectionAttr.getInflectionType();
-        posList.add(type);
-        posList.add(form);
-        return posList;
+        String key = pos + '\t' + type + '\t' + form;
+        List<String> tags = TAG_LISTS.get(key);
+        if (tags == null) {
+            List<String> posList = new ArrayList<>(Arrays.asList(pos.split("-")));
+            posList.add(type);
+            posList.add(form);
+            tags = TAG_LISTS.computeIfAbsent(key, k -> Collections.unmodifiableList(posList));
+        }
+        return tags;
     }
 }
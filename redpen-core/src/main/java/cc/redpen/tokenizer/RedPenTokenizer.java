@@ -17,6 +17,8 @@
  */
 package cc.redpen.tokenizer;
 
+import cc.redpen.model.Sentence;
+
 import java.util.List;
 
 public interface RedPenTokenizer {
@@ -27,4 +29,18 @@ public interface RedPenTokenizer {
      * @return a set of tokens in the input sentence
      */
     List<TokenElement> tokenize(String sentence);
+
+    /**
+     * Tokenize the given sentences and set their tokens.
+     * <p>
+     * Documents call this once for all their sentences, when the tokens of one of them are first needed.
+     * Tokenizers which can process many sentences at once should override this.
+     *
+     * @param sentences sentences to tokenize
+     */
+    default void tokenizeAll(List<Sentence> sentences) {
+        for (Sentence sentence : sentences) {
+            sentence.setTokens(tokenize(sentence.getContent()));
+        }
+    }
 }
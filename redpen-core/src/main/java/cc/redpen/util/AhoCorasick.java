@@ -0,0 +1,176 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import java.util.*;
+
+/**
+ * Aho-Corasick automaton finding all the occurrences of a set of strings in a single scan of the text.
+ * <p>
+ * The automaton is immutable once built and can be shared between threads.
+ */
+public final class AhoCorasick {
+    private final List<String> patterns;
+    // transitions of each state: sorted characters and their target states
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] failure;
+    // index of the pattern ending in each state, -1 if none
+    private final int[] pattern;
+    // nearest state on the failure chain with a pattern, -1 if none
+    private final int[] output;
+
+    /**
+     * Receives the occurrences found by {@link #match(CharSequence, MatchHandler)}.
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+        /**
+         * Called for each occurrence, in the order of their end positions and longest first for the same end.
+         *
+         * @param patternIndex index of the pattern in the list given to the constructor
+         * @param start        start position of the occurrence (inclusive)
+         * @param end          end position of the occurrence (exclusive)
+         */
+        void onMatch(int patternIndex, int start, int end);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param patterns strings to search for. Empty strings are ignored and duplicates are reported with their first index
+     */
+    public AhoCorasick(Collection<String> patterns) {
+        this.patterns = Collections.unmodifiableList(new ArrayList<>(patterns));
+
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        trie.add(new HashMap<>());
+        terminal.add(-1);
+        for (int i = 0; i < this.patterns.size(); i++) {
+            String word = this.patterns.get(i);
+            if (word.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int j = 0; j < word.length(); j++) {
+                Integer next = trie.get(state).get(word.charAt(j));
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(word.charAt(j), next);
+                    trie.add(new HashMap<>());
+                    terminal.add(-1);
+                }
+                state = next;
+            }
+            if (terminal.get(state) == -1) {
+                terminal.set(state, i);
+            }
+        }
+
+        int size = trie.size();
+        labels = new char[size][];
+        targets = new int[size][];
+        pattern = new int[size];
+        for (int state = 0; state < size; state++) {
+            List<Character> keys = new ArrayList<>(trie.get(state).keySet());
+            Collections.sort(keys);
+            labels[state] = new char[keys.size()];
+            targets[state] = new int[keys.size()];
+            for (int j = 0; j < keys.size(); j++) {
+                labels[state][j] = keys.get(j);
+                targets[state][j] = trie.get(state).get(keys.get(j));
+            }
+            pattern[state] = terminal.get(state);
+        }
+
+        // failure links in breadth first order, so that shorter suffixes are resolved first
+        failure = new int[size];
+        output = new int[size];
+        output[0] = -1;
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            queue.add(child);
+            output[child] = -1;
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int j = 0; j < labels[state].length; j++) {
+                int child = targets[state][j];
+                int fallback = failure[state];
+                int next = transition(fallback, labels[state][j]);
+                while (next < 0 && fallback != 0) {
+                    fallback = failure[fallback];
+                    next = transition(fallback, labels[state][j]);
+                }
+                failure[child] = next < 0 ? 0 : next;
+                output[child] = pattern[failure[child]] >= 0 ? failure[child] : output[failure[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Get the patterns of this automaton.
+     *
+     * @return patterns in the order given to the constructor
+     */
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * Find all the occurrences of the patterns in the given text, including overlapping ones.
+     *
+     * @param text    text to search
+     * @param handler receives each occurrence
+     */
+    public void match(CharSequence text, MatchHandler handler) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next = transition(state, c);
+            while (next < 0 && state != 0) {
+                state = failure[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? 0 : next;
+            for (int s = pattern[state] >= 0 ? state : output[state]; s >= 0; s = output[s]) {
+                int index = pattern[s];
+                handler.onMatch(index, i + 1 - patterns.get(index).length(), i + 1);
+            }
+        }
+    }
+
+    /**
+     * Mark the positions covered by any occurrence of the patterns in the given text.
+     *
+     * @param text text to search
+     * @return set of the covered positions
+     */
+    public BitSet matchedPositions(CharSequence text) {
+        BitSet positions = new BitSet(text.length());
+        match(text, (index, start, end) -> positions.set(start, end));
+        return positions;
+    }
+
+    private int transition(int state, char c) {
+        int found = Arrays.binarySearch(labels[state], c);
+        return found < 0 ? -1 : targets[state][found];
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import java.util.*;
+
+/**
+ * BK-tree of words, finding the words within a given {@link LevenshteinDistance} of a query
+ * without computing the distance to every word.
+ * <p>
+ * The tree relies on the triangle inequality, which holds when the insertion and deletion costs are equal
+ * and all the costs are positive. With other costs, or when the costs change after words were added,
+ * searches fall back to comparing the query with every word.
+ */
+public class BKTree {
+    private final List<String> words = new ArrayList<>();
+    private Node root;
+    private final int insertionCost = LevenshteinDistance.getInsertionCost();
+    private final int deletionCost = LevenshteinDistance.getDeletionCost();
+    private final int substitutionCost = LevenshteinDistance.getSubstitutionCost();
+
+    private static final class Node {
+        final int index;
+        // children keyed by their distance to this node
+        final Map<Integer, Node> children = new HashMap<>();
+        int maxChildDistance;
+
+        Node(int index) {
+            this.index = index;
+        }
+    }
+
+    /**
+     * Add a word to the tree.
+     *
+     * @param word word to add
+     */
+    public void add(String word) {
+        int index = words.size();
+        words.add(word);
+        if (root == null) {
+            root = new Node(index);
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = LevenshteinDistance.getDistance(words.get(node.index), word);
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(index));
+                node.maxChildDistance = Math.max(node.maxChildDistance, distance);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Get the number of words in the tree.
+     *
+     * @return number of words
+     */
+    public int size() {
+        return words.size();
+    }
+
+    /**
+     * Find the words whose distance from the query does not exceed the threshold.
+     *
+     * @param query     word to search for
+     * @param threshold maximum distance
+     * @return words within the threshold, in the order they were added
+     */
+    public List<String> search(CharSequence query, int threshold) {
+        if (!isMetric()) {
+            List<String> found = new ArrayList<>();
+            for (String word : words) {
+                if (LevenshteinDistance.getDistance(word, query) <= threshold) {
+                    found.add(word);
+                }
+            }
+            return found;
+        }
+
+        List<Integer> found = new ArrayList<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            // no child can be within the threshold when the distance exceeds this bound
+            int bound = threshold + node.maxChildDistance;
+            int distance = LevenshteinDistance.getDistance(words.get(node.index), query, bound);
+            if (distance <= threshold) {
+                found.add(node.index);
+            }
+            if (distance > bound) {
+                continue;
+            }
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= threshold) {
+                    stack.push(child.getValue());
+                }
+            }
+        }
+        Collections.sort(found);
+        List<String> result = new ArrayList<>(found.size());
+        for (int index : found) {
+            result.add(words.get(index));
+        }
+        return result;
+    }
+
+    private boolean isMetric() {
+        return insertionCost == deletionCost && insertionCost > 0 && substitutionCost > 0
+                && insertionCost == LevenshteinDistance.getInsertionCost()
+                && deletionCost == LevenshteinDistance.getDeletionCost()
+                && substitutionCost == LevenshteinDistance.getSubstitutionCost();
+    }
+}
@@ -23,23 +23,57 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * load dictionary data from input source
+ * <p>
+ * Loaded dictionaries are cached and shared by every caller on every thread, so each one is passed through the
+ * finisher once it is read, which should return a copy or view that can no longer be modified. Concurrent
+ * requests for the same resource wait for a single load. A dictionary file is read without holding the cache, so
+ * concurrent first requests may each read it, and the first result published is kept. Dictionary files are
+ * checked for modification at most once per {@link #getCheckInterval() check interval}, which defaults to the
+ * value of the {@code redpen.dictionary.check.interval} system property in milliseconds.
  */
 public class DictionaryLoader<E> {
     private static final Logger LOG = LoggerFactory.getLogger(DictionaryLoader.class);
+    private static final long DEFAULT_CHECK_INTERVAL = Long.getLong("redpen.dictionary.check.interval", 1000L);
 
     private final Supplier<E> supplier;
     private final BiConsumer<E, String> loader;
+    private final UnaryOperator<E> finisher;
+    private volatile long checkInterval = DEFAULT_CHECK_INTERVAL;
 
     public DictionaryLoader(Supplier<E> supplier, BiConsumer<E, String> loader) {
+        this(supplier, loader, UnaryOperator.identity());
+    }
+
+    public DictionaryLoader(Supplier<E> supplier, BiConsumer<E, String> loader, UnaryOperator<E> finisher) {
         this.supplier = supplier;
         this.loader = loader;
+        this.finisher = finisher;
+    }
+
+    /**
+     * Get how long a loaded dictionary file is used before its modification time is checked again.
+     *
+     * @return check interval in milliseconds
+     */
+    public long getCheckInterval() {
+        return checkInterval;
+    }
+
+    /**
+     * Set how long a loaded dictionary file is used before its modification time is checked again.
+     *
+     * @param checkInterval check interval in milliseconds, 0 to check on every load
+     */
+    public void setCheckInterval(long checkInterval) {
+        this.checkInterval = checkInterval;
     }
 
     /**
@@ -54,7 +88,7 @@ public class DictionaryLoader<E> {
                 StandardCharsets.UTF_8))) {
             bufferedReader.lines().forEach(line -> loader.accept(e, line));
         }
-        return e;
+        return finisher.apply(e);
     }
 
     /**
@@ -82,7 +116,7 @@ public class DictionaryLoader<E> {
         return load(new FileInputStream(file));
     }
 
-    private final Map<String, E> resourceCache = new HashMap<>();
+    private final ConcurrentMap<String, E> resourceCache = new ConcurrentHashMap<>();
 
     /**
      * returns word list loaded from resource
@@ -92,6 +126,10 @@ public class DictionaryLoader<E> {
      * @return word collection or empty if resource is missing
      */
     public E loadCachedFromResource(String path, String dictionaryName) {
+        E cached = resourceCache.get(path);
+        if (cached != null) {
+            return cached;
+        }
         return resourceCache.computeIfAbsent(path, e -> {
             try {
                 E result = loadFromResource(path);
@@ -99,14 +137,12 @@ public class DictionaryLoader<E> {
                 return result;
             } catch (IOException ioe) {
                 LOG.error("Failed to load " + dictionaryName + ":" + path + ": " + ioe.getMessage());
-                return supplier.get();
+                return finisher.apply(supplier.get());
             }
         });
     }
 
-
-    private final Map<String, E> fileCache = new HashMap<>();
-    private final Map<String, Long> fileNameTimestampMap = new HashMap<>();
+    private final ConcurrentMap<String, CachedFile<E>> fileCache = new ConcurrentHashMap<>();
 
     /**
      * returns word list loaded from file
@@ -118,35 +154,50 @@ public class DictionaryLoader<E> {
      */
     public E loadCachedFromFile(File file, String dictionaryName) throws RedPenException {
         String path = file.getAbsolutePath();
-        if (!file.exists()) {
-            throw new RedPenException("File not found: " + file);
+        CachedFile<E> cached = fileCache.get(path);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.checkedAt < checkInterval) {
+            return cached.dictionary;
+        }
+        long lastModified = file.lastModified();
+        if (lastModified == 0 && !file.exists()) {
+            throw new RedPenException("File not found: " + file, new FileNotFoundException(path));
+        }
+        if (cached != null && cached.lastModified == lastModified) {
+            cached.checkedAt = now;
+            return cached.dictionary;
         }
-        long currentModified = file.lastModified();
-        fileNameTimestampMap.computeIfPresent(path, (key, lastModified) -> {
-            if (lastModified != currentModified) {
-                // the file has been modified since last load
-                // clear the cache and load the file in the latter block
-                fileCache.remove(key);
-                return null;
-            } else {
-                return lastModified;
+        // not loaded yet or modified since last load; read outside of the map so other files are not blocked
+        E dictionary;
+        try {
+            dictionary = loadFromFile(file);
+            LOG.info("Succeeded to load " + dictionaryName + ".");
+        } catch (IOException ioe) {
+            LOG.error(ioe.getMessage());
+            throw new RedPenException("Failed to load " + dictionaryName + ":" + path, ioe);
+        }
+        CachedFile<E> loaded = new CachedFile<>(dictionary, lastModified, now);
+        if (cached == null) {
+            CachedFile<E> previous = fileCache.putIfAbsent(path, loaded);
+            if (previous != null) {
+                // loaded by another thread meanwhile
+                return previous.dictionary;
             }
-        });
+        } else {
+            fileCache.replace(path, cached, loaded);
+        }
+        return dictionary;
+    }
 
-        E loaded = fileCache.computeIfAbsent(path, e -> {
-            try {
-                E newlyLoaded = loadFromFile(file);
-                fileNameTimestampMap.put(path, file.lastModified());
-                return newlyLoaded;
-            } catch (IOException ioe) {
-                LOG.error(ioe.getMessage());
-                return null;
-            }
-        });
-        if (loaded == null) {
-            throw new RedPenException("Failed to load " + dictionaryName + ":" + path);
+    private static final class CachedFile<E> {
+        private final E dictionary;
+        private final long lastModified;
+        private volatile long checkedAt;
+
+        private CachedFile(E dictionary, long lastModified, long checkedAt) {
+            this.dictionary = dictionary;
+            this.lastModified = lastModified;
+            this.checkedAt = checkedAt;
         }
-        LOG.info("Succeeded to load " + dictionaryName + ".");
-        return loaded;
     }
 }
@@ -17,23 +17,25 @@
  */
 package cc.redpen.util;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Utility class to handle a string.
+ * Detects the end positions of sentences.
+ * <p>
+ * The detection is a single forward scan of the input: no recursion, and no allocation per sentence.
+ * End of sentence characters are given either as a regex pattern or, faster, as sets of full stops
+ * and right quotations which may follow them.
  */
 public class EndOfSentenceDetector {
-    private List<String> whiteList;
-    private Pattern pattern;
-    private static final Logger LOG = LoggerFactory.getLogger(EndOfSentenceDetector.class);
+    private final AhoCorasick whiteList;
+    private final Pattern pattern;
+    private final char[] fullStops;
+    private final char[] rightQuotations;
 
     /**
      * Constructor.
@@ -41,8 +43,7 @@ public class EndOfSentenceDetector {
      * @param pattern end of sentence regex pattern
      */
     public EndOfSentenceDetector(Pattern pattern) {
-        this.pattern = pattern;
-        this.whiteList = new ArrayList<>();
+        this(pattern, Collections.emptyList());
     }
 
     /**
@@ -54,11 +55,23 @@ public class EndOfSentenceDetector {
     public EndOfSentenceDetector(Pattern pattern,
                                  List<String> whiteList) {
         this.pattern = pattern;
-        this.whiteList = whiteList;
+        this.fullStops = null;
+        this.rightQuotations = null;
+        this.whiteList = new AhoCorasick(whiteList);
     }
 
-    private static boolean checkPosition(int position, String str) {
-        return -1 < position && position < str.length() - 1;
+    /**
+     * Constructor. Equivalent to a pattern matching one of the full stops optionally followed by a right quotation.
+     *
+     * @param fullStops       end of sentence characters
+     * @param rightQuotations right quotation characters which can follow a full stop
+     * @param whiteList       word containing periods
+     */
+    public EndOfSentenceDetector(char[] fullStops, char[] rightQuotations, List<String> whiteList) {
+        this.pattern = null;
+        this.fullStops = fullStops.clone();
+        this.rightQuotations = rightQuotations.clone();
+        this.whiteList = new AhoCorasick(whiteList);
     }
 
     /**
@@ -69,126 +82,150 @@ public class EndOfSentenceDetector {
      * @return position of full stop when there is a full stop, -1 otherwise
      */
     public int getSentenceEndPosition(String str, int startPosition) {
-        Set<Integer> nonEndOfSentencePositions =
-                extractNonEndOfSentencePositions(str);
-        int result = str.length();
-        try {
-            result = getEndPosition(str, startPosition, nonEndOfSentencePositions);
-        } catch (StackOverflowError e){
-            LOG.error("Catch StackOverflowError parsing :" + str + " from position: " + startPosition);
-        }
-        return result;
+        return getSentenceEndPosition(str, startPosition, extractNonEndOfSentencePositions(str));
     }
 
-    private int getEndPosition(String str,
-                               int offset, Set<Integer> whitePositions) {
-        int startPosition = -1;
-        int endPosition = -1;
-        Matcher matcher = pattern.matcher(str);
-        boolean matchResult = getEndPositionSkippingWhiteList(offset,
-                matcher, whitePositions);
-        if (matchResult) {
-            startPosition = matcher.start();
-            endPosition = matcher.end();
-        }
+    /**
+     * Get sentence end position, reusing the positions of white words computed for the input string.
+     *
+     * @param str input string
+     * @param startPosition start offset position
+     * @param nonEndOfSentencePositions positions returned by {@link #extractNonEndOfSentencePositions(CharSequence)} for str
+     * @return position of full stop when there is a full stop, -1 otherwise
+     */
+    public int getSentenceEndPosition(CharSequence str, int startPosition, BitSet nonEndOfSentencePositions) {
+        return new Scanner(str, nonEndOfSentencePositions).nextEnd(startPosition);
+    }
 
-        if (checkPosition(endPosition - 1, str)) {
-            if ((StringUtils.isBasicLatin(str.charAt(startPosition))
-                    && (' ' == str.charAt(endPosition)
-                    || '\n' == str.charAt(endPosition)))) {
-                return endPosition - 1;
+    /**
+     * Get the end positions of all the sentences in the input string, in a single scan.
+     *
+     * @param str input string
+     * @param startPosition start offset position
+     * @return positions of the full stops ending sentences, in ascending order
+     */
+    public int[] getSentenceEndPositions(CharSequence str, int startPosition) {
+        Scanner scanner = new Scanner(str, extractNonEndOfSentencePositions(str));
+        int[] ends = new int[8];
+        int count = 0;
+        int end = scanner.nextEnd(startPosition);
+        while (end >= 0) {
+            if (count == ends.length) {
+                ends = Arrays.copyOf(ends, count * 2);
             }
-            return handleSuccessivePeriods(str, endPosition - 1, whitePositions);
+            ends[count++] = end;
+            end = end + 1 < str.length() ? scanner.nextEnd(end + 1) : -1;
         }
+        return Arrays.copyOf(ends, count);
+    }
 
-        if (endPosition == str.length()) {
-            // NOTE: period in end of sentence should be the end of the sentence
-            // even if there is NO tailing whitespace.
-            return endPosition - 1;
-        }
-        return -1;
+    /**
+     * Get the positions covered by white words (e.g. "Mr.") in the input string.
+     * The white words are matched in a single scan of the string.
+     *
+     * @param inputString input string
+     * @return positions which can not be the end of a sentence
+     */
+    public BitSet extractNonEndOfSentencePositions(CharSequence inputString) {
+        return whiteList.matchedPositions(inputString);
     }
 
-    private boolean getEndPositionSkippingWhiteList(int offset,
-                                                    Matcher matcher, Set<Integer> whitePositions) {
-        boolean result = matcher.find(offset);
-        while (result) {
-            int startPosition = matcher.start();
-            int endPosition = matcher.end();
-            boolean containsWhite = false;
-            for (int i = startPosition; i < endPosition; i++) {
-                if (whitePositions.contains(i)) {
-                    containsWhite = true;
-                    break;
-                }
-            }
-            if (containsWhite) {
-                result = getEndPositionSkippingWhiteList(endPosition,
-                        matcher, whitePositions);
-            } else {
-                break;
+    private static boolean contains(char[] characters, char c) {
+        for (char character : characters) {
+            if (character == c) {
+                return true;
             }
         }
-        return result;
+        return false;
     }
 
-    // TODO: efficient computing with common prefix search.
-    private Set<Integer> extractNonEndOfSentencePositions(
-            String inputString) {
-        Set<Integer> nonEndOfSentencePositions = new HashSet<>();
-        for (String whiteWord : this.whiteList) {
-            int offset = 0;
-            while (true) {
-                int matchStartPosition = inputString.indexOf(whiteWord, offset);
-                int matchEndPosition = matchStartPosition + whiteWord.length();
-                if (matchStartPosition == -1) {
-                    break;
+    /**
+     * Scanning state over one input string. The matcher (if any) is created once and reused for every sentence.
+     */
+    private final class Scanner {
+        private final CharSequence str;
+        private final BitSet whitePositions;
+        private final Matcher matcher;
+        // bounds of the last end of sentence match
+        private int matchStart;
+        private int matchEnd;
+
+        private Scanner(CharSequence str, BitSet whitePositions) {
+            this.str = str;
+            this.whitePositions = whitePositions;
+            this.matcher = pattern != null ? pattern.matcher(str) : null;
+        }
+
+        /**
+         * Find the end of the sentence starting at offset.
+         *
+         * @return position of full stop when there is a full stop, -1 otherwise
+         */
+        private int nextEnd(int offset) {
+            int length = str.length();
+            while (findSkippingWhiteList(offset)) {
+                int startPosition = matchStart;
+                int endPosition = matchEnd;
+                if (endPosition == length) {
+                    // NOTE: period in end of sentence should be the end of the sentence
+                    // even if there is NO tailing whitespace.
+                    return endPosition - 1;
                 }
-                for (int i = matchStartPosition;
-                     i < matchEndPosition; i++) {
-                    nonEndOfSentencePositions.add(i);
+                if (StringUtils.isBasicLatin(str.charAt(startPosition))
+                        && (' ' == str.charAt(endPosition) || '\n' == str.charAt(endPosition))) {
+                    return endPosition - 1;
                 }
-                offset = matchEndPosition;
-            }
-        }
-        return nonEndOfSentencePositions;
-    }
 
-    private int handleSuccessivePeriods(String str,
-                                        int position, Set<Integer> whitePositions) {
-        int nextPosition = position + 1;
-        Matcher matcher = this.pattern.matcher(str);
-        int matchPosition = -1;
-        if (matcher.find(nextPosition)) {
-            matchPosition = matcher.start();
+                // handle the characters following the full stop
+                int position = endPosition - 1;
+                int nextPosition = endPosition;
+                int matchPosition = find(nextPosition) ? matchStart : -1;
+                if (matchPosition > -1 && !StringUtils.isBasicLatin(str.charAt(matchPosition))
+                        && matchPosition != nextPosition) {
+                    // NOTE: Non Latin languages (especially Asian languages, periods do not
+                    // have tailing spaces in the end of sentences)
+                    return position;
+                }
+                if (matchPosition == -1 && !StringUtils.isBasicLatin(str.charAt(position))) {
+                    return position;
+                }
+                if (matchPosition == nextPosition && nextPosition == length - 1) {
+                    // NOTE: handling of period in succession
+                    return nextPosition;
+                }
+                offset = nextPosition;
+            }
+            return -1;
         }
 
-        if (isNonAlphabetWithoutSucessiveEnd(str, nextPosition, matchPosition)
-                || isNonAlphabetEndOfSentenceWithPartialSentence(str, position, matchPosition)
-                ) {
-            // NOTE: Non Latin languages (especially Asian languages, periods do not
-            // have tailing spaces in the end of sentences)
-            return position;
+        private boolean findSkippingWhiteList(int offset) {
+            while (find(offset)) {
+                int white = whitePositions.nextSetBit(matchStart);
+                if (white < 0 || white >= matchEnd) {
+                    return true;
+                }
+                offset = matchEnd;
+            }
+            return false;
         }
 
-        if (matchPosition == nextPosition) {
-            // NOTE: handling of period in succession
-            if ((position + 1) == str.length() - 1) {
-                return nextPosition;
-            } else {
-                return getEndPosition(str, nextPosition, whitePositions);
+        private boolean find(int offset) {
+            if (matcher != null) {
+                if (offset > str.length() || !matcher.find(offset)) {
+                    return false;
+                }
+                matchStart = matcher.start();
+                matchEnd = matcher.end();
+                return true;
             }
-        } else {
-            return getEndPosition(str, nextPosition, whitePositions);
+            for (int i = offset; i < str.length(); i++) {
+                if (contains(fullStops, str.charAt(i))) {
+                    matchStart = i;
+                    matchEnd = i + 1 < str.length() && contains(rightQuotations, str.charAt(i + 1)) ? i + 2 : i + 1;
+                    return true;
+                }
+            }
+            return false;
         }
     }
-
-    private boolean isNonAlphabetEndOfSentenceWithPartialSentence(String str, int position, int matchPosition) {
-        return (matchPosition == -1 && (!StringUtils.isBasicLatin(str.charAt(position))));
-    }
-
-    private boolean isNonAlphabetWithoutSucessiveEnd(String str, int nextPosition, int matchPosition) {
-        return matchPosition > -1 && (!StringUtils.isBasicLatin(str.charAt(matchPosition)))
-                && matchPosition != nextPosition;
-    }
 }
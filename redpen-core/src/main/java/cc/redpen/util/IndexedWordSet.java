@@ -0,0 +1,74 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import java.util.*;
+
+/**
+ * Unmodifiable set of dictionary words, which builds an {@link AhoCorasick} automaton of its words on demand.
+ * <p>
+ * Dictionaries loaded by {@link DictionaryLoader} are shared by all the validators using them, so the automaton
+ * of a dictionary is built once and lives as long as the dictionary.
+ */
+public final class IndexedWordSet extends AbstractSet<String> {
+    private final Set<String> words;
+    private volatile AhoCorasick automaton;
+
+    /**
+     * Constructor.
+     *
+     * @param words words of the set, which must not be modified afterwards
+     */
+    public IndexedWordSet(Set<String> words) {
+        this.words = words;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return words.contains(o);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return Collections.unmodifiableSet(words).iterator();
+    }
+
+    @Override
+    public int size() {
+        return words.size();
+    }
+
+    /**
+     * Get an automaton finding the words of this set in a single scan.
+     *
+     * @return automaton built on the first call
+     */
+    public AhoCorasick getAutomaton() {
+        AhoCorasick result = automaton;
+        if (result == null) {
+            synchronized (this) {
+                result = automaton;
+                if (result == null) {
+                    result = new AhoCorasick(words);
+                    automaton = result;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -157,4 +157,70 @@ public class LevenshteinDistance {
 
         return distance[lengthA][lengthB];
     }
+
+    /**
+     * Get the Levenshtein distance for given two strings when it does not exceed the given threshold.
+     * <p>
+     * Only the diagonal band of the edit matrix that can hold a distance within the threshold is computed,
+     * and the computation stops as soon as a whole row exceeds the threshold.
+     *
+     * @param a         a string.
+     * @param b         one another string.
+     * @param threshold maximum distance of interest
+     * @return Levenshtein distance, or {@code threshold + 1} when the distance is larger than the threshold
+     */
+    public static int getDistance(CharSequence a, CharSequence b, int threshold) {
+        final int over = threshold + 1;
+        if (a == null || b == null) {
+            return Math.min(getDistance(a, b), over);
+        }
+
+        final int lengthA = a.length();
+        final int lengthB = b.length();
+        int lengthCost = lengthA > lengthB ? (lengthA - lengthB) * DELETION_COST : (lengthB - lengthA) * INSERTION_COST;
+        if (lengthCost > threshold) {
+            return over;
+        }
+
+        // cells further than this from the diagonal cost more than the threshold to reach
+        int minIndelCost = Math.min(INSERTION_COST, DELETION_COST);
+        int band = minIndelCost > 0 ? threshold / minIndelCost : Math.max(lengthA, lengthB);
+
+        int[] previous = new int[lengthB + 1];
+        int[] current = new int[lengthB + 1];
+        for (int j = 0; j < lengthB + 1; j++) {
+            previous[j] = Math.min(j * INSERTION_COST, over);
+        }
+
+        for (int i = 1; i < lengthA + 1; i++) {
+            int from = Math.max(1, i - band);
+            int to = Math.min(lengthB, i + band);
+            current[0] = Math.min(i * DELETION_COST, over);
+            current[from - 1] = from == 1 ? current[0] : over;
+            int rowMin = current[from - 1];
+            for (int j = from; j <= to; j++) {
+                int cell;
+                if (a.charAt(i - 1) == b.charAt(j - 1)) {
+                    cell = previous[j - 1];
+                } else {
+                    cell = Math.min(Math.min(
+                                    previous[j] + DELETION_COST,
+                                    current[j - 1] + INSERTION_COST),
+                            previous[j - 1] + SUBSTITUTION_COST);
+                }
+                current[j] = Math.min(cell, over);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < lengthB) {
+                current[to + 1] = over;
+            }
+            if (rowMin >= over) {
+                return over;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[lengthB];
+    }
 }
@@ -1,7 +1,9 @@
 package cc.redpen.validator;
 
 import cc.redpen.RedPenException;
+import cc.redpen.util.AhoCorasick;
 import cc.redpen.util.DictionaryLoader;
+import cc.redpen.util.IndexedWordSet;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -18,6 +20,7 @@ public abstract class DictionaryValidator extends Validator {
   protected DictionaryLoader<Set<String>> loader = WORD_LIST;
   private String dictionaryPrefix;
   private Set<String> dictionary = emptySet();
+  private volatile AhoCorasick automaton;
 
   public DictionaryValidator() {
     super("list", new HashSet<>(), "dict", "");
@@ -63,4 +66,27 @@ public abstract class DictionaryValidator extends Validator {
   protected Stream<String> streamDictionary() {
     return concat(dictionary.stream(), getSet("list").stream());
   }
+
+  /**
+   * Get an automaton finding the words of the default and user dictionaries in a single scan.
+   *
+   * @return automaton of the default dictionary when there is no user dictionary, shared with its other users
+   */
+  protected AhoCorasick getDictionaryAutomaton() {
+    AhoCorasick result = automaton;
+    if (result == null) {
+      Set<String> customDictionary = getSet("list");
+      if ((customDictionary == null || customDictionary.isEmpty()) && dictionary instanceof IndexedWordSet) {
+        result = ((IndexedWordSet) dictionary).getAutomaton();
+      } else {
+        Set<String> words = new HashSet<>(dictionary);
+        if (customDictionary != null) {
+          words.addAll(customDictionary);
+        }
+        result = new AhoCorasick(words);
+      }
+      automaton = result;
+    }
+    return result;
+  }
 }
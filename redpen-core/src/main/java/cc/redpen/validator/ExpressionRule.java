@@ -20,6 +20,7 @@ package cc.redpen.validator;
 import cc.redpen.tokenizer.TokenElement;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class ExpressionRule {
@@ -34,6 +35,10 @@ public class ExpressionRule {
         return this;
     }
 
+    public List<TokenElement> getElements() {
+        return Collections.unmodifiableList(elements);
+    }
+
     public String toSurface() {
         String result = "";
         for (int i = 0; i < elements.size(); i++)
@@ -0,0 +1,176 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.validator;
+
+import cc.redpen.tokenizer.TokenElement;
+
+import java.util.*;
+
+/**
+ * Set of {@link ExpressionRule}s matched against the tokens of a sentence all at once.
+ * <p>
+ * The rules are compiled into a trie keyed on the surfaces of their elements, so finding the matching rules
+ * walks each position of the sentence once per token of the longest rule instead of trying every rule at every
+ * position. A rule matches as {@link ExpressionRule#match(List)} does. The rules keep the order they were added in.
+ * <p>
+ * The trie is built on first use and rebuilt after rules are added. Once {@link #freeze() frozen}, a set can no
+ * longer be modified and can be shared between threads.
+ */
+public final class ExpressionRuleSet extends AbstractSet<ExpressionRule> {
+    private final Map<ExpressionRule, Integer> indexes = new HashMap<>();
+    private final List<ExpressionRule> rules = new ArrayList<>();
+    private volatile Node root;
+    private boolean frozen;
+
+    public ExpressionRuleSet() {
+    }
+
+    public ExpressionRuleSet(Collection<ExpressionRule> rules) {
+        addAll(rules);
+    }
+
+    @Override
+    public boolean add(ExpressionRule rule) {
+        if (frozen) {
+            throw new UnsupportedOperationException("ExpressionRuleSet is frozen");
+        }
+        if (indexes.containsKey(rule)) {
+            return false;
+        }
+        indexes.put(rule, rules.size());
+        rules.add(rule);
+        root = null;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexes.containsKey(o);
+    }
+
+    @Override
+    public Iterator<ExpressionRule> iterator() {
+        return Collections.unmodifiableList(rules).iterator();
+    }
+
+    @Override
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * Make this set unmodifiable and build its trie.
+     *
+     * @return this set
+     */
+    public ExpressionRuleSet freeze() {
+        frozen = true;
+        compile();
+        return this;
+    }
+
+    /**
+     * Find the rules matching the given tokens.
+     *
+     * @param tokens tokens of a sentence
+     * @return the matching rules, in the order they were added in
+     */
+    public List<ExpressionRule> findAll(List<TokenElement> tokens) {
+        BitSet matched = match(tokens);
+        List<ExpressionRule> result = new ArrayList<>(matched.cardinality());
+        for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+            result.add(rules.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Find the first rule matching the given tokens.
+     *
+     * @param tokens tokens of a sentence
+     * @return the matching rule added first, if any
+     */
+    public Optional<ExpressionRule> findFirst(List<TokenElement> tokens) {
+        BitSet matched = match(tokens);
+        return matched.isEmpty() ? Optional.empty() : Optional.of(rules.get(matched.nextSetBit(0)));
+    }
+
+    private BitSet match(List<TokenElement> tokens) {
+        Node root = compile();
+        BitSet matched = new BitSet();
+        if (tokens.isEmpty()) {
+            return matched;
+        }
+        // rules without elements match any sentence with tokens
+        root.addRules(matched);
+        for (int i = 0; i < tokens.size(); i++) {
+            Node node = root;
+            for (int j = i; j < tokens.size(); j++) {
+                node = node.children.get(tokens.get(j).getSurface());
+                if (node == null) {
+                    break;
+                }
+                node.addRules(matched);
+            }
+        }
+        return matched;
+    }
+
+    private Node compile() {
+        Node compiled = root;
+        if (compiled == null) {
+            synchronized (this) {
+                compiled = root;
+                if (compiled == null) {
+                    compiled = new Node();
+                    for (int i = 0; i < rules.size(); i++) {
+                        Node node = compiled;
+                        for (TokenElement element : rules.get(i).getElements()) {
+                            node = node.children.computeIfAbsent(element.getSurface(), surface -> new Node());
+                        }
+                        node.rules.add(i);
+                    }
+                    compiled.freeze();
+                    root = compiled;
+                }
+            }
+        }
+        return compiled;
+    }
+
+    private static final class Node {
+        private Map<String, Node> children = new HashMap<>();
+        private List<Integer> rules = new ArrayList<>(1);
+        private int[] ruleIndexes;
+
+        private void freeze() {
+            ruleIndexes = rules.stream().mapToInt(Integer::intValue).toArray();
+            rules = null;
+            children.values().forEach(Node::freeze);
+            if (children.isEmpty()) {
+                children = Collections.emptyMap();
+            }
+        }
+
+        private void addRules(BitSet matched) {
+            for (int index : ruleIndexes) {
+                matched.set(index);
+            }
+        }
+    }
+}
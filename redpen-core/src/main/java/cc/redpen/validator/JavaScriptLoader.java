@@ -9,9 +9,12 @@ import cc.redpen.tokenizer.TokenElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jdk.nashorn.api.scripting.JSObject;
+
 import javax.script.*;
 import java.text.MessageFormat;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -19,46 +22,78 @@ import java.util.Set;
 public class JavaScriptLoader extends Validator {
     private static final Logger LOG = LoggerFactory.getLogger(JavaScriptLoader.class);
     private final String name;
-    private final Invocable invocable;
+    private final Bindings bindings;
     private final String message;
-    private static final ScriptEngineManager manager = new ScriptEngineManager();
+    private final MessageFormat messageFormat;
+    // a single engine compiles the scripts; each loader runs them in a global of its own
+    private static final ScriptEngine engine = new ScriptEngineManager().getEngineByName("nashorn");
+    private static final int COMPILED_SCRIPTS_SIZE = 256;
+    // compiled scripts keyed by their source, shared by the loaders running the same script
+    private static final Map<String, CompiledScript> compiledScripts =
+            new LinkedHashMap<String, CompiledScript>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+                    return size() > COMPILED_SCRIPTS_SIZE;
+                }
+            };
 
     private static final String[] methodsToBeExposedToJS = {"getInt", "getFloat", "getString", "getBoolean", "getSet",
             "getConfigAttribute", "getSymbolTable", "addError", "addErrorWithPosition",
             "addLocalizedError", "addLocalizedErrorFromToken", "addLocalizedErrorWithPosition"};
 
+    private static final String BIND_METHODS;
+
+    static {
+        StringBuilder bindMethods = new StringBuilder();
+        for (String methodToBeExposed : methodsToBeExposedToJS) {
+            bindMethods.append(String.format(
+                    "var %s = Function.prototype.bind.call(redpenToBeBound.%s, redpenToBeBound);\n",
+                    methodToBeExposed, methodToBeExposed));
+        }
+        BIND_METHODS = bindMethods.toString();
+    }
+
+    private static final String BIND_TEST_CLASS =
+            "var _JavaScriptValidatorTest = Java.type('cc.redpen.validator.JavaScriptValidatorTest');";
+
+    private static final String CONFINE =
+            "java = undefined; javax = undefined; Java = undefined; load = undefined; redpenToBeBound = undefined;";
+
     JavaScriptLoader(String name, String script) throws RedPenException {
         this.name = name;
         setValidatorName(name);
-        ScriptEngine engine = manager.getEngineByName("nashorn");
         try {
-            engine.put("redpenToBeBound", this);
-
-
-            for (String methodToBeExposed : methodsToBeExposedToJS) {
-                engine.eval(String.format(
-                        "var %s = Function.prototype.bind.call(redpenToBeBound.%s, redpenToBeBound);",
-                        methodToBeExposed, methodToBeExposed));
-            }
+            bindings = engine.createBindings();
+            bindings.put("redpenToBeBound", this);
+            compile(BIND_METHODS).eval(bindings);
             try {
-                engine.eval("var _JavaScriptValidatorTest = Java.type('cc.redpen.validator.JavaScriptValidatorTest');");
-            } catch (RuntimeException e) {
+                compile(BIND_TEST_CLASS).eval(bindings);
+            } catch (RuntimeException | ScriptException e) {
                 if (!(e.getCause() instanceof ClassNotFoundException)) {
                     throw e;
                 }
             }
+            compile(CONFINE).eval(bindings);
 
-            engine.eval("java = undefined; javax = undefined; Java = undefined; load = undefined; redpenToBeBound = undefined;");
-
-            CompiledScript compiledScript = ((Compilable) engine).compile(script);
-            compiledScript.eval();
-            this.message = (String) engine.get("message");
-            this.invocable = (Invocable) engine;
+            compile(script).eval(bindings);
+            this.message = (String) bindings.get("message");
+            this.messageFormat = message != null ? new MessageFormat(message) : null;
         } catch (ScriptException e) {
             throw new RedPenException(e);
         }
     }
 
+    private static CompiledScript compile(String script) throws ScriptException {
+        synchronized (compiledScripts) {
+            CompiledScript compiled = compiledScripts.get(script);
+            if (compiled == null) {
+                compiled = ((Compilable) engine).compile(script);
+                compiledScripts.put(script, compiled);
+            }
+            return compiled;
+        }
+    }
+
     @Override
     public void preValidate(Sentence sentence) {
         call("preValidateSentence", sentence);
@@ -84,17 +119,21 @@ public class JavaScriptLoader extends Validator {
         call("validateSection", section);
     }
 
-    private Map<String, Boolean> functionExistenceMap = new HashMap<>();
+    // functions of the script, null for the ones it does not define
+    private final Map<String, JSObject> functions = new HashMap<>();
 
     private void call(String functionName, Object... args) {
-        Boolean functionExists = functionExistenceMap.getOrDefault(functionName, true);
-        if (functionExists) {
+        JSObject function = functions.get(functionName);
+        if (function == null && !functions.containsKey(functionName)) {
+            Object value = bindings.get(functionName);
+            function = value instanceof JSObject && ((JSObject) value).isFunction() ? (JSObject) value : null;
+            functions.put(functionName, function);
+        }
+        if (function != null) {
             try {
-                invocable.invokeFunction(functionName, args);
-            } catch (ScriptException e) {
+                function.call(null, args);
+            } catch (RuntimeException e) {
                 LOG.error("failed to invoke {}", functionName, e);
-            } catch (NoSuchMethodException ignore) {
-                functionExistenceMap.put(functionName, false);
             }
         }
     }
@@ -180,11 +219,11 @@ public class JavaScriptLoader extends Validator {
     }
 
     @Override
-    protected String getLocalizedErrorMessage(String key, Object... args) {
-        if (message != null) {
-            return MessageFormat.format(message, args);
+    protected MessageFormat getLocalizedErrorFormat(String key) {
+        if (messageFormat != null) {
+            return messageFormat;
         } else {
-            return super.getLocalizedErrorMessage(key, args);
+            return super.getLocalizedErrorFormat(key);
         }
     }
 }
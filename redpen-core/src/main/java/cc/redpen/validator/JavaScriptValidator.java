@@ -104,7 +104,7 @@ public class JavaScriptValidator extends Validator {
      * @return file content
      * @throws IOException when failed to load the file
      */
-    static String loadCached(File file) throws IOException {
+    static synchronized String loadCached(File file) throws IOException {
         Objects.requireNonNull(file);
         Long storedTimestamp = loadTime.get(file);
         if (storedTimestamp != null && storedTimestamp == file.lastModified()) {
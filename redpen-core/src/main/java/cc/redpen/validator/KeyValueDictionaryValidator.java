@@ -18,6 +18,7 @@
 package cc.redpen.validator;
 
 import cc.redpen.RedPenException;
+import cc.redpen.util.AhoCorasick;
 import cc.redpen.util.DictionaryLoader;
 
 import java.util.HashMap;
@@ -28,6 +29,7 @@ import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 public class KeyValueDictionaryValidator extends Validator {
     protected DictionaryLoader<Map<String, String>> loader = KEY_VALUE;
     private String dictionaryPrefix;
+    private volatile AhoCorasick automaton;
 
     public KeyValueDictionaryValidator() {
         super("map", new HashMap<>(), "dict", "");
@@ -60,6 +62,20 @@ public class KeyValueDictionaryValidator extends Validator {
         return getMap("map").containsKey(word);
     }
 
+    /**
+     * Get an automaton finding the keys of the dictionary in a single scan.
+     *
+     * @return automaton built on the first call
+     */
+    protected AhoCorasick getDictionaryAutomaton() {
+        AhoCorasick result = automaton;
+        if (result == null) {
+            result = new AhoCorasick(getMap("map").keySet());
+            automaton = result;
+        }
+        return result;
+    }
+
     protected String getValue(String word) {
         Map<String, String> dictionary = getMap("map");
         if (dictionary != null && dictionary.containsKey(word)) {
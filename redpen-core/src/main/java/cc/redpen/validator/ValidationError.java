@@ -21,16 +21,24 @@ import cc.redpen.config.ValidatorConfiguration;
 import cc.redpen.model.Sentence;
 import cc.redpen.parser.LineOffset;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.text.MessageFormat;
 import java.util.Optional;
 
 /**
  * Error to report invalid point from Validators.
+ * <p>
+ * Localized messages are formatted when they are first read, so errors which are discarded, for example by
+ * the preprocessor rules, never format their message.
  */
 public class ValidationError implements Serializable {
 
     private static final long serialVersionUID = -1273191135155157144L;
-    private final String message;
+    private String message;
+    private transient MessageFormat messageFormat;
+    private transient Object[] messageArguments;
     private final String validatorName;
     private final Sentence sentence;
     private final LineOffset startPosition;
@@ -138,7 +146,15 @@ public class ValidationError implements Serializable {
      * @return error message
      */
     public String getMessage() {
-        return message;
+        String formatted = message;
+        if (formatted == null) {
+            // the format is shared by the errors of a validator
+            synchronized (messageFormat) {
+                formatted = messageFormat.format(messageArguments);
+            }
+            message = formatted;
+        }
+        return formatted;
     }
 
     /**
@@ -150,6 +166,74 @@ public class ValidationError implements Serializable {
         return sentence.getStartPositionOffset();
     }
 
+    /**
+     * Copy this error to another sentence with the same content, such as the same sentence after the lines
+     * before it were edited. Positions are moved to the same characters of the given sentence.
+     *
+     * @param sentenceWithError sentence with the same content as the sentence of this error
+     * @return error at the given sentence
+     */
+    public ValidationError withSentence(Sentence sentenceWithError) {
+        return new ValidationError(validatorName, message, messageFormat, messageArguments, sentenceWithError,
+                moveTo(startPosition, sentenceWithError), moveTo(endPosition, sentenceWithError), level);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param validatorName     validator name
+     * @param errorMessage      error message
+     * @param sentenceWithError sentence containing validation error
+     * @param startPosition     position where error starts, null if not specified
+     * @param endPosition       position where error ends, null if not specified
+     * @param level             error level
+     */
+    public ValidationError(String validatorName, String errorMessage, Sentence sentenceWithError,
+            LineOffset startPosition, LineOffset endPosition, ValidatorConfiguration.LEVEL level) {
+        this(validatorName, errorMessage, null, null, sentenceWithError, startPosition, endPosition, level);
+    }
+
+    /**
+     * Constructor of an error whose message is formatted when it is first read.
+     *
+     * @param validatorName     validator name
+     * @param messageFormat     format of the error message
+     * @param messageArguments  immutable objects to format
+     * @param sentenceWithError sentence containing validation error
+     * @param startPosition     position where error starts, null if not specified
+     * @param endPosition       position where error ends, null if not specified
+     * @param level             error level
+     */
+    ValidationError(String validatorName, MessageFormat messageFormat, Object[] messageArguments, Sentence sentenceWithError,
+            LineOffset startPosition, LineOffset endPosition, ValidatorConfiguration.LEVEL level) {
+        this(validatorName, null, messageFormat, messageArguments, sentenceWithError, startPosition, endPosition, level);
+    }
+
+    private ValidationError(String validatorName, String errorMessage, MessageFormat messageFormat, Object[] messageArguments,
+            Sentence sentenceWithError, LineOffset startPosition, LineOffset endPosition, ValidatorConfiguration.LEVEL level) {
+        this.message = errorMessage;
+        this.messageFormat = messageFormat;
+        this.messageArguments = messageArguments;
+        this.validatorName = validatorName;
+        this.sentence = sentenceWithError;
+        this.startPosition = startPosition;
+        this.endPosition = endPosition;
+        this.level = level;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // the format and its arguments are not serialized
+        getMessage();
+        out.defaultWriteObject();
+    }
+
+    private LineOffset moveTo(LineOffset offset, Sentence target) {
+        if (offset == null) {
+            return null;
+        }
+        return sentence.getPosition(offset).flatMap(target::getOffset).orElse(offset);
+    }
+
     /**
      * Get sentence containing the error.
      *
@@ -202,7 +286,7 @@ public class ValidationError implements Serializable {
     @Override
     public String toString() {
         return "ValidationError{" +
-                "message='" + message + '\'' +
+                "message='" + getMessage() + '\'' +
                 ", validatorName='" + validatorName + '\'' +
                 ", sentence=" + sentence +
                 ", startPosition=" + startPosition +
@@ -27,6 +27,7 @@ import cc.redpen.model.Sentence;
 import cc.redpen.parser.LineOffset;
 import cc.redpen.tokenizer.TokenElement;
 import cc.redpen.util.DictionaryLoader;
+import cc.redpen.util.IndexedWordSet;
 import cc.redpen.util.RuleExtractor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +35,7 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.lang.Boolean.parseBoolean;
 import static java.lang.Double.parseDouble;
@@ -48,12 +50,33 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 public abstract class Validator {
     private static final Logger LOG = LoggerFactory.getLogger(Validator.class);
     private final static ResourceBundle.Control fallbackControl = ResourceBundle.Control.getNoFallbackControl(FORMAT_DEFAULT);
+    // whether messages can be formatted lazily, false when a subclass formats them its own way
+    private final static ClassValue<Boolean> lazyMessages = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type; c != Validator.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("getLocalizedErrorMessage", String.class, Object[].class);
+                    return false;
+                } catch (NoSuchMethodException e) {
+                    // not overridden at this level
+                }
+            }
+            return true;
+        }
+    };
+    private final static Set<Class<?>> immutableArguments = new HashSet<>(Arrays.asList(
+            String.class, Integer.class, Long.class, Short.class, Byte.class, Double.class, Float.class,
+            Character.class, Boolean.class));
 
     private Map<String, Object> defaultProps;
+    // configured values of the default properties, converted once to the types of the defaults
+    private Map<String, Object> boundProps = Collections.emptyMap();
     private ResourceBundle errorMessages = null;
     protected ValidatorConfiguration config;
     protected Configuration globalConfig;
     private Locale locale;
+    private final Map<String, MessageFormat> errorFormats = new ConcurrentHashMap<>();
     private String validatorName = this.getClass().getSimpleName();
 
     public Validator() {
@@ -80,10 +103,20 @@ public abstract class Validator {
         }
     }
 
-    private List<ValidationError> errors;
+    // errors are collected per thread, so that instances of context-free validators can be shared
+    private final ThreadLocal<List<ValidationError>> errors = new ThreadLocal<>();
 
+    /**
+     * Set the list receiving the errors reported by this validator on the current thread.
+     *
+     * @param errors error list, or null to release the list of the current thread
+     */
     public void setErrorList(List<ValidationError> errors){
-        this.errors = errors;
+        if (errors == null) {
+            this.errors.remove();
+        } else {
+            this.errors.set(errors);
+        }
     }
 
     /**
@@ -150,14 +183,102 @@ public abstract class Validator {
         return Collections.emptyList();
     }
 
+    /**
+     * Return true when the errors reported by {@link #validate(Sentence)} depend only on the given sentence and the
+     * configuration, i.e. the validator neither uses preValidate nor keeps state between sentences.
+     * Sentences of such validators may be validated out of order and on several threads, and a single instance is
+     * shared by all the validation runs of a {@link cc.redpen.ValidationPlan}.
+     * {@link cc.redpen.validator.Validator} returns false. Validator implementation satisfying the condition can override this method.
+     *
+     * @return true if sentences can be validated independently of each other
+     */
+    public boolean isSentenceContextFree() {
+        return false;
+    }
+
+    /**
+     * Return true when the errors reported on a document depend only on that document and the configuration,
+     * not on the other documents validated together with it. Errors of such validators can be kept for a document
+     * as long as it does not change.
+     * {@link cc.redpen.validator.Validator} returns {@link #isSentenceContextFree()}. Validator implementation
+     * satisfying the condition can override this method.
+     *
+     * @return true if documents can be validated independently of each other
+     */
+    public boolean isDocumentContextFree() {
+        return isSentenceContextFree();
+    }
+
+    /**
+     * Return true when the errors reported by {@link #validate(Section)} depend only on the given section and the
+     * configuration, i.e. the validator neither uses preValidate nor keeps state between sections.
+     * Errors of such validators can be kept for a section as long as its sentences and structure do not change.
+     * {@link cc.redpen.validator.Validator} returns false. Validator implementation satisfying the condition can override this method.
+     *
+     * @return true if sections can be validated independently of each other
+     */
+    public boolean isSectionContextFree() {
+        return false;
+    }
+
     public void preInit(ValidatorConfiguration config, Configuration globalConfig) throws RedPenException {
         this.config = config;
         this.globalConfig = globalConfig;
+        convertProperties();
         init();
+        bindProperties();
+    }
+
+    /**
+     * Convert the configured values of the properties having a default value to the type of that default,
+     * so that invalid values are reported when the configuration is loaded and typed getters do not parse
+     * the values on each call.
+     *
+     * @throws RedPenException when a configured value cannot be converted
+     */
+    private void convertProperties() throws RedPenException {
+        Map<String, Object> bound = new HashMap<>();
+        for (Map.Entry<String, Object> property : defaultProps.entrySet()) {
+            String value = config != null ? config.getProperty(property.getKey()) : null;
+            if (value != null) {
+                Object converted = convertProperty(property.getKey(), value, property.getValue());
+                if (converted != null) {
+                    bound.put(property.getKey(), converted);
+                }
+            }
+        }
+        boundProps = bound;
+    }
+
+    private Object convertProperty(String name, String value, Object defaultValue) throws RedPenException {
+        try {
+            if (defaultValue instanceof Integer) {
+                return Integer.valueOf(value);
+            } else if (defaultValue instanceof Float) {
+                return Float.valueOf(value);
+            } else if (defaultValue instanceof Double) {
+                return Double.valueOf(value);
+            } else if (defaultValue instanceof Boolean) {
+                if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+                    return Boolean.valueOf(value);
+                }
+            } else if (defaultValue instanceof Set) {
+                // empty lists keep the default
+                return isEmpty(value) ? null : parseSet(value);
+            } else if (defaultValue instanceof Map) {
+                return isEmpty(value) ? null : parseMap(value);
+            } else {
+                return value;
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            // reported below
+        }
+        throw new RedPenException("Invalid value \"" + value + "\" of property " + name + " for " + validatorName);
     }
 
     void setLocale(Locale locale) {
         this.locale = locale;
+        errorFormats.clear();
         // getPackage() would return null for default package
         String packageName = this.getClass().getPackage() != null ? this.getClass().getPackage().getName() : "";
         try {
@@ -188,12 +309,26 @@ public abstract class Validator {
     protected void init() throws RedPenException {
     }
 
+    /**
+     * Copy property values into fields, for validators reading them on each sentence. Called once, after
+     * {@link #init()}, so that the values set up there are seen. Fields keep the defaults they are declared with
+     * when the validator is used without configuration.
+     * {@link cc.redpen.validator.Validator} provides empty implementation.
+     *
+     * @throws RedPenException when a property value is invalid
+     */
+    protected void bindProperties() throws RedPenException {
+    }
+
     public Map<String, Object> getProperties() {
         return defaultProps;
     }
 
     Object getOrDefault(String name){
-        Object value = null;
+        Object value = boundProps.get(name);
+        if (value != null) {
+            return value;
+        }
         if(config != null){
             value = config.getProperty(name);
         }
@@ -236,42 +371,41 @@ public abstract class Validator {
 
     @SuppressWarnings("unchecked")
     protected Set<String> getSet(String name) {
-        Object value = null;
-        if(config != null){
-            value = config.getProperty(name);
-        }
-        if (isEmpty(((String)value))) {
-            value = defaultProps.get(name);
-        }
-        if(value == null){
-            return null;
-        }
-        if(value instanceof Set){
+        Object value = getCollectionOrDefault(name);
+        if(value == null || value instanceof Set){
             return (Set<String>) value;
         }
-        Set<String> newValue = Arrays.stream(((String)value).split(",")).map(String::toLowerCase).collect(toSet());
-        defaultProps.put(name,newValue);
-        return newValue;
+        // properties whose default is not a set are parsed on each call
+        return parseSet((String)value);
     }
 
     @SuppressWarnings("unchecked")
     protected Map<String, String> getMap(String name) {
-        Object value = null;
+        Object value = getCollectionOrDefault(name);
+        if(value == null || value instanceof Map){
+            return (Map<String,String>) value;
+        }
+        // properties whose default is not a map are parsed on each call
+        return parseMap((String)value);
+    }
+
+    // configured lists converted by convertProperties, else the configured value unless empty, else the default
+    private Object getCollectionOrDefault(String name) {
+        Object value = boundProps.get(name);
+        if (value != null) {
+            return value;
+        }
         if(config != null){
             value = config.getProperty(name);
         }
         if (isEmpty(((String)value))) {
             value = defaultProps.get(name);
         }
-        if(value == null){
-            return null;
-        }
-        if(value instanceof Map){
-            return (Map<String,String>) value;
-        }
-        Map<String, String> newValue = parseMap((String)value);
-        defaultProps.put(name,newValue);
-        return newValue;
+        return value;
+    }
+
+    private Set<String> parseSet(String setStr) {
+        return Arrays.stream(setStr.split(",")).map(String::toLowerCase).collect(toSet());
     }
 
     private Map<String,String> parseMap(String mapStr) {
@@ -361,7 +495,7 @@ public abstract class Validator {
      * @param sentenceWithError sentence
      */
     protected void addError(String message, Sentence sentenceWithError) {
-        errors.add(new ValidationError(this.validatorName, message, sentenceWithError, getLevel()));
+        errors.get().add(new ValidationError(this.validatorName, message, sentenceWithError, getLevel()));
     }
 
     /**
@@ -374,7 +508,7 @@ public abstract class Validator {
      */
     protected void addErrorWithPosition(String message, Sentence sentenceWithError,
                                         int start, int end) {
-        errors.add(new ValidationError(this.validatorName, message, sentenceWithError, start, end, getLevel()));
+        errors.get().add(new ValidationError(this.validatorName, message, sentenceWithError, start, end, getLevel()));
     }
 
     /**
@@ -384,7 +518,7 @@ public abstract class Validator {
      * @param args              objects to format
      */
     protected void addLocalizedError(Sentence sentenceWithError, Object... args) {
-        errors.add(new ValidationError(this.validatorName, getLocalizedErrorMessage(null, args), sentenceWithError, getLevel()));
+        addLocalizedError((String) null, sentenceWithError, args);
     }
 
     /**
@@ -395,7 +529,12 @@ public abstract class Validator {
      * @param args              objects to format
      */
     protected void addLocalizedError(String messageKey, Sentence sentenceWithError, Object... args) {
-        errors.add(new ValidationError(this.validatorName, getLocalizedErrorMessage(messageKey, args), sentenceWithError, getLevel()));
+        if (isLazy(args)) {
+            errors.get().add(new ValidationError(this.validatorName, getLocalizedErrorFormat(messageKey), args,
+                    sentenceWithError, null, null, getLevel()));
+        } else {
+            errors.get().add(new ValidationError(this.validatorName, getLocalizedErrorMessage(messageKey, args), sentenceWithError, getLevel()));
+        }
     }
 
     /**
@@ -405,14 +544,14 @@ public abstract class Validator {
      * @param token             the TokenElement that has the error
      */
     protected void addLocalizedErrorFromToken(Sentence sentenceWithError, TokenElement token, Object... args) {
-        List<Object> argList = new ArrayList<>();
-        for(Object o : args) argList.add(o);
-        argList.add(0, token.getSurface());
+        Object[] tokenArgs = new Object[args.length + 1];
+        tokenArgs[0] = token.getSurface();
+        System.arraycopy(args, 0, tokenArgs, 1, args.length);
         addLocalizedErrorWithPosition(
                 sentenceWithError,
                 token.getOffset(),
                 token.getOffset() + token.getSurface().length(),
-                argList.toArray()
+                tokenArgs
         );
     }
 
@@ -440,7 +579,12 @@ public abstract class Validator {
      */
     protected void addLocalizedErrorWithPosition(String messageKey, Sentence sentenceWithError,
                                                  int start, int end, Object... args) {
-        errors.add(new ValidationError(this.validatorName, getLocalizedErrorMessage(messageKey, args), sentenceWithError, start, end, getLevel()));
+        if (isLazy(args)) {
+            errors.get().add(new ValidationError(this.validatorName, getLocalizedErrorFormat(messageKey), args, sentenceWithError,
+                    sentenceWithError.getOffset(start).get(), sentenceWithError.getOffset(end).get(), getLevel()));
+        } else {
+            errors.get().add(new ValidationError(this.validatorName, getLocalizedErrorMessage(messageKey, args), sentenceWithError, start, end, getLevel()));
+        }
     }
 
     /**
@@ -451,13 +595,43 @@ public abstract class Validator {
      * @return localized error message
      */
     protected String getLocalizedErrorMessage(String key, Object... args) {
-        if (errorMessages != null) {
-            String suffix = key != null ? "." + key : "";
-            MessageFormat fmt = new MessageFormat(errorMessages.getString(this.getClass().getSimpleName() + suffix), locale);
+        MessageFormat fmt = getLocalizedErrorFormat(key);
+        synchronized (fmt) {
             return fmt.format(args);
-        } else {
+        }
+    }
+
+    /**
+     * returns the format of the localized error message for the given key. Formats are created once per validator
+     * and shared by its errors, which synchronize on them while formatting.
+     *
+     * @param key message key
+     * @return format of the localized error message
+     */
+    protected MessageFormat getLocalizedErrorFormat(String key) {
+        if (errorMessages == null) {
             throw new AssertionError("message resource not found.");
         }
+        return errorFormats.computeIfAbsent(key != null ? key : "", k -> {
+            String suffix = key != null ? "." + key : "";
+            return new MessageFormat(errorMessages.getString(this.getClass().getSimpleName() + suffix), locale);
+        });
+    }
+
+    /**
+     * Tell whether the message of an error can be formatted when it is read rather than now.
+     * Arguments which may change in the meantime are formatted right away.
+     */
+    private boolean isLazy(Object[] args) {
+        if (!lazyMessages.get(getClass())) {
+            return false;
+        }
+        for (Object arg : args) {
+            if (arg != null && !immutableArguments.contains(arg.getClass())) {
+                return false;
+            }
+        }
+        return true;
     }
 
 
@@ -507,7 +681,7 @@ public abstract class Validator {
      */
     protected void addValidationErrorWithPosition(Sentence sentenceWithError,
                                                   Optional<LineOffset> start, Optional<LineOffset> end, Object... args) {
-        errors.add(new ValidationError(this.getClass(), getLocalizedErrorMessage(null, args), sentenceWithError, start.get(), end.get()));
+        errors.get().add(new ValidationError(this.getClass(), getLocalizedErrorMessage(null, args), sentenceWithError, start.get(), end.get()));
     }
 
     /**
@@ -522,7 +696,7 @@ public abstract class Validator {
      */
     protected void addValidationErrorWithPosition(String messageKey, Sentence sentenceWithError,
                                                   Optional<LineOffset> start, Optional<LineOffset> end, Object... args) {
-        errors.add(new ValidationError(this.getClass(), getLocalizedErrorMessage(messageKey, args), sentenceWithError, start.get(), end.get()));
+        errors.get().add(new ValidationError(this.getClass(), getLocalizedErrorMessage(messageKey, args), sentenceWithError, start.get(), end.get()));
     }
 
     @Override public String toString() {
@@ -551,22 +725,23 @@ public abstract class Validator {
                 } else {
                     LOG.error("Skip to load line... Invalid line: " + line);
                 }
-            });
+            }, Collections::unmodifiableMap);
 
     /**
      * Resource Extractor loads rule dictionary
      */
-    protected final static DictionaryLoader<Set<ExpressionRule>> RULE =
-            new DictionaryLoader<>(HashSet::new, (set, line) -> set.add(RuleExtractor.run(line)));
+    protected final static DictionaryLoader<ExpressionRuleSet> RULE =
+            new DictionaryLoader<>(ExpressionRuleSet::new, (set, line) -> set.add(RuleExtractor.run(line)),
+                    ExpressionRuleSet::freeze);
 
     /**
      * Resource Extractor loads word list
      */
     protected final static DictionaryLoader<Set<String>> WORD_LIST =
-            new DictionaryLoader<>(HashSet::new, Set::add);
+            new DictionaryLoader<>(HashSet::new, Set::add, IndexedWordSet::new);
     /**
      * Resource Extractor loads word list while lowercasting lines
      */
     protected final static DictionaryLoader<Set<String>> WORD_LIST_LOWERCASED =
-            new DictionaryLoader<>(HashSet::new, (set, line) -> set.add(line.toLowerCase()));
+            new DictionaryLoader<>(HashSet::new, (set, line) -> set.add(line.toLowerCase()), IndexedWordSet::new);
 }
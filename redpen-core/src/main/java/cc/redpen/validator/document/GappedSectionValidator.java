@@ -50,4 +50,9 @@ final public class GappedSectionValidator extends Validator {
             }
         }
     }
+
+    @Override
+    public boolean isDocumentContextFree() {
+        return true;
+    }
 }
@@ -26,6 +26,7 @@ import cc.redpen.util.DictionaryLoader;
 import cc.redpen.validator.sentence.SpellingDictionaryValidator;
 
 import java.text.DecimalFormat;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -35,6 +36,11 @@ import java.util.Map;
 public class WordFrequencyValidator extends SpellingDictionaryValidator {
 
     private static final String DEFAULT_RESOURCE_PATH = "default-resources/word-frequency";
+    private static final DictionaryLoader<Map<String, Double>> WORD_FREQUENCIES =
+            new DictionaryLoader<>(HashMap::new, (map, line) -> {
+                String[] fields = line.split(" ");
+                map.put(fields[1], Double.valueOf(fields[0]));
+            }, Collections::unmodifiableMap);
 
     // reference set of word frequencies
     private Map<String, Double> referenceWordFrequencies;
@@ -57,11 +63,7 @@ public class WordFrequencyValidator extends SpellingDictionaryValidator {
         super.init();
         String defaultDictionaryFile = DEFAULT_RESOURCE_PATH + "/word-frequency-" + getSymbolTable().getLang() + ".dat";
         referenceWordDeviations = new HashMap<>();
-        referenceWordFrequencies =
-                new DictionaryLoader<Map<String, Double>>(HashMap::new, (set, line) -> {
-                    String[] fields = line.split(" ");
-                    set.put(fields[1], Double.valueOf(fields[0]));
-                }).loadCachedFromResource(defaultDictionaryFile, "word frequencies");
+        referenceWordFrequencies = WORD_FREQUENCIES.loadCachedFromResource(defaultDictionaryFile, "word frequencies");
         initDeviations(referenceWordFrequencies, referenceWordDeviations);
     }
 
@@ -56,4 +56,14 @@ public class EmptySectionValidator extends Validator {
             sectionLevelLimit = Integer.parseInt(limit.get());
         }
     }
+
+    @Override
+    public boolean isDocumentContextFree() {
+        return true;
+    }
+
+    @Override
+    public boolean isSectionContextFree() {
+        return true;
+    }
 }
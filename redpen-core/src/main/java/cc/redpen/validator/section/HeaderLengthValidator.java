@@ -40,4 +40,14 @@ public class HeaderLengthValidator extends Validator {
             addLocalizedError(section.getJoinedHeaderContents(), getInt("max_len"));
         }
     }
+
+    @Override
+    public boolean isDocumentContextFree() {
+        return true;
+    }
+
+    @Override
+    public boolean isSectionContextFree() {
+        return true;
+    }
 }
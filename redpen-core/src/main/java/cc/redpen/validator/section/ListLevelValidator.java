@@ -43,4 +43,13 @@ public class ListLevelValidator extends Validator {
         }
     }
 
+    @Override
+    public boolean isDocumentContextFree() {
+        return true;
+    }
+
+    @Override
+    public boolean isSectionContextFree() {
+        return true;
+    }
 }
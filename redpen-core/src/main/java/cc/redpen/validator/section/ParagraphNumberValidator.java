@@ -36,4 +36,14 @@ final public class ParagraphNumberValidator extends Validator {
             addLocalizedError(section.getJoinedHeaderContents(), getInt("max_num"));
         }
     }
+
+    @Override
+    public boolean isDocumentContextFree() {
+        return true;
+    }
+
+    @Override
+    public boolean isSectionContextFree() {
+        return true;
+    }
 }
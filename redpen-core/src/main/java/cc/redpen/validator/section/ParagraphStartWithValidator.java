@@ -46,4 +46,14 @@ public final class ParagraphStartWithValidator extends Validator {
             }
         }
     }
+
+    @Override
+    public boolean isDocumentContextFree() {
+        return true;
+    }
+
+    @Override
+    public boolean isSectionContextFree() {
+        return true;
+    }
 }
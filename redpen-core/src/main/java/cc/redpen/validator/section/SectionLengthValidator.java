@@ -44,4 +44,14 @@ final public class SectionLengthValidator extends Validator {
             addLocalizedError(section.getJoinedHeaderContents(), sectionCharNumber, getInt("max_num"));
         }
     }
+
+    @Override
+    public boolean isDocumentContextFree() {
+        return true;
+    }
+
+    @Override
+    public boolean isSectionContextFree() {
+        return true;
+    }
 }
@@ -35,4 +35,14 @@ final public class SectionLevelValidator extends Validator {
             addLocalizedError(section.getJoinedHeaderContents(), level);
         }
     }
+
+    @Override
+    public boolean isDocumentContextFree() {
+        return true;
+    }
+
+    @Override
+    public boolean isSectionContextFree() {
+        return true;
+    }
 }
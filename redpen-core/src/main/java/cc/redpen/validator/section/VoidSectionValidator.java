@@ -61,4 +61,14 @@ final public class VoidSectionValidator extends Validator {
             sectionLevelLimit = Integer.parseInt(limit.get());
         }
     }
+
+    @Override
+    public boolean isDocumentContextFree() {
+        return true;
+    }
+
+    @Override
+    public boolean isSectionContextFree() {
+        return true;
+    }
 }
@@ -29,14 +29,13 @@ import static cc.redpen.config.SymbolType.COMMA;
 public final class CommaNumberValidator extends Validator {
 
     public CommaNumberValidator() {
-        super("max_num", 3);
+        super("max_num", DEFAULT_MAX_NUM);
     }
 
-    private char comma;
+    private static final int DEFAULT_MAX_NUM = 3;
 
-    private int getMaxNum() {
-        return getInt("max_num");
-    }
+    private char comma;
+    private int maxNum = DEFAULT_MAX_NUM;
 
     @Override
     public void validate(Sentence sentence) {
@@ -47,13 +46,23 @@ public final class CommaNumberValidator extends Validator {
             commaCount++;
             content = content.substring(position + 1, content.length());
         }
-        if (getMaxNum() < commaCount) {
-            addLocalizedError(sentence, commaCount, getMaxNum());
+        if (maxNum < commaCount) {
+            addLocalizedError(sentence, commaCount, maxNum);
         }
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     @Override
     protected void init() throws RedPenException {
         this.comma = getSymbolTable().getValueOrFallbackToDefault(COMMA);
     }
+
+    @Override
+    protected void bindProperties() throws RedPenException {
+        this.maxNum = getInt("max_num");
+    }
 }
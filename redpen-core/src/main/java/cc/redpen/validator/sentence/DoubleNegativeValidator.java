@@ -21,10 +21,12 @@ import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
 import cc.redpen.tokenizer.TokenElement;
 import cc.redpen.validator.ExpressionRule;
+import cc.redpen.validator.ExpressionRuleSet;
 import cc.redpen.validator.Validator;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
 
 import static java.util.Arrays.asList;
@@ -37,17 +39,16 @@ public class DoubleNegativeValidator extends Validator {
             "default-resources/double-negative/double-negative-expression-";
     private static final String DEFAULT_RESOURCE_WORD_PATH =
             "default-resources/double-negative/double-negative-word-";
-    private Set<ExpressionRule> invalidExpressions;
+    private ExpressionRuleSet invalidExpressions;
     private Set<String> negativeWords;
 
     @Override
     public void validate(Sentence sentence) {
         // validate with expressions (phrase)
-        for (ExpressionRule rule : invalidExpressions) {
-            if (rule.match(sentence.getTokens())) {
-                addLocalizedError(sentence, rule.toSurface() );
-                return;
-            }
+        Optional<ExpressionRule> invalidExpression = invalidExpressions.findFirst(sentence.getTokens());
+        if (invalidExpression.isPresent()) {
+            addLocalizedError(sentence, invalidExpression.get().toSurface());
+            return;
         }
 
         // validate with set of negative words
@@ -66,6 +67,11 @@ public class DoubleNegativeValidator extends Validator {
         }
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     @Override
     protected void init() throws RedPenException {
         invalidExpressions = RULE.loadCachedFromResource(
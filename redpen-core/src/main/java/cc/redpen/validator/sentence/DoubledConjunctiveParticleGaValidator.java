@@ -52,6 +52,11 @@ public class DoubledConjunctiveParticleGaValidator extends Validator {
         }
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     @Override
     public List<String> getSupportedLanguages() {
         return singletonList(Locale.JAPANESE.getLanguage());
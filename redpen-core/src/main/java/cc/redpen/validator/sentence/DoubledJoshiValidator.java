@@ -17,6 +17,7 @@
  */
 package cc.redpen.validator.sentence;
 
+import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
 import cc.redpen.tokenizer.TokenElement;
 import cc.redpen.validator.DictionaryValidator;
@@ -33,8 +34,17 @@ import static java.util.Collections.singletonList;
  * Note: the min_interval was introduced following textlint-rule-no-doubled-joshi.
  */
 public class DoubledJoshiValidator extends DictionaryValidator {
+    private static final int DEFAULT_MIN_INTERVAL = 1;
+
+    private int minInterval = DEFAULT_MIN_INTERVAL;
+
     public DoubledJoshiValidator() {
-        super("min_interval", 1);
+        super("min_interval", DEFAULT_MIN_INTERVAL);
+    }
+
+    @Override
+    protected void bindProperties() throws RedPenException {
+        minInterval = getInt("min_interval");
     }
 
     @Override
@@ -65,13 +75,18 @@ public class DoubledJoshiValidator extends DictionaryValidator {
                 int currentPosition = getPosition(token, positions);
                 prev = token;
                 if (prevPosition == -1 || currentPosition == -1) { continue; }
-                if ((currentPosition - prevPosition) <= getInt("min_interval")) {
+                if ((currentPosition - prevPosition) <= minInterval) {
                     addLocalizedError(sentence, joshi);
                 }
             }
         }
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     private int getPosition(TokenElement token, Map<TokenElement, Integer> positions) {
         if (token == null) { return -1; }
         return positions.get(token);
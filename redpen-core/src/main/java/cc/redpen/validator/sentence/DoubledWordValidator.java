@@ -26,9 +26,13 @@ import java.util.HashSet;
 import java.util.Set;
 
 public final class DoubledWordValidator extends DictionaryValidator {
+    private static final int DEFAULT_MIN_LENGTH = 3;
+
+    private int minLength = DEFAULT_MIN_LENGTH;
+
     public DoubledWordValidator() {
         super("doubled-word/doubled-word-skiplist");
-        addDefaultProperties("min_len", 3); // do not report words shorter than this
+        addDefaultProperties("min_len", DEFAULT_MIN_LENGTH); // do not report words shorter than this
     }
 
     @Override
@@ -38,15 +42,25 @@ public final class DoubledWordValidator extends DictionaryValidator {
             getProperties().put("min_len", 1);
     }
 
+    @Override
+    protected void bindProperties() throws RedPenException {
+        minLength = getInt("min_len");
+    }
+
     @Override
     public void validate(Sentence sentence) {
         Set<String> surfaces = new HashSet<>();
         for (TokenElement token : sentence.getTokens()) {
             String word = token.getSurface().toLowerCase();
-            if (word.length() >= getInt("min_len") && surfaces.contains(word) && !inDictionary(word)) {
+            if (word.length() >= minLength && surfaces.contains(word) && !inDictionary(word)) {
                 addLocalizedErrorFromToken(sentence, token);
             }
             surfaces.add(word);
         }
     }
+
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
 }
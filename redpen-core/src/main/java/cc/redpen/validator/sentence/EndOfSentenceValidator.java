@@ -63,6 +63,11 @@ public final class EndOfSentenceValidator extends Validator {
         }
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     @Override
     protected void init() throws RedPenException {
         period = getSymbolTable().getSymbol(FULL_STOP).getValue();
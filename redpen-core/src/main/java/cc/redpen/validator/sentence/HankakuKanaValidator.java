@@ -28,4 +28,9 @@ public class HankakuKanaValidator extends Validator {
                     sentence.getContent().charAt(matcher.start()));
         }
     }
+
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
 }
@@ -56,4 +56,9 @@ public class HyphenationValidator extends SpellingDictionaryValidator {
             }
         }
     }
+
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
 }
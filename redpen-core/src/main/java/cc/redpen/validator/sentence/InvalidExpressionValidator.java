@@ -18,6 +18,7 @@
 package cc.redpen.validator.sentence;
 
 import cc.redpen.model.Sentence;
+import cc.redpen.util.AhoCorasick;
 import cc.redpen.validator.DictionaryValidator;
 
 /**
@@ -30,11 +31,13 @@ public final class InvalidExpressionValidator extends DictionaryValidator {
 
     @Override
     public void validate(Sentence sentence) {
-        streamDictionary().forEach(value -> {
-            int startPosition = sentence.getContent().indexOf(value);
-            if (startPosition != -1) {
-                addLocalizedErrorWithPosition(sentence, startPosition, startPosition + value.length(), value);
-            }
-        });
+        AhoCorasick automaton = getDictionaryAutomaton();
+        automaton.match(sentence.getContent(), (index, start, end) ->
+                addLocalizedErrorWithPosition(sentence, start, end, automaton.getPatterns().get(index)));
+    }
+
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
     }
 }
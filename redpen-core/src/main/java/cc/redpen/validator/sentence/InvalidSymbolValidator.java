@@ -36,6 +36,11 @@ public final class InvalidSymbolValidator extends Validator {
         }
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     private void validateSymbol(Sentence sentence, SymbolType symbolType) {
         String sentenceStr = sentence.getContent();
         Symbol symbol = getSymbolTable().getSymbol(symbolType);
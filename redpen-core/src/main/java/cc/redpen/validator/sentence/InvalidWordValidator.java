@@ -48,4 +48,9 @@ public final class InvalidWordValidator extends DictionaryValidator {
             }
         }
     }
+
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
 }
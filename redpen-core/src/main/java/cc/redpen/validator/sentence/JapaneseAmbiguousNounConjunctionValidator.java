@@ -82,6 +82,11 @@ public class JapaneseAmbiguousNounConjunctionValidator extends DictionaryValidat
         }
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     @Override
     public List<String> getSupportedLanguages() {
         return singletonList(Locale.JAPANESE.getLanguage());
@@ -54,4 +54,9 @@ public class JapaneseJoyoKanjiValidator extends Validator {
             }
         }
     }
+
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
 }
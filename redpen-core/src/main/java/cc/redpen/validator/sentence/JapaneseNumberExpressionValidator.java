@@ -63,6 +63,11 @@ public class JapaneseNumberExpressionValidator extends Validator {
         }
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     private List<Pattern> patternsOfCurrentMode() {
         switch (getString("mode")) {
         case "numeric":
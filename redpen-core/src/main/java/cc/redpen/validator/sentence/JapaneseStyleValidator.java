@@ -17,6 +17,7 @@
  */
 package cc.redpen.validator.sentence;
 
+import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
 import cc.redpen.validator.Validator;
 
@@ -36,11 +37,17 @@ public class JapaneseStyleValidator extends Validator {
 
     private int dearuCount = 0;
     private int desumasuCount = 0;
+    private boolean forceDearu = false;
 
     public JapaneseStyleValidator() {
         super("ForceDearu", false);		// Use autodetection of DEARU/DESUMASU
     }
 
+    @Override
+    protected void bindProperties() throws RedPenException {
+        forceDearu = getBoolean("ForceDearu");
+    }
+
     @Override
     public void preValidate(Sentence sentence) {
         // match content
@@ -74,8 +81,6 @@ public class JapaneseStyleValidator extends Validator {
 
     @Override
     public void validate(Sentence sentence) {
-        boolean forceDearu = getBoolean("ForceDearu");
-
         if (dearuCount > desumasuCount || forceDearu ) {
             detectPattern(sentence, DESUMASU_PATTERN);
         } else {
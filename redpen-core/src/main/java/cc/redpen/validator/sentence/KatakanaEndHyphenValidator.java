@@ -17,10 +17,12 @@
  */
 package cc.redpen.validator.sentence;
 
+import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
 import cc.redpen.util.StringUtils;
 import cc.redpen.validator.DictionaryValidator;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
@@ -60,6 +62,13 @@ public final class KatakanaEndHyphenValidator extends DictionaryValidator {
      */
     private static final char KATAKANA_MIDDLE_DOT = '・';
 
+    private Set<String> customSkipList = Collections.emptySet();
+
+    @Override
+    protected void bindProperties() throws RedPenException {
+        customSkipList = getSet("list");
+    }
+
     @Override
     public List<String> getSupportedLanguages() {
         return singletonList(Locale.JAPANESE.getLanguage());
@@ -80,6 +89,11 @@ public final class KatakanaEndHyphenValidator extends DictionaryValidator {
         this.checkKatakanaEndHyphen(sentence, katakana.toString(), sentence.getContent().length() - 1);
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     public static boolean isKatakanaEndHyphen(String katakana) {
         return (DEFAULT_KATAKANA_LIMIT_LENGTH < katakana.length() &&
                 katakana.charAt(katakana.length() - 1) == HYPHEN &&
@@ -91,7 +105,6 @@ public final class KatakanaEndHyphenValidator extends DictionaryValidator {
     }
 
     private void checkKatakanaEndHyphen(Sentence sentence, String katakana, int position) {
-        Set<String> customSkipList = getSet("list");
         if (customSkipList.isEmpty() || !customSkipList.contains(katakana)) {
             if (isKatakanaEndHyphen(katakana)) {
                 addLocalizedErrorWithPosition(sentence, position, position + 1, katakana);
@@ -19,7 +19,7 @@ package cc.redpen.validator.sentence;
 
 import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
-import cc.redpen.util.LevenshteinDistance;
+import cc.redpen.util.BKTree;
 import cc.redpen.util.StringUtils;
 import cc.redpen.validator.DictionaryValidator;
 
@@ -57,6 +57,10 @@ import static java.util.Collections.singletonList;
      * Katakana word dic with line number.
      */
     private HashMap<String, Integer> dic = new HashMap<>();
+    /**
+     * Index of the words in dic for similarity lookups.
+     */
+    private BKTree similarWords = new BKTree();
     /**
      * Exception word list.
      */
@@ -64,10 +68,18 @@ import static java.util.Collections.singletonList;
 
     private Map<String, Integer> katakanaWordFrequencies = new HashMap<>();
 
+    private static final float DEFAULT_MIN_RATIO = 0.3f;
+    private static final int DEFAULT_MIN_FREQUENCY = 5;
+    private static final int DEFAULT_MAX_IGNORE_LENGTH = 3;
+
+    private int maxIgnoreLength = DEFAULT_MAX_IGNORE_LENGTH;
+    private int minFrequency = DEFAULT_MIN_FREQUENCY;
+    private float minRatio = DEFAULT_MIN_RATIO;
+
     public KatakanaSpellCheckValidator() {
-        super("min_ratio", 0.3f, // The default threshold of similarity ratio between the length and the distance. The similarities are computed by edit distance.
-              "min_freq", 5, // The default threshold of word frequencies of Katakana Words.
-              "max_ignore_len", 3, // The default threshold value for the length of Katakana word to ignore
+        super("min_ratio", DEFAULT_MIN_RATIO, // The default threshold of similarity ratio between the length and the distance. The similarities are computed by edit distance.
+              "min_freq", DEFAULT_MIN_FREQUENCY, // The default threshold of word frequencies of Katakana Words.
+              "max_ignore_len", DEFAULT_MAX_IGNORE_LENGTH, // The default threshold value for the length of Katakana word to ignore
               "disable-default", false);
     }
 
@@ -119,25 +131,23 @@ import static java.util.Collections.singletonList;
     }
 
     private void checkKatakanaSpell(Sentence sentence, String katakana) {
-        if (katakana.length() <= getInt("max_ignore_len")) {
+        if (katakana.length() <= maxIgnoreLength) {
             return;
         }
         if (dic.containsKey(katakana) || exceptions.contains(katakana)
                 || getSet("list").contains(katakana) ||
                 (katakanaWordFrequencies.get(katakana) != null
-                        && katakanaWordFrequencies.get(katakana) > getInt("min_freq"))) {
+                        && katakanaWordFrequencies.get(katakana) > minFrequency)) {
             return;
         }
-        int minLsDistance = Math.round(katakana.length() * getFloat("min_ratio"));
-        boolean found = false;
-        for (String key : dic.keySet()) {
-            if (LevenshteinDistance.getDistance(key, katakana) <= minLsDistance) {
-                found = true;
-                addLocalizedError(sentence, katakana, key, dic.get(key).toString());
-            }
+        int minLsDistance = Math.round(katakana.length() * minRatio);
+        List<String> similar = similarWords.search(katakana, minLsDistance);
+        for (String key : similar) {
+            addLocalizedError(sentence, katakana, key, dic.get(key).toString());
         }
-        if (!found) {
+        if (similar.isEmpty()) {
             dic.put(katakana, sentence.getLineNumber());
+            similarWords.add(katakana);
         }
     }
 
@@ -149,4 +159,11 @@ import static java.util.Collections.singletonList;
             exceptions = WORD_LIST.loadCachedFromResource(defaultDictionaryFile, "katakana word dictionary");
         }
     }
+
+    @Override
+    protected void bindProperties() throws RedPenException {
+        maxIgnoreLength = getInt("max_ignore_len");
+        minFrequency = getInt("min_freq");
+        minRatio = getFloat("min_ratio");
+    }
 }
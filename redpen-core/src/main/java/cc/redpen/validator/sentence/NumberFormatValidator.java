@@ -30,6 +30,8 @@ public class NumberFormatValidator extends Validator {
 
     // specifies which characters delimite the decimal part of a number
     private String decimalDelimiters = DOT_DELIMITERS;
+    // whether four digit integers are taken as years and not checked
+    private boolean ignoreYears = true;
 
     public NumberFormatValidator() {
         super("decimal_delimiter_is_comma", false, "ignore_years", true);
@@ -47,6 +49,11 @@ public class NumberFormatValidator extends Validator {
         }
     }
 
+    @Override
+    protected void bindProperties() throws RedPenException {
+        ignoreYears = getBoolean("ignore_years");
+    }
+
     /**
      * Search for numbers in the sentence and ensure they are correctly formatted
      *
@@ -83,6 +90,11 @@ public class NumberFormatValidator extends Validator {
         validateNumber(sentence, startPosition, number);
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     /**
      * Inspect how a number is formatted and generate an error where appropriate
      */
@@ -110,7 +122,7 @@ public class NumberFormatValidator extends Validator {
             }
 
             // if it's a four digit integer and we are ignoring years, ignore this
-            if (getBoolean("ignore_years") && isInteger && (integerPortion.length() == 4)) {
+            if (ignoreYears && isInteger && (integerPortion.length() == 4)) {
                 return;
             }
 
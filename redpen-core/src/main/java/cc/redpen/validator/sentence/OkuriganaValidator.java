@@ -21,6 +21,7 @@ import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
 import cc.redpen.tokenizer.TokenElement;
 import cc.redpen.validator.ExpressionRule;
+import cc.redpen.validator.ExpressionRuleSet;
 import cc.redpen.validator.Validator;
 
 import java.util.HashSet;
@@ -34,10 +35,10 @@ import static java.util.Collections.singletonList;
 // Checks if the Japanese input sentences contain the invalid Okurigana style.
 public class OkuriganaValidator extends Validator {
     private static final Set<String> invalidOkurigana;
-    private static final Set<ExpressionRule> invalidOkuriganaTokens;
+    private static final ExpressionRuleSet invalidOkuriganaTokens;
 
     static {
-        invalidOkuriganaTokens = new HashSet<>();
+        invalidOkuriganaTokens = new ExpressionRuleSet();
         invalidOkuriganaTokens.add(new ExpressionRule().addElement(new TokenElement("合さ", asList("動詞", "自立"), 0)));
         invalidOkuriganaTokens.add(new ExpressionRule().addElement(new TokenElement("合し", asList("動詞", "自立"), 0)));
         invalidOkuriganaTokens.add(new ExpressionRule().addElement(new TokenElement("合す", asList("動詞", "自立"), 0)));
@@ -254,13 +255,16 @@ public class OkuriganaValidator extends Validator {
                 }
         );
 
-        for (ExpressionRule rule : invalidOkuriganaTokens) {
-            if (rule.match(sentence.getTokens())) {
-                addLocalizedError(sentence, rule.toString());
-            }
+        for (ExpressionRule rule : invalidOkuriganaTokens.findAll(sentence.getTokens())) {
+            addLocalizedError(sentence, rule.toString());
         }
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     @Override
     public List<String> getSupportedLanguages() {
         return singletonList(Locale.JAPANESE.getLanguage());
@@ -18,6 +18,7 @@
 package cc.redpen.validator.sentence;
 
 
+import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
 import cc.redpen.tokenizer.TokenElement;
 import cc.redpen.validator.Validator;
@@ -29,10 +30,25 @@ public class ParenthesizedSentenceValidator extends Validator {
     private static final String OPEN_PARENS = "(（";
     private static final String CLOSE_PARENS = ")）";
 
+    private static final int DEFAULT_MAX_NESTING_LEVEL = 1;
+    private static final int DEFAULT_MAX_COUNT = 1;
+    private static final int DEFAULT_MAX_LENGTH = 10;
+
+    private int maxNestingLevel = DEFAULT_MAX_NESTING_LEVEL;
+    private int maxCount = DEFAULT_MAX_COUNT;
+    private int maxLength = DEFAULT_MAX_LENGTH;
+
     public ParenthesizedSentenceValidator() {
-        super("max_nesting_level", 1, // the limit on how many parenthesized expressions are permitted
-              "max_count", 1,  // the number of parenthesized expressions allowed
-              "max_length", 10); // the maximum number of words in a parenthesized expression
+        super("max_nesting_level", DEFAULT_MAX_NESTING_LEVEL, // the limit on how many parenthesized expressions are permitted
+              "max_count", DEFAULT_MAX_COUNT,  // the number of parenthesized expressions allowed
+              "max_length", DEFAULT_MAX_LENGTH); // the maximum number of words in a parenthesized expression
+    }
+
+    @Override
+    protected void bindProperties() throws RedPenException {
+        maxNestingLevel = getInt("max_nesting_level");
+        maxCount = getInt("max_count");
+        maxLength = getInt("max_length");
     }
 
     /**
@@ -49,7 +65,7 @@ public class ParenthesizedSentenceValidator extends Validator {
             if (token.getSurface().length() == 1) {
                 if (OPEN_PARENS.indexOf(token.getSurface().charAt(0)) != -1) {
                     nestingLevel++;
-                    if (nestingLevel > getInt("max_nesting_level")) {
+                    if (nestingLevel > maxNestingLevel) {
                         addLocalizedErrorWithPosition(
                                 "NestingLevelTooDeep",
                                 sentence,
@@ -60,7 +76,7 @@ public class ParenthesizedSentenceValidator extends Validator {
                     nestingLevel = Math.max(0, nestingLevel - 1);
                     if (nestingLevel == 0) {
                         subsentenceCount++;
-                        if (subsentenceLength > getInt("max_length")) {
+                        if (subsentenceLength > maxLength) {
                             addLocalizedErrorWithPosition(
                                     "SubsentenceTooLong",
                                     sentence,
@@ -77,8 +93,13 @@ public class ParenthesizedSentenceValidator extends Validator {
             }
         }
 
-        if (subsentenceCount > getInt("max_count")) {
+        if (subsentenceCount > maxCount) {
             addLocalizedError("SubsentenceTooFrequent", sentence);
         }
     }
+
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
 }
@@ -67,6 +67,11 @@ public class QuotationValidator extends Validator {
         checkQuotation(sentence, leftDoubleQuotationMark, rightDoubleQuotationMark);
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     @Override
     protected void init() throws RedPenException {
         this.period = getSymbolTable().getValueOrFallbackToDefault(FULL_STOP);
@@ -17,6 +17,7 @@
  */
 package cc.redpen.validator.sentence;
 
+import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
 import cc.redpen.validator.Validator;
 
@@ -24,15 +25,28 @@ import cc.redpen.validator.Validator;
  * Validate input sentences contain more characters more than specified.
  */
 public final class SentenceLengthValidator extends Validator {
+    private static final int DEFAULT_MAX_LENGTH = 120;
+
+    private int maxLength = DEFAULT_MAX_LENGTH;
+
     public SentenceLengthValidator() {
-        super("max_len", 120);
+        super("max_len", DEFAULT_MAX_LENGTH);
+    }
+
+    @Override
+    protected void bindProperties() throws RedPenException {
+        maxLength = getInt("max_len");
     }
 
     @Override
     public void validate(Sentence sentence) {
-        int maxLength = getInt("max_len");
         if (sentence.getContent().length() > maxLength) {
             addLocalizedError(sentence, sentence.getContent().length(), maxLength);
         }
     }
+
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
 }
@@ -34,6 +34,9 @@ public class SpaceBetweenAlphabeticalWordValidator extends Validator {
     private char leftParenthesis = '(';
     private char rightParenthesis = ')';
     private char comma = ',';
+    private boolean forbidden = false;
+    private String skipBefore = "";
+    private String skipAfter = "";
 
     private final String shard = "[^A-Za-z0-9 !@#$%^&*()_+=\\[\\]\\\\{}|=<>,.{};':\",./<>?（）［］｛｝-]";
     private final String word = "[A-Za-z0-9 !@#$%^&*()_+=\\[\\]\\\\{}|=<>,.{};':\",./<>?（）｛｝［］-]+";
@@ -51,7 +54,7 @@ public class SpaceBetweenAlphabeticalWordValidator extends Validator {
 
     @Override
     public void validate(Sentence sentence) {
-        if (!getBoolean("forbidden")) {
+        if (!forbidden) {
             char prevCharacter = ' ';
             int idx = 0;
             for (char character : sentence.getContent().toCharArray()) {
@@ -74,10 +77,15 @@ public class SpaceBetweenAlphabeticalWordValidator extends Validator {
         }
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     // TODO: need refactoring...
     private boolean notHasWhiteSpaceBeforeLeftParenthesis(char prevCharacter, char character) {
         return !StringUtils.isBasicLatin(prevCharacter)
-                && getString("skip_before").indexOf(prevCharacter) == -1
+                && skipBefore.indexOf(prevCharacter) == -1
                 && prevCharacter != leftParenthesis
                 && prevCharacter != rightParenthesis
                 && prevCharacter != comma
@@ -87,7 +95,7 @@ public class SpaceBetweenAlphabeticalWordValidator extends Validator {
 
     private boolean notHasWhiteSpaceAfterRightParenthesis(char prevCharacter, char character) {
         return !StringUtils.isBasicLatin(character)
-                && getString("skip_after").indexOf(character) == -1
+                && skipAfter.indexOf(character) == -1
                 && character != rightParenthesis
                 && character != leftParenthesis
                 && character != comma
@@ -101,4 +109,11 @@ public class SpaceBetweenAlphabeticalWordValidator extends Validator {
         rightParenthesis = getSymbolTable().getSymbol(RIGHT_PARENTHESIS).getValue();
         comma = getSymbolTable().getSymbol(COMMA).getValue();
     }
+
+    @Override
+    protected void bindProperties() throws RedPenException {
+        forbidden = getBoolean("forbidden");
+        skipBefore = getString("skip_before");
+        skipAfter = getString("skip_after");
+    }
 }
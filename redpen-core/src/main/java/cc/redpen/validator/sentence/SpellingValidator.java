@@ -39,4 +39,9 @@ public final class SpellingValidator extends SpellingDictionaryValidator {
             }
         }
     }
+
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
 }
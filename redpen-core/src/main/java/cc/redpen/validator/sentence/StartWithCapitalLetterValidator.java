@@ -71,4 +71,9 @@ final public class StartWithCapitalLetterValidator extends DictionaryValidator {
             addLocalizedError(sentence, headChar);
         }
     }
+
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
 }
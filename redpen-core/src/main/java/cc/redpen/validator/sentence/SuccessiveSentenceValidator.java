@@ -25,11 +25,16 @@ import cc.redpen.validator.Validator;
 
 public class SuccessiveSentenceValidator extends Validator {
     private Sentence prevSentence;
+    private static final int DEFAULT_MIN_DISTANCE = 3;
+    private static final int DEFAULT_MIN_LENGTH = 5;
+
+    private int minDistance = DEFAULT_MIN_DISTANCE;
+    private int minLength = DEFAULT_MIN_LENGTH;
 
     public SuccessiveSentenceValidator() {
         super(
-                "dist", 3,// default threshold of minimum distance
-                "min_len", 5); // default threshold of minimum sentence length
+                "dist", DEFAULT_MIN_DISTANCE,// default threshold of minimum distance
+                "min_len", DEFAULT_MIN_LENGTH); // default threshold of minimum sentence length
         prevSentence = new Sentence("", 1, 0);
     }
 
@@ -38,6 +43,12 @@ public class SuccessiveSentenceValidator extends Validator {
         super.init();
     }
 
+    @Override
+    protected void bindProperties() throws RedPenException {
+        minDistance = getInt("dist");
+        minLength = getInt("min_len");
+    }
+
     @Override
     public void validate(Sentence sentence) {
         if (isSame(sentence, prevSentence)) {
@@ -48,14 +59,14 @@ public class SuccessiveSentenceValidator extends Validator {
 
     private boolean isSame(Sentence sentence, Sentence prevSentence) {
         // pre check
-        if (sentence.getContent().length() < getInt("min_len")) {
+        if (sentence.getContent().length() < minLength) {
             return false;
         }
         if (sentence.getContent().toLowerCase().equals(prevSentence.getContent().toLowerCase())) {
             return true;
         }
         // check with edit distance
-        if (LevenshteinDistance.getDistance(sentence.getContent(), prevSentence.getContent()) < getInt("dist")) {
+        if (LevenshteinDistance.getDistance(sentence.getContent(), prevSentence.getContent()) < minDistance) {
             return true;
         } else {
             return false;
@@ -37,6 +37,11 @@ public class SuccessiveWordValidator extends Validator {
         }
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     private boolean isPartOfNumber(Sentence sentence, TokenElement token) {
         return substring(sentence.getContent(), token.getOffset() - 1, token.getOffset() + 2).matches("\\d.\\d");
     }
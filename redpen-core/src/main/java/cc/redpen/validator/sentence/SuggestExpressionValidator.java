@@ -19,11 +19,13 @@ package cc.redpen.validator.sentence;
 
 import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
+import cc.redpen.util.AhoCorasick;
 import cc.redpen.validator.KeyValueDictionaryValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.Map;
 
 import static cc.redpen.util.StringUtils.isProbablyJapanese;
 import static java.lang.Character.isLetter;
@@ -35,6 +37,8 @@ import static java.lang.Character.isLetter;
 public final class SuggestExpressionValidator extends KeyValueDictionaryValidator {
     private static final Logger LOG = LoggerFactory.getLogger(SuggestExpressionValidator.class);
 
+    private Map<String, String> suggestions = new HashMap<>();
+
     public SuggestExpressionValidator() {
         super("map", new HashMap<>(), "dict", "");
     }
@@ -42,15 +46,19 @@ public final class SuggestExpressionValidator extends KeyValueDictionaryValidato
     @Override
     public void validate(Sentence sentence) {
         String text = sentence.getContent();
-        getMap("map").keySet().stream().forEach(value -> {
-                int start = text.indexOf(value);
-                if (start < 0) return;
-                int end = start + value.length();
-                boolean hasWordBoundaries = (start == 0 || !isLetter(text.charAt(start - 1))) && (end == text.length() || !isLetter(text.charAt(end)));
-                if (isProbablyJapanese(text.charAt(start)) || hasWordBoundaries) {
-                    addLocalizedErrorWithPosition(sentence, start, end, value, getMap("map").get(value));
-                }
-            });
+        AhoCorasick automaton = getDictionaryAutomaton();
+        automaton.match(text, (index, start, end) -> {
+            boolean hasWordBoundaries = (start == 0 || !isLetter(text.charAt(start - 1))) && (end == text.length() || !isLetter(text.charAt(end)));
+            if (isProbablyJapanese(text.charAt(start)) || hasWordBoundaries) {
+                String value = automaton.getPatterns().get(index);
+                addLocalizedErrorWithPosition(sentence, start, end, value, suggestions.get(value));
+            }
+        });
+    }
+
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
     }
 
     @Override
@@ -58,4 +66,9 @@ public final class SuggestExpressionValidator extends KeyValueDictionaryValidato
         super.init();
     }
 
+    @Override
+    protected void bindProperties() throws RedPenException {
+        suggestions = getMap("map");
+    }
+
 }
@@ -42,6 +42,11 @@ public class SymbolWithSpaceValidator extends Validator {
         }
     }
 
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
+
     private ValidationError validateSymbol(Sentence sentence, SymbolType symbolType) {
         String sentenceStr = sentence.getContent();
         Symbol symbol = getSymbolTable().getSymbol(symbolType);
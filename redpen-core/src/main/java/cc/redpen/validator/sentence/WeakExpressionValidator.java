@@ -24,8 +24,9 @@ import cc.redpen.tokenizer.TokenElement;
 import cc.redpen.util.DictionaryLoader;
 import cc.redpen.validator.Validator;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Warn about grammatically weak expressions in the sentence. This is essentially a version of
@@ -34,17 +35,18 @@ import java.util.List;
 public class WeakExpressionValidator extends Validator {
 
     private static final String DEFAULT_RESOURCE_PATH = "default-resources/weak-expressions";
+    private static final DictionaryLoader<Set<String>> WEAK_EXPRESSIONS =
+            new DictionaryLoader<>(HashSet::new, (set, line) -> set.add(line.trim().toLowerCase()), Collections::unmodifiableSet);
 
-    // a list of weak expressions
-    private List<String> weakExpressions;
+    // a set of weak expressions
+    private Set<String> weakExpressions;
 
     @Override
     protected void init() throws RedPenException {
         super.init();
 
         String defaultDictionaryFile = DEFAULT_RESOURCE_PATH + "/weak-expressions-" + getSymbolTable().getLang() + ".dat";
-        weakExpressions = new DictionaryLoader<List<String>>(ArrayList::new, (list, line) -> list.add(line.trim().toLowerCase()))
-          .loadCachedFromResource(defaultDictionaryFile, "weak expressions");
+        weakExpressions = WEAK_EXPRESSIONS.loadCachedFromResource(defaultDictionaryFile, "weak expressions");
     }
 
     /**
@@ -80,4 +82,9 @@ public class WeakExpressionValidator extends Validator {
             }
         }
     }
+
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
 }
@@ -17,6 +17,7 @@
  */
 package cc.redpen.validator.sentence;
 
+import cc.redpen.RedPenException;
 import cc.redpen.model.Sentence;
 import cc.redpen.tokenizer.TokenElement;
 import cc.redpen.validator.Validator;
@@ -27,8 +28,17 @@ import java.util.List;
  * Validate input sentences have more words than specified.
  */
 final public class WordNumberValidator extends Validator {
+    private static final int DEFAULT_MAX_NUM = 30;
+
+    private int maxNum = DEFAULT_MAX_NUM;
+
     public WordNumberValidator() {
-        super("max_num", 30); // Default maximum number of words in one sentence.
+        super("max_num", DEFAULT_MAX_NUM); // Default maximum number of words in one sentence.
+    }
+
+    @Override
+    protected void bindProperties() throws RedPenException {
+        maxNum = getInt("max_num");
     }
 
     @Override
@@ -43,9 +53,13 @@ final public class WordNumberValidator extends Validator {
                 wordNum++;
             }
         }
-        int maxNum = getInt("max_num");
         if (wordNum > maxNum) {
             addLocalizedError(sentence, wordNum, maxNum);
         }
     }
+
+    @Override
+    public boolean isSentenceContextFree() {
+        return true;
+    }
 }
@@ -0,0 +1,134 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.config.Configuration;
+import cc.redpen.model.Document;
+import cc.redpen.model.Paragraph;
+import cc.redpen.model.Section;
+import cc.redpen.parser.DocumentParser;
+import cc.redpen.parser.LineOffset;
+import cc.redpen.parser.PreprocessorRule;
+import cc.redpen.parser.SentenceExtractor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.util.stream.IntStream.of;
+import static java.util.stream.IntStream.range;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Runs the Markdown tests with {@link DocumentParser#COMMONMARK}, in addition to its own.
+ */
+class CommonMarkParserTest extends MarkdownParserTest {
+
+    @Override
+    DocumentParser parser() {
+        return DocumentParser.COMMONMARK;
+    }
+
+    @Test
+    void testSkipsBlocksWithoutSentences() throws Exception {
+        Document doc = parse("# Code\n" +
+                "This is a paragraph.\n" +
+                "\n" +
+                "```java\n" +
+                "This is code.\n" +
+                "\n" +
+                "It is not checked.\n" +
+                "```\n" +
+                "\n" +
+                "    This is indented code.\n" +
+                "\n" +
+                "<div>\n" +
+                "This is html.\n" +
+                "</div>\n" +
+                "\n" +
+                "> This is a quote.\n" +
+                "\n" +
+                "---\n" +
+                "| Cell | Cell |\n" +
+                "|------|------|\n" +
+                "\n" +
+                "[reference]: http://redpen.cc\n" +
+                "This is another paragraph.\n");
+        Section section = doc.getSection(0);
+        assertEquals(2, section.getNumberOfParagraphs());
+        assertEquals("This is a paragraph.", section.getParagraph(0).getSentence(0).getContent());
+        assertEquals("This is another paragraph.", section.getParagraph(1).getSentence(0).getContent());
+        assertEquals(23, section.getParagraph(1).getSentence(0).getLineNumber());
+    }
+
+    @Test
+    void testCodeSpansAndEscapes() throws Exception {
+        Document doc = parse("Use `a * b` and \\*c\\* *here*.");
+        Paragraph paragraph = doc.getSection(0).getParagraph(0);
+        assertEquals("Use a * b and *c* here.", paragraph.getSentence(0).getContent());
+        List<LineOffset> expected = offsets(1, range(0, 4), range(4, 9), range(11, 16), of(17, 18, 20, 21), range(23, 27), of(28));
+        assertEquals(expected, paragraph.getSentence(0).getOffsetMap());
+    }
+
+    @Test
+    void testLooseListItemsAreParagraphs() throws Exception {
+        Document doc = parse("- This is the first item.\n" +
+                "\n" +
+                "- This is the second item.\n");
+        Section section = doc.getSection(0);
+        assertEquals(1, section.getNumberOfLists());
+        assertEquals(0, section.getListBlock(0).getNumberOfListElements());
+        assertEquals(2, section.getNumberOfParagraphs());
+        assertEquals("This is the second item.", section.getParagraph(1).getSentence(0).getContent());
+        assertEquals(3, section.getParagraph(1).getSentence(0).getLineNumber());
+        assertEquals(2, section.getParagraph(1).getSentence(0).getStartPositionOffset());
+    }
+
+    @Test
+    void testSuppressComments() throws Exception {
+        Document doc = parse("<!-- @suppress SentenceLength -->\n" +
+                "This is a paragraph.\n");
+        assertEquals(1, doc.getSection(0).getNumberOfParagraphs());
+        assertEquals(1, doc.getPreprocessorRules().size());
+        PreprocessorRule rule = doc.getPreprocessorRules().iterator().next();
+        // the rule applies from the line after the comment
+        assertEquals(2, rule.getLineNumber());
+    }
+
+    @Test
+    void testParsesPathologicalInputInLinearTime() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 50000; i++) {
+                text.append("[*_`<!--(");
+            }
+            text.append('\n');
+            for (int i = 0; i < 50000; i++) {
+                text.append("**a ");
+            }
+            Document doc = parse(text.toString());
+            assertEquals(1, doc.getSection(0).getNumberOfParagraphs());
+        });
+    }
+
+    private Document parse(String text) throws RedPenException {
+        Configuration configuration = Configuration.builder().build();
+        return parser().parse(text, new SentenceExtractor(configuration.getSymbolTable()), configuration.getTokenizer());
+    }
+}
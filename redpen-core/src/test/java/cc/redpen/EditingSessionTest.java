@@ -0,0 +1,119 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.config.Configuration;
+import cc.redpen.config.ValidatorConfiguration;
+import cc.redpen.parser.DocumentParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EditingSessionTest {
+    private RedPen redPen;
+
+    @BeforeEach
+    void setUp() throws RedPenException {
+        Locale.setDefault(Locale.ENGLISH);
+        redPen = new RedPen(Configuration.builder()
+                .addValidatorConfig(new ValidatorConfiguration("SentenceLength").addProperty("max_len", "30"))
+                .addValidatorConfig(new ValidatorConfiguration("DoubledWord"))
+                .addValidatorConfig(new ValidatorConfiguration("Contraction"))
+                .addValidatorConfig(new ValidatorConfiguration("SuccessiveSentence"))
+                .addValidatorConfig(new ValidatorConfiguration("ParagraphNumber").addProperty("max_num", "3"))
+                .build());
+    }
+
+    @Test
+    void testEditsReportSameErrorsAsFullValidation() throws RedPenException {
+        String text = "He's a good boy but he is not a good good student.\n" +
+                "It is not a cake.\n" +
+                "It is not a cake.\n" +
+                "\n" +
+                "They are going to school school tomorrow morning.\n" +
+                "\n" +
+                "This paragraph is short.";
+        EditingSession session = new EditingSession(redPen, DocumentParser.PLAIN, text, "error");
+        assertEquals(expectedErrors(session), session.validate().toString());
+
+        session.replaceLines(2, 3, Collections.singletonList("It is not a pie pie."));
+        assertEquals(expectedErrors(session), session.validate().toString());
+
+        // shift the following lines
+        session.replaceLines(1, 1, Arrays.asList("A new first line is long enough to be reported.", ""));
+        assertEquals(expectedErrors(session), session.validate().toString());
+
+        session.replaceLines(5, 7, Collections.emptyList());
+        assertEquals(expectedErrors(session), session.validate().toString());
+
+        session.replaceLines(7, 7, Arrays.asList("", "Another paragraph.", "", "And another one."));
+        assertEquals(expectedErrors(session), session.validate().toString());
+
+        assertTrue(session.getReusedSentenceCount() > 0);
+    }
+
+    @Test
+    void testUnchangedSectionsAreNotValidatedAgain() throws RedPenException {
+        RedPen sectionRedPen = new RedPen(Configuration.builder()
+                .addValidatorConfig(new ValidatorConfiguration("ParagraphNumber").addProperty("max_num", "1"))
+                .addValidatorConfig(new ValidatorConfiguration("HeaderLength").addProperty("max_len", "10"))
+                .addValidatorConfig(new ValidatorConfiguration("ParagraphStartWith").addProperty("start_from", " "))
+                .build());
+        String text = "h1. A header which is too long\n" +
+                "\n" +
+                "First paragraph.\n" +
+                "\n" +
+                "Second paragraph.\n" +
+                "\n" +
+                "h1. Short\n" +
+                "\n" +
+                "Only paragraph.";
+        EditingSession session = new EditingSession(sectionRedPen, DocumentParser.WIKI, text, "error");
+        assertEquals(expectedErrors(sectionRedPen, DocumentParser.WIKI, session), session.validate().toString());
+        assertEquals(0, session.getReusedSectionCount());
+
+        // shift the first section, change the second one
+        session.replaceLines(1, 1, Arrays.asList("Some text before the sections.", ""));
+        session.replaceLines(11, 12, Arrays.asList("Changed paragraph.", "", "Another paragraph."));
+        assertEquals(expectedErrors(sectionRedPen, DocumentParser.WIKI, session), session.validate().toString());
+        assertEquals(1, session.getReusedSectionCount());
+    }
+
+    @Test
+    void testReplaceLinesOutsideOfDocument() {
+        EditingSession session = new EditingSession(redPen, DocumentParser.PLAIN, "One line.", "error");
+        assertThrows(RedPenException.class, () -> session.replaceLines(0, 1, Collections.emptyList()));
+        assertThrows(RedPenException.class, () -> session.replaceLines(2, 1, Collections.emptyList()));
+        assertThrows(RedPenException.class, () -> session.replaceLines(1, 3, Collections.emptyList()));
+    }
+
+    private String expectedErrors(EditingSession session) throws RedPenException {
+        return expectedErrors(redPen, DocumentParser.PLAIN, session);
+    }
+
+    private static String expectedErrors(RedPen redPen, DocumentParser parser, EditingSession session) throws RedPenException {
+        return redPen.validate(redPen.parse(parser, session.getText()), "error").toString();
+    }
+}
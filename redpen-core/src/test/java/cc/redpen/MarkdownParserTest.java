@@ -50,11 +50,15 @@ class MarkdownParserTest extends BaseParserTest {
     void setup() {
     }
 
+    DocumentParser parser() {
+        return DocumentParser.MARKDOWN;
+    }
+
     @Test()
     void testNullDocument() throws Exception {
         assertThrows(NullPointerException.class, () -> {
             Configuration configuration = Configuration.builder().build();
-            DocumentParser parser = DocumentParser.MARKDOWN;
+            DocumentParser parser = parser();
             InputStream is = null;
             parser.parse(is, new SentenceExtractor(configuration.getSymbolTable()), configuration.getTokenizer());
         });
@@ -879,7 +883,7 @@ class MarkdownParserTest extends BaseParserTest {
 
     private Document createFileContent(String inputDocumentString,
                                        Configuration config) {
-        DocumentParser parser = DocumentParser.MARKDOWN;
+        DocumentParser parser = parser();
 
         try {
             return parser.parse(inputDocumentString, new SentenceExtractor(config.getSymbolTable()), config.getTokenizer());
@@ -890,7 +894,7 @@ class MarkdownParserTest extends BaseParserTest {
     }
 
     private Document createFileContent(String inputDocumentString) {
-        DocumentParser parser = DocumentParser.MARKDOWN;
+        DocumentParser parser = parser();
         Document doc = null;
         try {
             Configuration configuration = Configuration.builder().build();
@@ -0,0 +1,75 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.config.Configuration;
+import cc.redpen.model.Document;
+import cc.redpen.model.Section;
+import cc.redpen.parser.DocumentParser;
+
+/**
+ * Measures the parsing time of large documents in each of the markup formats.
+ * This class is not run as a part of the test suite. Run it with:
+ * <pre>
+ *   java -cp ... cc.redpen.ParserBenchmark [paragraphs] [iterations]
+ * </pre>
+ */
+public class ParserBenchmark {
+    private static final String PARAGRAPH =
+            "RedPen is a proofreading tool to help writers or programmers who write technical documents or manuals.\n" +
+            "It checks the document with many validators,\n" +
+            "and reports the errors with the lines and the positions they are found at.\n\n";
+
+    public static void main(String... args) throws RedPenException {
+        int paragraphs = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        RedPen redPen = new RedPen(Configuration.builder().build());
+        benchmark(redPen, DocumentParser.PLAIN, "", paragraphs, iterations);
+        benchmark(redPen, DocumentParser.MARKDOWN, "# Header\n\n", paragraphs, iterations);
+        benchmark(redPen, DocumentParser.COMMONMARK, "# Header\n\n", paragraphs, iterations);
+        benchmark(redPen, DocumentParser.LATEX, "\\section{Header}\n\n", paragraphs, iterations);
+        benchmark(redPen, DocumentParser.REST, "Header\n======\n\n", paragraphs, iterations);
+    }
+
+    private static void benchmark(RedPen redPen, DocumentParser parser, String header, int paragraphs, int iterations)
+            throws RedPenException {
+        StringBuilder text = new StringBuilder(header);
+        for (int i = 0; i < paragraphs; i++) {
+            text.append(PARAGRAPH);
+        }
+        String content = text.toString();
+
+        // warm up
+        for (int i = 0; i < iterations; i++) {
+            redPen.parse(parser, content);
+        }
+        long sentences = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            Document document = redPen.parse(parser, content);
+            for (Section section : document) {
+                sentences += section.getParagraphs().stream().mapToLong(paragraph -> paragraph.getSentences().size()).sum();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%s: %.1f ms per document of %d lines, %d sentences%n",
+                parser.getClass().getSimpleName(), elapsed / 1e6 / iterations,
+                content.split("\n").length, sentences / iterations);
+    }
+}
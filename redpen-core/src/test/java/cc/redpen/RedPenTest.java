@@ -22,6 +22,7 @@ import cc.redpen.config.ValidatorConfiguration;
 import cc.redpen.model.Document;
 import cc.redpen.model.Sentence;
 import cc.redpen.validator.ValidationError;
+import cc.redpen.validator.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -29,8 +30,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class RedPenTest {
@@ -205,6 +213,196 @@ class RedPenTest {
         assertEquals(0, errors.size());
     }
 
+    @Test
+    void testPlanIsSharedForSameThreshold() throws RedPenException {
+        RedPen redPen = getRedPenWithSentenceValidator();
+        assertSame(redPen.getPlan("error"), redPen.getPlan("ERROR"));
+        assertNotSame(redPen.getPlan("error"), redPen.getPlan("info"));
+        assertEquals(1, redPen.getPlan("error").getValidators().size());
+    }
+
+    @Test
+    void testValidatorsOfEveryLevelAreAvailableBeforeValidation() throws RedPenException {
+        Configuration configuration = Configuration.builder()
+                .addValidatorConfig(new ValidatorConfiguration("SentenceLength"))
+                .addValidatorConfig(new ValidatorConfiguration("SectionLength").setLevel(ValidatorConfiguration.LEVEL.INFO))
+                .build();
+        RedPen redPen = new RedPen(configuration);
+        assertEquals(2, redPen.getValidators().size());
+
+        redPen.validate(new ArrayList<>(), "error");
+        assertEquals(2, redPen.getValidators().size());
+    }
+
+    @Test
+    void testValidateFromMultipleThreads() throws Exception {
+        RedPen redPen = getRedPenWithSentenceValidator();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<ValidationError>>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                int sentences = i % 5 + 1;
+                results.add(executor.submit(() -> {
+                    Document.DocumentBuilder builder = Document.builder().addSection(0).addParagraph();
+                    for (int j = 0; j < sentences; j++) {
+                        builder.addSentence(new Sentence("it is a piece of a cake.", j + 1));
+                    }
+                    return redPen.validate(builder.build());
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i % 5 + 1, results.get(i).get().size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelValidationReportsSameErrorsAsSerial() throws Exception {
+        Configuration configuration = Configuration.builder()
+                .addValidatorConfig(new ValidatorConfiguration("SentenceLength").addProperty("max_len", "30"))
+                .addValidatorConfig(new ValidatorConfiguration("Contraction"))
+                .addValidatorConfig(new ValidatorConfiguration("SuccessiveSentence"))
+                .addValidatorConfig(new ValidatorConfiguration("DoubledWord"))
+                .addValidatorConfig(new ValidatorConfiguration("SectionLength").addProperty("max_num", "50"))
+                .build();
+        RedPen redPen = new RedPen(configuration);
+
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Document.DocumentBuilder builder = Document.builder().setFileName("doc" + i);
+            for (int j = 0; j < 20; j++) {
+                builder.addSection(1).addSectionHeader("This is a header header.")
+                        .addParagraph()
+                        .addSentence("He's a good boy but he is not a good good student.", 1)
+                        .addSentence("It is not a cake.", 2)
+                        .addSentence("It is not a cake.", 3)
+                        .addListBlock()
+                        .addListElement(1, "They are going to school school tomorrow morning.")
+                        .addListElement(1, "It is a piece of cake.");
+            }
+            documents.add(builder.build());
+        }
+
+        Map<Document, List<ValidationError>> expected = redPen.validate(documents, "error");
+        ForkJoinPool executor = new ForkJoinPool(4);
+        try {
+            Map<Document, List<ValidationError>> actual = redPen.validate(documents, "error", executor);
+            assertEquals(expected.size(), actual.size());
+            for (Document document : documents) {
+                assertTrue(expected.get(document).size() > 0);
+                assertEquals(expected.get(document).toString(), actual.get(document).toString());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testSentenceResultCacheReusesErrorsOfIdenticalSentences() throws Exception {
+        Configuration configuration = Configuration.builder()
+                .addValidatorConfig(new ValidatorConfiguration("SentenceLength").addProperty("max_len", "30"))
+                .addValidatorConfig(new ValidatorConfiguration("DoubledWord"))
+                .addValidatorConfig(new ValidatorConfiguration("SuccessiveSentence"))
+                .build();
+        RedPen redPen = new RedPen(configuration);
+        SentenceResultCache cache = new SentenceResultCache(100);
+
+        for (int i = 0; i < 3; i++) {
+            List<Document> documents = new ArrayList<>();
+            documents.add(Document.builder().setFileName("doc" + i)
+                    .addSection(1)
+                    .addParagraph()
+                    .addSentence("Document " + i + " starts with a sentence.", 1)
+                    .addSentence("He is not a good good student at all, really.", 2)
+                    .addSentence("It is not a cake.", 3 + i)
+                    .addSentence("It is not a cake.", 4 + i)
+                    .build());
+            Map<Document, List<ValidationError>> expected = redPen.validate(documents, "error");
+            Map<Document, List<ValidationError>> actual = redPen.validate(documents, "error", cache);
+            assertEquals(expected.get(documents.get(0)).toString(), actual.get(documents.get(0)).toString());
+            for (ValidationError error : actual.get(documents.get(0))) {
+                assertTrue(documents.get(0).getSection(0).getParagraph(0).getSentences().contains(error.getSentence()));
+            }
+        }
+        assertEquals(7, cache.getHitCount());
+        assertEquals(5, cache.size());
+    }
+
+    @Test
+    void testErrorLimitStopsValidationOnceExceeded() throws Exception {
+        RedPen redPen = getRedPenWithSentenceValidator();
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Document.DocumentBuilder builder = Document.builder().setFileName("doc" + i).addSection(1);
+            for (int j = 0; j < 3; j++) {
+                builder.addParagraph().addSentence("This sentence is too long.", j + 1);
+            }
+            documents.add(builder.build());
+        }
+        Map<Document, List<ValidationError>> expected = redPen.validate(documents, "error");
+        assertEquals(9, expected.values().stream().mapToInt(List::size).sum());
+
+        ValidationContext context = redPen.getPlan("error").newContext();
+        Map<Document, List<ValidationError>> bounded = context.validate(documents, 2);
+        assertTrue(context.isTruncated());
+        assertEquals(3, bounded.get(documents.get(0)).size());
+        assertEquals(0, bounded.get(documents.get(1)).size());
+
+        context = redPen.getPlan("error").newContext();
+        bounded = context.validate(documents, 9);
+        assertFalse(context.isTruncated());
+        for (Document document : documents) {
+            assertEquals(expected.get(document).toString(), bounded.get(document).toString());
+        }
+        assertEquals(9, redPen.validate(documents, "error", 100).values().stream().mapToInt(List::size).sum());
+
+        context = redPen.newContext("error");
+        assertEquals(3, context.validate(documents, 2).values().stream().mapToInt(List::size).sum());
+        assertTrue(context.isTruncated());
+
+        // a context reused for further runs starts each of them afresh
+        assertEquals(9, context.validate(documents, 9).values().stream().mapToInt(List::size).sum());
+        assertFalse(context.isTruncated());
+        assertEquals(3, context.validate(documents, 2).values().stream().mapToInt(List::size).sum());
+        assertEquals(9, context.validate(documents).values().stream().mapToInt(List::size).sum());
+        assertFalse(context.isTruncated());
+    }
+
+    @Test
+    void testContextsShareContextFreeValidatorsOfThePlan() throws Exception {
+        Configuration configuration = Configuration.builder()
+                .addValidatorConfig(new ValidatorConfiguration("SentenceLength").addProperty("max_len", "5"))
+                .addValidatorConfig(new ValidatorConfiguration("SectionLength").addProperty("max_num", "5"))
+                .build();
+        ValidationPlan plan = new RedPen(configuration).getPlan("error");
+        ValidationContext first = plan.newContext();
+        ValidationContext second = plan.newContext();
+        assertSame(plan.getValidators().get(0), first.getValidators().get(0));
+        assertSame(first.getValidators().get(0), second.getValidators().get(0));
+        assertNotSame(plan.getValidators().get(1), first.getValidators().get(1));
+        assertNotSame(first.getValidators().get(1), second.getValidators().get(1));
+    }
+
+    @Test
+    void testSelectedPlanKeepsMatchingValidators() throws Exception {
+        Configuration configuration = Configuration.builder()
+                .addValidatorConfig(new ValidatorConfiguration("SentenceLength"))
+                .addValidatorConfig(new ValidatorConfiguration("DuplicatedSection"))
+                .addValidatorConfig(new ValidatorConfiguration("SectionLength"))
+                .build();
+        ValidationPlan plan = new RedPen(configuration).getPlan("error");
+        ValidationPlan local = plan.select(Validator::isDocumentContextFree);
+        assertEquals(2, local.getValidators().size());
+        assertSame(plan.getValidators().get(0), local.getValidators().get(0));
+        assertSame(plan.getValidators().get(2), local.getValidators().get(1));
+        assertEquals("SectionLength", local.getValidatorConfigs().get(1).getConfigurationName());
+        ValidationPlan global = plan.select(validator -> !validator.isDocumentContextFree());
+        assertEquals("DuplicatedSection", global.getValidatorConfigs().get(0).getConfigurationName());
+        assertSame(plan.getThreshold(), global.getThreshold());
+    }
+
     private RedPen getRedPenWithSentenceValidator() throws
             RedPenException {
 
@@ -0,0 +1,87 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen;
+
+import cc.redpen.config.Configuration;
+import cc.redpen.model.Document;
+import cc.redpen.parser.DocumentParser;
+import cc.redpen.validator.ValidationError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the validation time of large documents with all the validators available for a language.
+ * This class is not run as a part of the test suite. Run it with:
+ * <pre>
+ *   java -cp ... cc.redpen.ValidationBenchmark [lang] [paragraphs] [documents] [iterations]
+ * </pre>
+ */
+public class ValidationBenchmark {
+    private static final String EN_PARAGRAPH =
+            "RedPen is a proofreading tool to help writers or programmers who write technical documents or manuals. " +
+            "It's is not a a simple spell checker, it checks the the document with many validators!! " +
+            "In the 1990 s, some users wrote more then 10,0000 words in a single sentence which is very very long and " +
+            "really hard to read for almost every reader of the document. " +
+            "This sentence contains a misspelled wrd and an acronym (RDP) that is not expanded anywhere. " +
+            "However the style of the sentences is not consistent, and that is the problem.\n\n";
+
+    private static final String JA_PARAGRAPH =
+            "RedPenは技術文書やマニュアルを書く人を助けるための校正ツールです。" +
+            "この文はとても長い文でありますが、読者が読みにくいと感じるかもしれないことを確認する為の文である。" +
+            "ｶﾀｶﾅの半角文字や、サーバーとサーバの表記ゆれが含まれています。" +
+            "私は彼に本を貸したが、彼は読まなかったが、返してくれた。\n\n";
+
+    public static void main(String... args) throws RedPenException {
+        String lang = args.length > 0 ? args[0] : "en";
+        int paragraphs = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int documentCount = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int iterations = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        RedPen redPen = new RedPen(Configuration.builder(lang).addAvailableValidatorConfigs().build());
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < paragraphs; i++) {
+            text.append(lang.equals("ja") ? JA_PARAGRAPH : EN_PARAGRAPH);
+        }
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < documentCount; i++) {
+            documents.add(redPen.parse(DocumentParser.PLAIN, "document " + i + ".\n\n" + text));
+        }
+        long sentences = documents.stream()
+                .mapToLong(document -> document.getSection(0).getParagraphs().stream()
+                        .mapToLong(paragraph -> paragraph.getSentences().size()).sum())
+                .sum();
+        System.out.printf("%d validators, %d documents, %d sentences%n",
+                redPen.getPlan("info").getValidators().size(), documents.size(), sentences);
+
+        // warm up
+        for (int i = 0; i < iterations; i++) {
+            redPen.validate(documents, "info");
+        }
+        long errors = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            Map<Document, List<ValidationError>> result = redPen.validate(documents, "info");
+            errors += result.values().stream().mapToLong(List::size).sum();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%.1f ms per run, %.0f sentences/s, %d errors per run%n",
+                elapsed / 1e6 / iterations, sentences * iterations / (elapsed / 1e9), errors / iterations);
+    }
+}
@@ -68,6 +68,22 @@ class ConfigurationExporterTest {
         "</redpen-conf>", out.toString());
   }
 
+  @Test
+  void whiteWords() throws Exception {
+    Configuration config = Configuration.builder().addWhiteWord("Prof.").addWhiteWord("e.g.").build();
+
+    exporter.export(config, out);
+
+    assertEquals(
+      "<redpen-conf lang=\"en\">\n" +
+        "	<white-words>\n" +
+        "		<word value=\"Prof.\"/>\n" +
+        "		<word value=\"e.g.\"/>\n" +
+        "	</white-words>\n" +
+        "</redpen-conf>", out.toString());
+    assertEquals(config, new ConfigurationLoader().loadFromString(out.toString()));
+  }
+
   @Test
   void generatedConfigIsLoadable() throws Exception {
     String config = "<redpen-conf lang=\"en\">\n" +
@@ -28,6 +28,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -220,6 +221,21 @@ class ConfigurationLoaderTest {
         assertNotNull(configuration);
     }
 
+    @Test
+    void testLoadWhiteWords() throws RedPenException{
+        String sampleConfigString =
+                "<redpen-conf lang=\"en\">" +
+                        "<validators/>" +
+                        "<white-words>" +
+                        "<word value=\"Prof.\" />" +
+                        "<word value=\"e.g.\" />" +
+                        "</white-words>" +
+                        "</redpen-conf>";
+
+        Configuration configuration = new ConfigurationLoader().loadFromString(sampleConfigString);
+        assertEquals(Arrays.asList("Prof.", "e.g."), configuration.getWhiteWords());
+    }
+
     @Test
     void testNewLoadInvalidConfiguration() throws RedPenException{
         assertThrows(RedPenException.class, () -> {
@@ -24,8 +24,12 @@ import cc.redpen.validator.ValidationError;
 import cc.redpen.validator.Validator;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -57,4 +61,29 @@ class FormatterTest extends Validator {
         Matcher m = p.matcher(result);
         assertTrue(m.find());
     }
+
+    @Test
+    void testStreamErrorsDocumentByDocument() throws Exception {
+        Map<Document, List<ValidationError>> docErrorsMap = new LinkedHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            Document document = Document.builder().setFileName("doc" + i).build();
+            docErrorsMap.put(document, Collections.singletonList(
+                    new ValidationError("FormatterTest", "error " + i, new Sentence("sentence " + i, i + 1))));
+        }
+
+        for (Formatter formatter : new Formatter[]{new PlainFormatter(), new PlainBySentenceFormatter(), new XMLFormatter()}) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            Formatter.DocumentWriter writer = formatter.open(output);
+            int written = 0;
+            for (Map.Entry<Document, List<ValidationError>> entry : docErrorsMap.entrySet()) {
+                writer.write(entry.getKey(), entry.getValue());
+                // the errors of each document are output before the next document is given
+                assertTrue(output.size() > written);
+                assertTrue(new String(output.toByteArray(), StandardCharsets.UTF_8).contains("sentence " + entry.getKey().getFileName().get().substring(3)));
+                written = output.size();
+            }
+            writer.finish();
+            assertEquals(formatter.format(docErrorsMap), new String(output.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
 }
@@ -18,12 +18,23 @@
 package cc.redpen.model;
 
 import cc.redpen.tokenizer.NeologdJapaneseTokenizer;
+import cc.redpen.tokenizer.RedPenTokenizer;
+import cc.redpen.tokenizer.TokenElement;
+import cc.redpen.tokenizer.WhiteSpaceTokenizer;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DocumentTest {
     @Test
@@ -127,4 +138,81 @@ class DocumentTest {
                     .build();
         });
     }
+
+    @Test
+    void testTokenizeLazilyInOneBatch() {
+        List<Integer> batchSizes = new ArrayList<>();
+        WhiteSpaceTokenizer whiteSpaceTokenizer = new WhiteSpaceTokenizer();
+        RedPenTokenizer tokenizer = new RedPenTokenizer() {
+            @Override
+            public List<TokenElement> tokenize(String sentence) {
+                return whiteSpaceTokenizer.tokenize(sentence);
+            }
+
+            @Override
+            public void tokenizeAll(List<Sentence> sentences) {
+                batchSizes.add(sentences.size());
+                RedPenTokenizer.super.tokenizeAll(sentences);
+            }
+        };
+        Sentence manual = new Sentence("set by hand", 3);
+        Document doc = Document.builder(tokenizer)
+                .addSection(0)
+                .addSectionHeader("the header")
+                .addParagraph()
+                .addSentence(new Sentence("the first sentence", 1))
+                .addSentence(manual)
+                .addListBlock()
+                .addListElement(0, "a list element")
+                .build();
+        manual.setTokens(new ArrayList<>());
+        assertTrue(batchSizes.isEmpty());
+
+        assertEquals(3, doc.getSection(0).getParagraph(0).getSentence(0).getTokens().size());
+        assertEquals(Collections.singletonList(3), batchSizes);
+        assertEquals(2, doc.getSection(0).getHeaderContent(0).getTokens().size());
+        assertEquals(0, manual.getTokens().size());
+        assertEquals(Collections.singletonList(3), batchSizes);
+    }
+
+    @Test
+    void testComparingSentencesTokenizesThem() {
+        List<Integer> batchSizes = new ArrayList<>();
+        WhiteSpaceTokenizer whiteSpaceTokenizer = new WhiteSpaceTokenizer();
+        RedPenTokenizer tokenizer = new RedPenTokenizer() {
+            @Override
+            public List<TokenElement> tokenize(String sentence) {
+                return whiteSpaceTokenizer.tokenize(sentence);
+            }
+
+            @Override
+            public void tokenizeAll(List<Sentence> sentences) {
+                batchSizes.add(sentences.size());
+                RedPenTokenizer.super.tokenizeAll(sentences);
+            }
+        };
+        Sentence pending = Document.builder(tokenizer).addSection(0).addParagraph()
+                .addSentence(new Sentence("the first sentence", 1)).build()
+                .getSection(0).getParagraph(0).getSentence(0);
+        Sentence other = Document.builder(tokenizer).addSection(0).addParagraph()
+                .addSentence(new Sentence("the first sentence", 1)).build()
+                .getSection(0).getParagraph(0).getSentence(0);
+
+        assertTrue(pending.toString().contains("the first sentence"));
+        assertTrue(batchSizes.isEmpty());
+
+        // equality does not depend on whether the batches already ran
+        int hashCode = pending.hashCode();
+        assertEquals(Collections.singletonList(1), batchSizes);
+        assertEquals(other, pending);
+        assertEquals(Arrays.asList(1, 1), batchSizes);
+        assertEquals(hashCode, pending.hashCode());
+        assertEquals(other.hashCode(), pending.hashCode());
+
+        Set<Sentence> sentences = new HashSet<>();
+        sentences.add(pending);
+        assertTrue(sentences.contains(other));
+        other.setTokens(new ArrayList<>());
+        assertNotEquals(other, pending);
+    }
 }
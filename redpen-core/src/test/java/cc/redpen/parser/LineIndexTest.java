@@ -0,0 +1,73 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LineIndexTest {
+    @Test
+    void testLinesOfPositions() {
+        LineIndex index = LineIndex.of("This is a pen.\n\r\nThat is\na pen.\n");
+        assertEquals(5, index.getLineCount());
+        assertEquals(0, index.getLine(0));
+        assertEquals(0, index.getLine(14));
+        assertEquals(1, index.getLine(15));
+        assertEquals(1, index.getLine(16));
+        assertEquals(2, index.getLine(17));
+        assertEquals(3, index.getLine(25));
+        assertEquals(4, index.getLine(32));
+        assertEquals(4, index.getLine(100));
+        assertEquals(17, index.getLineStart(2));
+        assertEquals(5, index.getColumn(30));
+    }
+
+    @Test
+    void testLinesWithoutLineBreak() {
+        LineIndex index = LineIndex.of("This is a pen.");
+        assertEquals(1, index.getLineCount());
+        assertEquals(0, index.getLine(0));
+        assertEquals(0, index.getLine(14));
+        assertEquals(8, index.getColumn(8));
+        assertEquals(1, LineIndex.of("").getLineCount());
+    }
+
+    @Test
+    void testIndexOfLineEndsMatchesIndexOfText() {
+        String text = "a\n\nbc\ndef\n\n\nghij\n";
+        List<Integer> lineEnds = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lineEnds.add(i + 1);
+            }
+        }
+        LineIndex expected = LineIndex.of(text);
+        LineIndex actual = LineIndex.ofLineEnds(lineEnds);
+        assertEquals(expected.getLineCount(), actual.getLineCount());
+        for (int position = 0; position <= text.length(); position++) {
+            int line = text.substring(0, position).split("\n", -1).length - 1;
+            assertEquals(line, expected.getLine(position));
+            assertEquals(line, actual.getLine(position));
+            assertEquals(position - (text.lastIndexOf('\n', position - 1) + 1), actual.getColumn(position));
+        }
+    }
+}
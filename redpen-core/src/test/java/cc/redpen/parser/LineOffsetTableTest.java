@@ -0,0 +1,174 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineOffsetTableTest {
+    @Test
+    void testGetAcrossSegments() {
+        LineOffsetTable table = new LineOffsetTable();
+        for (int i = 0; i < 5; i++) {
+            table.append(1, 3 + i);
+        }
+        table.append(2, 0);
+        table.append(2, 1);
+
+        assertEquals(7, table.size());
+        assertEquals(new LineOffset(1, 3), table.get(0));
+        assertEquals(new LineOffset(1, 7), table.get(4));
+        assertEquals(new LineOffset(2, 0), table.get(5));
+        assertEquals(2, table.getLineNum(6));
+        assertEquals(1, table.getOffset(6));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(7));
+    }
+
+    @Test
+    void testEqualsToArrayList() {
+        List<LineOffset> expected = new ArrayList<>();
+        expected.add(new LineOffset(1, 0));
+        expected.add(new LineOffset(1, 1));
+        expected.add(new LineOffset(1, 5));
+        expected.add(new LineOffset(3, 2));
+
+        LineOffsetTable table = new LineOffsetTable(expected);
+        assertEquals(expected, table);
+        assertEquals(table, expected);
+        assertEquals(expected.hashCode(), table.hashCode());
+    }
+
+    @Test
+    void testIndexOf() {
+        LineOffsetTable table = new LineOffsetTable();
+        for (int i = 0; i < 10; i++) {
+            table.append(1, i);
+        }
+        for (int i = 0; i < 10; i++) {
+            table.append(2, i + 4);
+        }
+
+        assertEquals(0, table.indexOf(new LineOffset(1, 0)));
+        assertEquals(9, table.indexOf(new LineOffset(1, 9)));
+        assertEquals(10, table.indexOf(new LineOffset(2, 4)));
+        assertEquals(15, table.indexOf(new LineOffset(2, 9)));
+        assertEquals(-1, table.indexOf(new LineOffset(1, 10)));
+        assertEquals(-1, table.indexOf(new LineOffset(2, 0)));
+        assertEquals(-1, table.indexOf(new LineOffset(3, 0)));
+        assertFalse(table.contains(new LineOffset(0, 0)));
+    }
+
+    @Test
+    void testIndexOfNotAscending() {
+        LineOffsetTable table = new LineOffsetTable();
+        table.append(2, 0);
+        table.append(2, 1);
+        table.append(1, 5);
+        table.append(1, 6);
+
+        assertEquals(1, table.indexOf(new LineOffset(2, 1)));
+        assertEquals(3, table.indexOf(new LineOffset(1, 6)));
+        assertEquals(-1, table.indexOf(new LineOffset(1, 7)));
+    }
+
+    @Test
+    void testCopyRange() {
+        LineOffsetTable table = new LineOffsetTable();
+        for (int i = 0; i < 10; i++) {
+            table.append(1, i);
+        }
+        LineOffsetTable copy = table.copyRange(3, 6);
+        table.append(1, 10);
+
+        assertEquals(3, copy.size());
+        assertEquals(new LineOffset(1, 3), copy.get(0));
+        assertEquals(new LineOffset(1, 5), copy.get(2));
+        assertEquals(11, table.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> table.copyRange(5, 12));
+    }
+
+    @Test
+    void testSubListIsView() {
+        LineOffsetTable table = new LineOffsetTable();
+        for (int i = 0; i < 10; i++) {
+            table.append(1, i);
+        }
+        List<LineOffset> subList = table.subList(8, 10);
+        subList.add(new LineOffset(1, 10));
+
+        assertEquals(11, table.size());
+        assertEquals(new LineOffset(1, 10), table.get(10));
+
+        table.subList(0, 5).add(new LineOffset(2, 0));
+        assertEquals(12, table.size());
+        assertEquals(new LineOffset(2, 0), table.get(5));
+        assertEquals(new LineOffset(1, 5), table.get(6));
+
+        table.subList(5, 7).clear();
+        assertEquals(10, table.size());
+        assertEquals(new LineOffset(1, 6), table.get(5));
+        assertEquals(5, table.indexOf(new LineOffset(1, 6)));
+    }
+
+    @Test
+    void testAddAll() {
+        LineOffsetTable first = new LineOffsetTable();
+        first.append(1, 0);
+        first.append(1, 1);
+        LineOffsetTable second = new LineOffsetTable();
+        second.append(1, 2);
+        second.append(2, 0);
+
+        first.addAll(second);
+        assertEquals(4, first.size());
+        assertEquals(new LineOffset(1, 2), first.get(2));
+        assertEquals(new LineOffset(2, 0), first.get(3));
+        assertEquals(2, first.indexOf(new LineOffset(1, 2)));
+    }
+
+    @Test
+    void testModificationsInMiddleBehaveAsArrayList() {
+        List<LineOffset> expected = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            expected.add(new LineOffset(1, i));
+        }
+        LineOffsetTable table = new LineOffsetTable(expected);
+
+        expected.add(0, new LineOffset(1, 9));
+        table.add(0, new LineOffset(1, 9));
+        expected.add(4, new LineOffset(2, 0));
+        table.add(4, new LineOffset(2, 0));
+        assertEquals(expected, table);
+        assertEquals(4, table.indexOf(new LineOffset(2, 0)));
+
+        assertEquals(expected.set(2, new LineOffset(3, 1)), table.set(2, new LineOffset(3, 1)));
+        assertEquals(expected, table);
+
+        assertEquals(expected.remove(4), table.remove(4));
+        assertEquals(expected.remove(0), table.remove(0));
+        assertEquals(expected, table);
+        assertEquals(expected.indexOf(new LineOffset(1, 4)), table.indexOf(new LineOffset(1, 4)));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> table.add(table.size() + 1, new LineOffset(1, 1)));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.remove(table.size()));
+    }
+}
@@ -10,8 +10,11 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -147,6 +150,36 @@ class PreprocessorTest {
         assertEquals(1, doc.getPreprocessorRules().size());
     }
 
+    @Test
+    void testReaderRecognizesDirectivesOfEachFormat() throws IOException {
+        assertReadRule(DocumentParser.MARKDOWN, "  <!-- @suppress Spelling SuccessiveWord -->", 2, "spelling", "successiveword");
+        assertReadRule(DocumentParser.REVIEW, "#@# @suppress Spelling", 2, "spelling");
+        assertReadRule(DocumentParser.LATEX, "%  @suppress", 2);
+        assertReadRule(DocumentParser.REST, ".. @suppress Spelling", 5, "spelling");
+        assertReadRule(DocumentParser.ASCIIDOC, "[Suppress='Spelling SuccessiveWord']", 2, "spelling", "successiveword");
+
+        for (String line : Arrays.asList("<!-- @suppress Spelling", "# @suppress", "@suppress", "[suppres]")) {
+            for (DocumentParser parser : Arrays.asList(DocumentParser.MARKDOWN, DocumentParser.REVIEW, DocumentParser.LATEX,
+                    DocumentParser.REST, DocumentParser.ASCIIDOC)) {
+                try (PreprocessingReader reader = new PreprocessingReader(new StringReader(line), parser)) {
+                    assertEquals(line, reader.readLine());
+                    assertEquals(0, reader.getPreprocessorRules().size());
+                }
+            }
+        }
+    }
+
+    private static void assertReadRule(DocumentParser parser, String line, int ruleLineNumber, String... parameters) throws IOException {
+        try (PreprocessingReader reader = new PreprocessingReader(new StringReader(line + "\nA sentence."), parser)) {
+            assertEquals(parser == DocumentParser.ASCIIDOC ? "" : line, reader.readLine());
+            assertEquals("A sentence.", reader.readLine());
+            assertEquals(1, reader.getPreprocessorRules().size());
+            PreprocessorRule rule = reader.getPreprocessorRules().iterator().next();
+            assertEquals(ruleLineNumber, rule.getLineNumber());
+            assertEquals(Arrays.asList(parameters), rule.getParameters());
+        }
+    }
+
     @Test
     void testTriggeredBy() {
 
@@ -92,6 +92,19 @@ class SentenceExtractorTest {
         assertEquals(14, lastPosition); // NOTE: second sentence start with white space.
     }
 
+    @Test
+    void testSentenceWithCustomWhiteWord() {
+        Configuration configuration = Configuration.builder().addWhiteWord("Prof.").build();
+        SentenceExtractor extractor = new SentenceExtractor(configuration.getSymbolTable(), configuration.getWhiteWords());
+        final String input = "I met Prof. Smith yesterday. He was kind.";
+        List<Pair<Integer, Integer>> outputPositions = new ArrayList<>();
+        int lastPosition = extractor.extract(input, outputPositions);
+        List<Sentence> outputSentences = createSentences(outputPositions, lastPosition, input);
+        assertEquals(2, outputSentences.size());
+        assertEquals("I met Prof. Smith yesterday.", outputSentences.get(0).getContent());
+        assertEquals(" He was kind.", outputSentences.get(1).getContent());
+    }
+
     @Test
     void testEndWithDoubleQuotation() {
         SentenceExtractor extractor = new SentenceExtractor(
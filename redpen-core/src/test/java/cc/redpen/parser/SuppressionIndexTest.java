@@ -0,0 +1,80 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.parser;
+
+import cc.redpen.model.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class SuppressionIndexTest {
+    @Test
+    void testSuppressesAsRulesAreTriggered() {
+        Set<PreprocessorRule> rules = new HashSet<>();
+        rules.add(rule(1, 0));
+        rules.add(rule(4, 8, "spelling"));
+        rules.add(rule(9, 0, "spelling", "successiveword"));
+        rules.add(rule(15, 12));
+        rules.add(rule(19, 0, "spelling"));
+        rules.add(rule(30, 0));
+        Document document = Document.builder()
+                .addSection(1)
+                .addParagraph()
+                .addSentence("First section.", 1)
+                .addSentence("Still first section.", 3)
+                .addSection(1)
+                .addParagraph()
+                .addSentence("Second section.", 5)
+                .addSentence("Still second section.", 12)
+                .addListBlock()
+                .addListElement(1, "An item.")
+                .addSection(1)
+                .addParagraph()
+                .addSentence("Third section.", 16)
+                .addSentence("Still third section.", 25)
+                .setPreprocessorRules(rules)
+                .build();
+
+        SuppressionIndex index = new SuppressionIndex(document);
+        for (int line = 0; line < 35; line++) {
+            for (String validatorName : Arrays.asList("Spelling", "spelling.js", "SuccessiveWord", "Other")) {
+                boolean expected = false;
+                for (PreprocessorRule rule : rules) {
+                    expected |= rule.isTriggeredBy(document, line, validatorName);
+                }
+                assertEquals(expected, index.isSuppressed(line, validatorName), "line " + line + " " + validatorName);
+            }
+        }
+        assertFalse(new SuppressionIndex(Document.builder().addSection(1).build()).isSuppressed(1, "Spelling"));
+    }
+
+    private static PreprocessorRule rule(int line, int lineNumberLimit, String... parameters) {
+        // rules apply from the line following the one they are written on
+        PreprocessorRule rule = new PreprocessorRule(PreprocessorRule.RuleType.SUPPRESS, line - 1);
+        rule.setLineNumberLimit(lineNumberLimit);
+        for (String parameter : parameters) {
+            rule.addParameter(parameter);
+        }
+        return rule;
+    }
+}
@@ -31,6 +31,19 @@ import static cc.redpen.parser.latex.Assert.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class StreamParserTest {
+    @Test
+    void testParsingStyleTextileRegionPositionsRepeatedBlocks() {
+        final Token target = new Token("TEXTILE", "  This is a pen.\n\nThis is a pen.\n\nThat is a pen.\n", new Position(3, 5));
+        final List<Token> tokens = StreamParser.Parsing.styleTextileRegion(Arrays.asList(target));
+        assertEquals(5, tokens.size());
+        assertEquals(3, tokens.get(0).pos.row);
+        assertEquals(7, tokens.get(0).pos.col);
+        assertEquals(5, tokens.get(2).pos.row);
+        assertEquals(0, tokens.get(2).pos.col);
+        assertEquals(7, tokens.get(4).pos.row);
+        assertEquals(0, tokens.get(4).pos.col);
+    }
+
     @Test
     void testParsingCountMatches() {
         assertEquals(3, StreamParser.Parsing.countMatches(Pattern.compile("abc"), "abc abcd abcde"));
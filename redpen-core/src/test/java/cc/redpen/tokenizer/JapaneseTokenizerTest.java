@@ -19,9 +19,15 @@ package cc.redpen.tokenizer;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class JapaneseTokenizerTest {
     @Test
@@ -47,4 +53,35 @@ class JapaneseTokenizerTest {
         List<TokenElement> tokens = tokenizer.tokenize("");
         assertEquals(0, tokens.size());
     }
+
+    @Test
+    void testTokenizeConcurrently() throws Exception {
+        NeologdJapaneseTokenizer tokenizer = new NeologdJapaneseTokenizer();
+        List<String> sentences = Arrays.asList("今日も晴天だ。", "明日は雨が降るかもしれない。", "私は彼に本を貸した。");
+        List<List<TokenElement>> expected = new ArrayList<>();
+        for (String sentence : sentences) {
+            expected.add(tokenizer.tokenize(sentence));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    for (int n = 0; n < 100; n++) {
+                        int index = n % sentences.size();
+                        if (!expected.get(index).equals(tokenizer.tokenize(sentences.get(index)))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
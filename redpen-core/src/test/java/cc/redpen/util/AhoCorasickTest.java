@@ -0,0 +1,74 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AhoCorasickTest {
+    private static List<String> matches(AhoCorasick matcher, String text) {
+        List<String> result = new ArrayList<>();
+        matcher.match(text, (index, start, end) ->
+                result.add(matcher.getPatterns().get(index) + "@" + start + "-" + end));
+        return result;
+    }
+
+    @Test
+    void testMatch() {
+        AhoCorasick matcher = new AhoCorasick(Arrays.asList("he", "she", "his", "hers"));
+        assertEquals(Arrays.asList("she@1-4", "he@2-4", "hers@2-6"), matches(matcher, "ushers"));
+    }
+
+    @Test
+    void testOverlappingMatches() {
+        AhoCorasick matcher = new AhoCorasick(Arrays.asList("a.m.", "m.", "."));
+        assertEquals(Arrays.asList(".@1-2", "a.m.@0-4", "m.@2-4", ".@3-4"),
+                matches(matcher, "a.m."));
+    }
+
+    @Test
+    void testNoMatch() {
+        AhoCorasick matcher = new AhoCorasick(Arrays.asList("Mr.", "Dr."));
+        assertTrue(matches(matcher, "This is a pen.").isEmpty());
+        assertTrue(matches(new AhoCorasick(Collections.emptyList()), "This is a pen.").isEmpty());
+    }
+
+    @Test
+    void testJapanese() {
+        AhoCorasick matcher = new AhoCorasick(Arrays.asList("日本", "日本語", "本語"));
+        assertEquals(Arrays.asList("日本@1-3", "日本語@1-4", "本語@2-4"), matches(matcher, "は日本語です"));
+    }
+
+    @Test
+    void testMatchedPositions() {
+        AhoCorasick matcher = new AhoCorasick(Arrays.asList("Mr.", "Jun."));
+        BitSet positions = matcher.matchedPositions("This Jun. 10th, he was Mr. United States.");
+        BitSet expected = new BitSet();
+        expected.set(5, 9);
+        expected.set(23, 26);
+        assertEquals(expected, positions);
+    }
+}
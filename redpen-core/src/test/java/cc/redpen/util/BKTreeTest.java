@@ -0,0 +1,90 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BKTreeTest {
+    @Test
+    void testSearch() {
+        BKTree tree = new BKTree();
+        for (String word : Arrays.asList("インデックス", "サーバー", "インタフェース", "インデクス", "サーバ")) {
+            tree.add(word);
+        }
+        assertEquals(5, tree.size());
+        assertEquals(Arrays.asList("インデックス", "インデクス"), tree.search("インデックス", 1));
+        assertEquals(Arrays.asList("サーバー", "サーバ"), tree.search("サーバー", 1));
+        assertEquals(Arrays.asList("インタフェース"), tree.search("インターフェース", 1));
+        assertEquals(emptyList(), tree.search("プリンタ", 2));
+        assertEquals(emptyList(), new BKTree().search("プリンタ", 2));
+    }
+
+    @Test
+    void testSearchAgreesWithLinearScan() {
+        Random random = new Random(7);
+        BKTree tree = new BKTree();
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String word = randomWord(random);
+            words.add(word);
+            tree.add(word);
+        }
+        for (int i = 0; i < 100; i++) {
+            String query = randomWord(random);
+            int threshold = random.nextInt(4);
+            List<String> expected = new ArrayList<>();
+            for (String word : words) {
+                if (LevenshteinDistance.getDistance(word, query) <= threshold) {
+                    expected.add(word);
+                }
+            }
+            assertEquals(expected, tree.search(query, threshold), query + " " + threshold);
+        }
+    }
+
+    @Test
+    void testSearchWithAsymmetricCosts() {
+        BKTree tree = new BKTree();
+        tree.add("abc");
+        tree.add("abcd");
+        LevenshteinDistance.setDeletionCost(5);
+        try {
+            assertEquals(Arrays.asList("abc", "abcd"), tree.search("abcd", 1));
+            assertEquals(Arrays.asList("abc"), tree.search("abc", 1));
+        } finally {
+            LevenshteinDistance.setDeletionCost(1);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 2 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+}
@@ -28,12 +28,16 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.junit.jupiter.api.Assertions.*;
 
 class DictionaryLoaderTest extends Validator {
     @Test
@@ -80,6 +84,17 @@ class DictionaryLoaderTest extends Validator {
         File file = path.toFile();
         System.setProperty("REDPEN_HOME", file.getParentFile().getAbsolutePath());
         Files.copy(new ByteArrayInputStream("foo".getBytes()), path, StandardCopyOption.REPLACE_EXISTING);
+        long checkInterval = WORD_LIST.getCheckInterval();
+        WORD_LIST.setCheckInterval(0);
+        try {
+            assertLoadedCachedFile(path);
+        } finally {
+            WORD_LIST.setCheckInterval(checkInterval);
+        }
+    }
+
+    private void assertLoadedCachedFile(Path path) throws IOException, RedPenException {
+        File file = path.toFile();
         Set<String> strings;
         strings = WORD_LIST.loadCachedFromFile(path.toFile(), "temp file");
         assertEquals(1, strings.size());
@@ -113,4 +128,75 @@ class DictionaryLoaderTest extends Validator {
         Set<String> result = new DictionaryLoader<Set<String>>(HashSet::new, null).loadCachedFromResource("hello.xml", "hello");
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    void testCachedFileIsNotCheckedWithinInterval() throws IOException, RedPenException {
+        Path path = Files.createTempFile("test", "txt");
+        File file = path.toFile();
+        Files.copy(new ByteArrayInputStream("foo".getBytes()), path, StandardCopyOption.REPLACE_EXISTING);
+        DictionaryLoader<Set<String>> loader = new DictionaryLoader<>(HashSet::new, Set::add);
+        loader.setCheckInterval(HOURS.toMillis(1));
+        assertEquals(1, loader.loadCachedFromFile(file, "temp file").size());
+
+        Files.copy(new ByteArrayInputStream("foo\nbar".getBytes()), path, StandardCopyOption.REPLACE_EXISTING);
+        file.setLastModified(file.lastModified() + 1000);
+        // not checked again until the interval has passed
+        assertEquals(1, loader.loadCachedFromFile(file, "temp file").size());
+
+        loader.setCheckInterval(0);
+        assertEquals(2, loader.loadCachedFromFile(file, "temp file").size());
+    }
+
+    @Test
+    void testLoadingInexistingFileThrowsException() throws Exception {
+        File file = new File("no-such-dictionary.txt");
+        RedPenException e = assertThrows(RedPenException.class, () -> WORD_LIST.loadCachedFromFile(file, "missing file"));
+        assertEquals("File not found: " + file, e.getMessage());
+    }
+
+    @Test
+    void testLoadedDictionariesCannotBeModified() throws IOException {
+        Set<String> words = WORD_LIST.load(new ByteArrayInputStream("foo".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(UnsupportedOperationException.class, () -> words.add("bar"));
+        Map<String, String> map = KEY_VALUE.load(new ByteArrayInputStream("foo\tbar".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("bar", "baz"));
+    }
+
+    @Test
+    void testLoadedWordListsBuildTheirAutomatonOnce() {
+        Set<String> words = WORD_LIST.loadCachedFromResource("default-resources/spellchecker/spellchecker-en.dat", "spell checker");
+        AhoCorasick automaton = ((IndexedWordSet) words).getAutomaton();
+        assertSame(automaton, ((IndexedWordSet) WORD_LIST.loadCachedFromResource(
+                "default-resources/spellchecker/spellchecker-en.dat", "spell checker")).getAutomaton());
+        assertEquals(words.size(), automaton.getPatterns().size());
+    }
+
+    @Test
+    void testConcurrentLoadsShareOneDictionary() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        DictionaryLoader<Set<String>> loader = new DictionaryLoader<>(() -> {
+            loads.incrementAndGet();
+            return new HashSet<>();
+        }, Set::add);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Set<String>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return loader.loadCachedFromResource("default-resources/spellchecker/spellchecker-en.dat", "spell checker");
+                }));
+            }
+            start.countDown();
+            Set<String> first = results.get(0).get();
+            assertFalse(first.isEmpty());
+            for (Future<Set<String>> result : results) {
+                assertSame(first, result.get());
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
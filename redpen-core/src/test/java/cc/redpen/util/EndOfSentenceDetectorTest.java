@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Pattern;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class EndOfSentenceDetectorTest {
@@ -229,4 +230,26 @@ class EndOfSentenceDetectorTest {
         EndOfSentenceDetector detector = new EndOfSentenceDetector(pattern, whiteList);
         assertEquals(-1, detector.getSentenceEndPosition(str, 0));
     }
+
+    @Test
+    void testEndPositionWithManySuccessivePeriods() {
+        Pattern pattern = Pattern.compile("\\.");
+        StringBuilder str = new StringBuilder("Wait");
+        for (int i = 0; i < 100000; i++) {
+            str.append('.');
+        }
+        str.append(" Then he came.");
+        EndOfSentenceDetector detector = new EndOfSentenceDetector(pattern);
+        assertEquals(100003, detector.getSentenceEndPosition(str.toString(), 0));
+    }
+
+    @Test
+    void testEndPositions() {
+        String str = "He is Mr. United States. そうです。本当? \"Really?\" Yes!";
+        EndOfSentenceDetector detector = new EndOfSentenceDetector(
+                new char[]{'.', '?', '!', '。'}, new char[]{'"'}, generateUmList("Mr."));
+        assertArrayEquals(new int[]{23, 32, 42, 47}, detector.getSentenceEndPositions(str, 0));
+        assertArrayEquals(new int[]{32, 42, 47}, detector.getSentenceEndPositions(str, 30));
+        assertArrayEquals(new int[0], detector.getSentenceEndPositions("no period", 0));
+    }
 }
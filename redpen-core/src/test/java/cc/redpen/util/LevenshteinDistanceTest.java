@@ -19,6 +19,8 @@ package cc.redpen.util;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class LevenshteinDistanceTest {
@@ -169,6 +171,44 @@ class LevenshteinDistanceTest {
         resetCost();
     }
 
+    @Test
+    void testDistanceWithThreshold() {
+        assertEquals(3, LevenshteinDistance.getDistance("kitten", "sitting", 3));
+        assertEquals(3, LevenshteinDistance.getDistance("kitten", "sitting", 5));
+        assertEquals(3, LevenshteinDistance.getDistance("kitten", "sitting", 2));
+        assertEquals(2, LevenshteinDistance.getDistance("a", "abcdef", 1));
+        assertEquals(0, LevenshteinDistance.getDistance("", "", 0));
+        assertEquals(1, LevenshteinDistance.getDistance(null, "x", 3));
+    }
+
+    @Test
+    void testDistanceWithThresholdAgreesWithDistance() {
+        Random random = new Random(42);
+        for (int costs = 0; costs < 3; costs++) {
+            LevenshteinDistance.setInsertionCost(1 + costs % 2);
+            LevenshteinDistance.setDeletionCost(1 + costs);
+            LevenshteinDistance.setSubstitutionCost(1 + costs / 2);
+            for (int n = 0; n < 500; n++) {
+                String a = randomWord(random);
+                String b = randomWord(random);
+                int distance = LevenshteinDistance.getDistance(a, b);
+                int threshold = random.nextInt(8);
+                assertEquals(Math.min(distance, threshold + 1), LevenshteinDistance.getDistance(a, b, threshold),
+                        a + " " + b + " " + threshold);
+            }
+        }
+        resetCost();
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = random.nextInt(10);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(3)));
+        }
+        return word.toString();
+    }
+
     private void resetCost() {
         LevenshteinDistance.setInsertionCost(1);
         LevenshteinDistance.setDeletionCost(1);
@@ -0,0 +1,73 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.validator;
+
+import cc.redpen.tokenizer.TokenElement;
+import cc.redpen.util.RuleExtractor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExpressionRuleSetTest {
+    @Test
+    void testFindRulesAsExpressionRuleMatches() {
+        ExpressionRuleSet rules = new ExpressionRuleSet();
+        for (String line : asList("is + not", "not:名詞", "this + is + not + a", "a + pen", "is", "pen + is")) {
+            rules.add(RuleExtractor.run(line));
+        }
+        assertFalse(rules.add(RuleExtractor.run("a + pen")));
+        assertEquals(6, rules.size());
+
+        for (List<TokenElement> tokens : asList(tokens("this", "is", "not", "a", "pen"), tokens("is", "not"),
+                tokens("this", "is", "a", "pen"), tokens("pen"), tokens())) {
+            List<ExpressionRule> expected = rules.stream().filter(rule -> rule.match(tokens)).collect(Collectors.toList());
+            assertEquals(expected, rules.findAll(tokens));
+            assertEquals(expected.stream().findFirst(), rules.findFirst(tokens));
+        }
+        assertEquals(Optional.of(RuleExtractor.run("is + not")), rules.findFirst(tokens("not", "is", "not")));
+        assertEquals(emptyList(), new ExpressionRuleSet().findAll(tokens("is")));
+        assertEquals(singletonList(new ExpressionRule()), new ExpressionRuleSet(singletonList(new ExpressionRule())).findAll(tokens("is")));
+    }
+
+    @Test
+    void testFrozenSetCannotBeModified() {
+        ExpressionRuleSet rules = new ExpressionRuleSet(singletonList(RuleExtractor.run("is + not"))).freeze();
+        assertThrows(UnsupportedOperationException.class, () -> rules.add(RuleExtractor.run("a + pen")));
+        assertThrows(UnsupportedOperationException.class, rules::clear);
+        assertEquals(1, rules.size());
+        assertEquals(singletonList(RuleExtractor.run("is + not")), rules.findAll(tokens("it", "is", "not")));
+    }
+
+    private static List<TokenElement> tokens(String... surfaces) {
+        List<TokenElement> tokens = new ArrayList<>();
+        for (String surface : surfaces) {
+            tokens.add(new TokenElement(surface, singletonList("名詞"), 0));
+        }
+        return tokens;
+    }
+}
@@ -351,6 +351,28 @@ public class JavaScriptValidatorTest extends JavaScriptValidator {
         assertEquals("testScript.js", errors.get(0).getValidatorName());
     }
 
+    @Test
+    void testLoadersOfSameScriptDoNotShareState() throws RedPenException {
+        String script = "var count = 0;" +
+                "function validateSentence(sentence) {" +
+                "count++;" +
+                "addError('count ' + count, sentence);}";
+        JavaScriptLoader first = new JavaScriptLoader("testScript.js", script);
+        JavaScriptLoader second = new JavaScriptLoader("testScript.js", script);
+        Sentence sentence = new Sentence("the good item is a good example.", 1);
+
+        first.setErrorList(errors);
+        second.setErrorList(errors);
+        first.validate(sentence);
+        first.validate(sentence);
+        second.validate(sentence);
+        assertEquals(3, errors.size());
+        assertEquals("count 1", errors.get(0).getMessage());
+        assertEquals("count 2", errors.get(1).getMessage());
+        assertEquals("count 1", errors.get(2).getMessage());
+        assertEquals("testScript.js", errors.get(2).getValidatorName());
+    }
+
     private ArrayList<ValidationError> errors = new ArrayList<>();
 
 
@@ -0,0 +1,62 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.validator;
+
+import cc.redpen.config.ValidatorConfiguration;
+import cc.redpen.model.Sentence;
+import cc.redpen.parser.LineOffset;
+import cc.redpen.parser.LineOffsetTable;
+import org.junit.jupiter.api.Test;
+
+import java.text.MessageFormat;
+import java.util.Optional;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ValidationErrorTest {
+    @Test
+    void testWithSentenceStartingInTheMiddleOfLine() {
+        Sentence sentence = sentenceAt("Foo bar baz.", 1, 10);
+        ValidationError error = new ValidationError("Test", new MessageFormat("error"), new Object[0], sentence,
+                sentence.getOffset(4).get(), sentence.getOffset(12).get(), ValidatorConfiguration.LEVEL.ERROR);
+
+        ValidationError moved = error.withSentence(sentenceAt("Foo bar baz.", 3, 2));
+        assertEquals(new LineOffset(3, 6), moved.getStartPosition().get());
+        assertEquals(new LineOffset(3, 14), moved.getEndPosition().get());
+    }
+
+    @Test
+    void testGetPosition() {
+        Sentence sentence = sentenceAt("Foo bar.", 2, 5);
+        assertEquals(Optional.of(0), sentence.getPosition(new LineOffset(2, 5)));
+        assertEquals(Optional.of(3), sentence.getPosition(new LineOffset(2, 8)));
+        assertEquals(Optional.of(8), sentence.getPosition(new LineOffset(2, 13)));
+        assertEquals(Optional.empty(), sentence.getPosition(new LineOffset(2, 3)));
+        assertEquals(Optional.empty(), sentence.getPosition(new LineOffset(2, 14)));
+        assertEquals(Optional.empty(), sentence.getPosition(new LineOffset(1, 5)));
+    }
+
+    private static Sentence sentenceAt(String content, int lineNum, int column) {
+        LineOffsetTable offsets = new LineOffsetTable();
+        for (int i = 0; i < content.length(); i++) {
+            offsets.append(lineNum, column + i);
+        }
+        return new Sentence(content, offsets, emptyList());
+    }
+}
@@ -24,7 +24,13 @@ import cc.redpen.model.Sentence;
 import cc.redpen.tokenizer.TokenElement;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 
@@ -32,6 +38,9 @@ import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ValidatorTest {
     private final Configuration globalConfig = Configuration.builder().build();
@@ -57,6 +66,35 @@ class ValidatorTest {
         assertEquals("キー指定 :sentence", validationErrors.get(1).getMessage());
     }
 
+    @Test
+    void localizedMessagesAreFormattedOnceWhenRead() throws Exception {
+        ValidationErrorMessageTest validator = new ValidationErrorMessageTest();
+        validator.preInit(new ValidatorConfiguration("blah"), globalConfig);
+        validator.setLocale(Locale.ENGLISH);
+        List<ValidationError> validationErrors = new ArrayList<>();
+        validator.setErrorList(validationErrors);
+        Sentence sentence = new Sentence("sentence", 1);
+        assertSame(validator.getLocalizedErrorFormat(null), validator.getLocalizedErrorFormat(null));
+
+        StringBuilder mutable = new StringBuilder("before");
+        validator.addLocalizedError(sentence, 1, 2, 3, "sentence");
+        validator.addLocalizedError(sentence, 1, 2, 3, mutable);
+        // arguments which may change are formatted right away
+        mutable.setLength(0);
+        assertEquals("error str:sentence 1:1 2:2 3:3", validationErrors.get(0).getMessage());
+        assertSame(validationErrors.get(0).getMessage(), validationErrors.get(0).getMessage());
+        assertEquals("error str:before 1:1 2:2 3:3", validationErrors.get(1).getMessage());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new ValidationError("blah", validator.getLocalizedErrorFormat(null), new Object[]{1, 2, 3, "sentence"},
+                    sentence, null, null, ValidatorConfiguration.LEVEL.ERROR));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals("error str:sentence 1:1 2:2 3:3", ((ValidationError) in.readObject()).getMessage());
+        }
+    }
+
     @Test
     void configOverridesDefaultAttributes() throws Exception {
         Validator validator = new Validator("hello", 123) {};
@@ -66,6 +104,53 @@ class ValidatorTest {
         assertEquals(234, validator.getInt("hello"));
     }
 
+    @Test
+    void configuredPropertiesAreConvertedToTheTypesOfTheirDefaults() throws Exception {
+        Validator validator = new Validator("int", 1, "float", 0.5f, "boolean", false, "set", new HashSet<>(), "string", "a") {};
+        validator.preInit(new ValidatorConfiguration("blah").addProperty("int", "2").addProperty("float", "0.25")
+                .addProperty("boolean", "TRUE").addProperty("set", "Foo,bar").addProperty("string", "b"), globalConfig);
+        assertEquals(2, validator.getInt("int"));
+        assertEquals(0.25f, validator.getFloat("float"));
+        assertTrue(validator.getBoolean("boolean"));
+        assertEquals(new HashSet<>(Arrays.asList("foo", "bar")), validator.getSet("set"));
+        assertSame(validator.getSet("set"), validator.getSet("set"));
+        assertEquals("b", validator.getString("string"));
+
+        assertThrows(RedPenException.class, () -> validator.preInit(new ValidatorConfiguration("blah").addProperty("int", "two"), globalConfig));
+        assertThrows(RedPenException.class, () -> validator.preInit(new ValidatorConfiguration("blah").addProperty("float", "1/2"), globalConfig));
+        assertThrows(RedPenException.class, () -> validator.preInit(new ValidatorConfiguration("blah").addProperty("boolean", "yes"), globalConfig));
+    }
+
+    @Test
+    void readingPropertiesDoesNotChangeTheDefaults() throws Exception {
+        Validator validator = new Validator("list", "", "map", "") {};
+        validator.preInit(new ValidatorConfiguration("blah").addProperty("list", "foo,bar").addProperty("map", "{a,b}"), globalConfig);
+        assertEquals(new HashSet<>(Arrays.asList("foo", "bar")), validator.getSet("list"));
+        assertEquals("b", validator.getMap("map").get("a"));
+        assertEquals("", validator.getProperties().get("list"));
+        assertEquals("", validator.getProperties().get("map"));
+    }
+
+    @Test
+    void propertiesAreBoundOnceAfterInit() throws Exception {
+        List<String> calls = new ArrayList<>();
+        Validator validator = new Validator("hello", 123) {
+            @Override
+            protected void init() throws RedPenException {
+                calls.add("init");
+            }
+
+            @Override
+            protected void bindProperties() throws RedPenException {
+                calls.add("bind " + getInt("hello"));
+            }
+        };
+        assertTrue(calls.isEmpty());
+
+        validator.preInit(new ValidatorConfiguration("blah").addProperty("hello", "234"), globalConfig);
+        assertEquals(Arrays.asList("init", "bind 234"), calls);
+    }
+
     @Test
     void equalsAndHashCode() throws Exception {
         Validator validator = new ValidationErrorMessageTest();
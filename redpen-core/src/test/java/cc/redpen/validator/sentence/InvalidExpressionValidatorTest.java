@@ -52,6 +52,21 @@ class InvalidExpressionValidatorTest {
         assertEquals(1, errors.size());
     }
 
+    @Test
+    void testEveryOccurrenceIsReported() throws RedPenException {
+        Configuration config = Configuration.builder()
+                .addValidatorConfig(new ValidatorConfiguration("InvalidExpression").addProperty("list", "may,might"))
+                .build();
+        Validator validator = ValidatorFactory.getInstance(config.getValidatorConfigs().get(0), config);
+        List<ValidationError> errors = new ArrayList<>();
+        validator.setErrorList(errors);
+        validator.validate(new Sentence("It may work, it might not, and it may fail.", 0));
+        assertEquals(3, errors.size());
+        assertEquals(3, errors.get(0).getStartPosition().get().offset);
+        assertEquals(16, errors.get(1).getStartPosition().get().offset);
+        assertEquals(34, errors.get(2).getStartPosition().get().offset);
+    }
+
     @Test
     void testVoid() throws RedPenException {
         Configuration config = Configuration.builder()
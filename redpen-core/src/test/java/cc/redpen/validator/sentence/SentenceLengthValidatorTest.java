@@ -17,6 +17,7 @@
  */
 package cc.redpen.validator.sentence;
 
+import cc.redpen.RedPenException;
 import cc.redpen.config.Configuration;
 import cc.redpen.config.ValidatorConfiguration;
 import cc.redpen.model.Sentence;
@@ -29,6 +30,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class SentenceLengthValidatorTest {
     private SentenceLengthValidator validator = new SentenceLengthValidator();
@@ -65,4 +67,11 @@ class SentenceLengthValidatorTest {
         validator.validate(str);
         assertEquals(0, errors.size());
     }
+
+    @Test
+    void testInvalidMaxLengthFailsWhenConfigured() {
+        SentenceLengthValidator invalid = new SentenceLengthValidator();
+        assertThrows(RedPenException.class, () -> invalid.preInit(
+                new ValidatorConfiguration("SentenceLength").addProperty("max_len", "thirty"), Configuration.builder().build()));
+    }
 }
@@ -97,6 +97,20 @@ class SuggestExpressionValidatorTest extends BaseValidatorTest {
         assertEquals(2, errors.size());
     }
 
+    @Test
+    void testOccurrenceAfterOneWithoutWordBoundaries() throws RedPenException {
+        Configuration config = Configuration.builder()
+                .addValidatorConfig(new ValidatorConfiguration("SuggestExpression").addProperty("map", "{like,such " +
+                        "as}"))
+                .build();
+
+        Validator validator = ValidatorFactory.getInstance(config.getValidatorConfigs().get(0), config);
+        List<ValidationError> errors = new ArrayList<>();
+        validator.setErrorList(errors);
+        validator.validate(new Sentence("It is likely that they like it, and they like cake.", 0));
+        assertEquals(2, errors.size());
+    }
+
     @Test
     void japanese() throws RedPenException {
         Configuration config = Configuration.builder()
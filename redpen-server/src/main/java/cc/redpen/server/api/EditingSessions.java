@@ -0,0 +1,125 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.server.api;
+
+import cc.redpen.EditingSession;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Editing sessions opened by clients, identified by random ids.
+ * <p>
+ * Sessions which were not used for a while are discarded, and the least recently used session is discarded
+ * when too many sessions are open.
+ */
+public class EditingSessions {
+    static final int DEFAULT_CAPACITY = 256;
+    static final long DEFAULT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final int capacity;
+    private final long timeoutMillis;
+    private final Map<String, Entry> sessions;
+
+    private static final class Entry {
+        final EditingSession session;
+        long lastAccess;
+
+        Entry(EditingSession session, long lastAccess) {
+            this.session = session;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity      maximum number of open sessions
+     * @param timeoutMillis time after which unused sessions are discarded
+     */
+    public EditingSessions(int capacity, long timeoutMillis) {
+        this.capacity = capacity;
+        this.timeoutMillis = timeoutMillis;
+        this.sessions = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > EditingSessions.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Register a session.
+     *
+     * @param session session
+     * @return id of the session
+     */
+    public synchronized String open(EditingSession session) {
+        long now = System.currentTimeMillis();
+        expire(now);
+        String id = UUID.randomUUID().toString();
+        sessions.put(id, new Entry(session, now));
+        return id;
+    }
+
+    /**
+     * Get a session.
+     *
+     * @param id id of the session
+     * @return the session, or null when it does not exist or expired
+     */
+    public synchronized EditingSession get(String id) {
+        long now = System.currentTimeMillis();
+        expire(now);
+        Entry entry = sessions.get(id);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = now;
+        return entry.session;
+    }
+
+    /**
+     * Discard a session.
+     *
+     * @param id id of the session
+     * @return true if the session existed
+     */
+    public synchronized boolean close(String id) {
+        return sessions.remove(id) != null;
+    }
+
+    public synchronized int size() {
+        expire(System.currentTimeMillis());
+        return sessions.size();
+    }
+
+    private void expire(long now) {
+        // entries are in access order, so the expired ones come first
+        Iterator<Entry> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().lastAccess < timeoutMillis) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * redpen: a text inspection tool
+ * Copyright (c) 2014-2015 Recruit Technologies Co., Ltd. and contributors
+ * (see CONTRIBUTORS.md)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cc.redpen.server.api;
+
+import cc.redpen.RedPen;
+import cc.redpen.RedPenException;
+import cc.redpen.config.Configuration;
+import cc.redpen.config.Symbol;
+import cc.redpen.config.SymbolType;
+import cc.redpen.config.ValidatorConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bounded LRU cache of RedPen instances built for configurations posted with requests.
+ * <p>
+ * Building a RedPen loads dictionaries and initializes every validator, so requests repeating the same settings
+ * reuse the instance built for the first one. Configurations are identified by a canonical form of their language,
+ * variant, symbols, white words and validators, in which the order of validator properties does not matter.
+ */
+public class RedPenCache {
+    private static final Logger LOG = LoggerFactory.getLogger(RedPenCache.class);
+
+    static final int DEFAULT_CAPACITY = 32;
+
+    private final int capacity;
+    private final Map<String, RedPen> redPens;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity maximum number of RedPen instances to keep
+     */
+    public RedPenCache(int capacity) {
+        this.capacity = capacity;
+        this.redPens = new LinkedHashMap<String, RedPen>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RedPen> eldest) {
+                if (size() > RedPenCache.this.capacity) {
+                    evictionCount++;
+                    LOG.debug("Evicting RedPen for {} ({} evictions so far)", eldest.getValue().getConfiguration().getKey(), evictionCount);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a RedPen for the given configuration, building it when no equivalent configuration is cached.
+     *
+     * @param configuration configuration
+     * @return RedPen instance, possibly shared with other requests
+     * @throws RedPenException when failed to build the RedPen
+     */
+    public RedPen get(Configuration configuration) throws RedPenException {
+        String key = canonicalKey(configuration);
+        synchronized (this) {
+            RedPen cached = redPens.get(key);
+            if (cached != null) {
+                hitCount++;
+                return cached;
+            }
+            missCount++;
+        }
+        // built outside the lock, a concurrent request for the same key may build one too and the first one wins
+        RedPen redPen = new RedPen(configuration.clone());
+        synchronized (this) {
+            RedPen cached = redPens.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            redPens.put(key, redPen);
+        }
+        return redPen;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return redPens.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Get the canonical form of a configuration. Equivalent configurations have the same canonical form.
+     *
+     * @param configuration configuration
+     * @return canonical form
+     */
+    static String canonicalKey(Configuration configuration) {
+        StringBuilder key = new StringBuilder();
+        append(key, configuration.getLang());
+        append(key, configuration.getVariant());
+        append(key, String.valueOf(configuration.isSecure()));
+        append(key, configuration.getBase() == null ? "" : configuration.getBase().getAbsolutePath());
+        for (SymbolType type : SymbolType.values()) {
+            Symbol symbol = configuration.getSymbolTable().getSymbol(type);
+            if (symbol != null) {
+                append(key, type.name());
+                append(key, String.valueOf(symbol.getValue()));
+                append(key, new String(symbol.getInvalidChars()));
+                append(key, symbol.isNeedBeforeSpace() + "," + symbol.isNeedAfterSpace());
+            }
+        }
+        append(key, String.valueOf(configuration.getWhiteWords().size()));
+        configuration.getWhiteWords().forEach(word -> append(key, word));
+        for (ValidatorConfiguration validator : configuration.getValidatorConfigs()) {
+            append(key, validator.getConfigurationName());
+            append(key, String.valueOf(validator.getLevel()));
+            Map<String, String> properties = new TreeMap<>(validator.getProperties());
+            append(key, String.valueOf(properties.size()));
+            properties.forEach((name, value) -> {
+                append(key, name);
+                append(key, value);
+            });
+        }
+        return key.toString();
+    }
+
+    private static void append(StringBuilder key, String field) {
+        // length prefixed, so that no field can be confused with a separator
+        key.append(field == null ? -1 : field.length()).append(':');
+        if (field != null) {
+            key.append(field);
+        }
+    }
+}
@@ -58,7 +58,7 @@ public class RedPenConfigurationResource {
     @Path("/redpens")
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    @WinkAPIDescriber.Description("Return the configuration for available redpens matching the supplied language (default is any language)")
+    @WinkAPIDescriber.Description("Return the configuration for available redpens matching the supplied language (default is any language) and the usage of the cache of posted configurations")
     public Response getRedPens(@QueryParam("lang") @DefaultValue("") String lang) throws RedPenException {
 
         JSONObject response = new JSONObject();
@@ -68,8 +68,21 @@ public class RedPenConfigurationResource {
             response.put("version", RedPen.VERSION);
             response.put("documentParsers", DocumentParser.PARSER_MAP.keySet());
 
+            RedPenService service = getRedPenService();
+            // add the usage of the cache of posted configurations
+            RedPenCache cache = service.getRedPenCache();
+            if (cache != null) {
+                JSONObject cacheJSON = new JSONObject();
+                cacheJSON.put("capacity", cache.getCapacity());
+                cacheJSON.put("size", cache.size());
+                cacheJSON.put("hits", cache.getHitCount());
+                cacheJSON.put("misses", cache.getMissCount());
+                cacheJSON.put("evictions", cache.getEvictionCount());
+                response.put("redpenCache", cacheJSON);
+            }
+
             // add matching configurations
-            Map<String, RedPen> redpens = getRedPenService().getRedPens();
+            Map<String, RedPen> redpens = service.getRedPens();
             final JSONObject redpensJSON = new JSONObject();
             response.put("redpens", redpensJSON);
             redpens.forEach((configurationName, redPen) -> {
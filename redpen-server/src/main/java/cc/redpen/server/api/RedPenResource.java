@@ -18,6 +18,7 @@
 
 package cc.redpen.server.api;
 
+import cc.redpen.EditingSession;
 import cc.redpen.RedPen;
 import cc.redpen.RedPenException;
 import cc.redpen.config.ConfigurationLoader;
@@ -31,6 +32,7 @@ import cc.redpen.util.FormatterUtils;
 import cc.redpen.util.LanguageDetector;
 import cc.redpen.validator.ValidationError;
 import org.apache.wink.common.annotations.Workspace;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -41,6 +43,7 @@ import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.MediaType;
+import java.util.ArrayList;
 import java.util.List;
 
 import static cc.redpen.server.api.RedPenService.getOrDefault;
@@ -64,6 +67,11 @@ public class RedPenResource {
     /*package*/ static final String MIME_TYPE_JSON = "application/json; charset=utf-8";
     /*package*/ static final String MIME_TYPE_PLAINTEXT = "text/plain; charset=utf-8";
 
+    /*package*/ static final String SESSION_HEADER = "X-RedPen-Session";
+
+    private static final EditingSessions editingSessions =
+            new EditingSessions(EditingSessions.DEFAULT_CAPACITY, EditingSessions.DEFAULT_TIMEOUT_MILLIS);
+
     @Context
     private ServletContext context;
 
@@ -108,7 +116,7 @@ public class RedPenResource {
         if (config == null) {
             redPen = new RedPenService(context).getRedPen(lang);
         } else {
-            redPen = new RedPen(new ConfigurationLoader().secure().loadFromString(config));
+            redPen = new RedPenService(context).getRedPen(new ConfigurationLoader().secure().loadFromString(config));
         }
         Document parsedDocument = redPen.parse(DocumentParser.of(documentParser), document);
         List<ValidationError> errors = redPen.validate(parsedDocument, errorLevel);
@@ -174,6 +182,107 @@ public class RedPenResource {
         return responseTyped(formatter.format(parsedDocument, errors), format);
     }
 
+    /**
+     * Open an editing session for a document and validate it. The request is encoded in JSON with the same
+     * properties as in {@link #validateDocumentJSON(JSONObject)}, plus errorLevel, the threshold of error level.
+     * <p>
+     * The id of the session is returned in the X-RedPen-Session header; the following edits of the document are
+     * posted to /document/session/{id}/edit.
+     *
+     * @param requestJSON the request, in JSON
+     * @return redpen validation errors
+     * @throws RedPenException when failed to validate the json
+     */
+    @Path("/session")
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.TEXT_PLAIN})
+    @WinkAPIDescriber.Description("Open an editing session for a document and return any redpen errors")
+    public Response openSession(JSONObject requestJSON) throws RedPenException {
+
+        LOG.info("Opening editing session");
+        String documentParser = getOrDefault(requestJSON, "documentParser", DEFAULT_DOCUMENT_PARSER);
+        String documentText = getOrDefault(requestJSON, "document", "");
+        String format = getOrDefault(requestJSON, "format", DEFAULT_FORMAT);
+        String errorLevel = getOrDefault(requestJSON, "errorLevel", DEFAULT_ERROR_LEVEL);
+
+        RedPen redPen = new RedPenService(context).getRedPenFromJSON(requestJSON);
+        EditingSession session = new EditingSession(redPen, DocumentParser.of(documentParser), documentText, errorLevel);
+        Response response = responseSession(session, format);
+        String id = editingSessions.open(session);
+        return Response.fromResponse(response).header(SESSION_HEADER, id).build();
+    }
+
+    /**
+     * Apply edits to the document of an editing session and validate it again. Only the changed sentences are
+     * validated by sentence validators which do not depend on other sentences. Valid properties are:
+     * <p>
+     * edits : array of edits applied in order, each with start, the first line to replace starting from 1,
+     * end, the line following the last line to replace, and lines, the lines replacing the range
+     * format : the format of the results, eg: json, json2, plain etc
+     *
+     * @param id          id of the session
+     * @param requestJSON the request, in JSON
+     * @return redpen validation errors, or 404 when the session does not exist or expired
+     * @throws RedPenException when failed to apply the edits
+     */
+    @Path("/session/{id}/edit")
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.TEXT_PLAIN})
+    @WinkAPIDescriber.Description("Apply edits to the document of an editing session and return any redpen errors")
+    public Response editSession(@PathParam("id") String id, JSONObject requestJSON) throws RedPenException {
+        EditingSession session = editingSessions.get(id);
+        if (session == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        String format = getOrDefault(requestJSON, "format", DEFAULT_FORMAT);
+        try {
+            JSONArray edits = requestJSON.has("edits") ? requestJSON.getJSONArray("edits") : new JSONArray();
+            synchronized (session) {
+                for (int i = 0; i < edits.length(); i++) {
+                    JSONObject edit = edits.getJSONObject(i);
+                    JSONArray lines = edit.has("lines") ? edit.getJSONArray("lines") : new JSONArray();
+                    List<String> newLines = new ArrayList<>(lines.length());
+                    for (int j = 0; j < lines.length(); j++) {
+                        newLines.add(lines.getString(j));
+                    }
+                    session.replaceLines(edit.getInt("start"), edit.getInt("end"), newLines);
+                }
+                return responseSession(session, format);
+            }
+        } catch (JSONException e) {
+            throw new RedPenException("Invalid edit request", e);
+        }
+    }
+
+    /**
+     * Close an editing session.
+     *
+     * @param id id of the session
+     * @return 204, or 404 when the session does not exist or expired
+     */
+    @Path("/session/{id}")
+    @DELETE
+    @WinkAPIDescriber.Description("Close an editing session")
+    public Response closeSession(@PathParam("id") String id) {
+        if (editingSessions.close(id)) {
+            return Response.noContent().build();
+        }
+        return Response.status(Response.Status.NOT_FOUND).build();
+    }
+
+    private static Response responseSession(EditingSession session, String format) throws RedPenException {
+        Formatter formatter = FormatterUtils.getFormatterByName(format);
+
+        if (formatter == null) {
+            throw new RedPenException("Unsupported format: " + format + " - please use xml, plain, plain2, json or json2");
+        }
+
+        List<ValidationError> errors = session.validate();
+        return responseTyped(formatter.format(session.getDocument(), errors), format);
+    }
+
     /**
      * Tokenize some text and return the tokens
      *
@@ -39,6 +39,7 @@ public class RedPenService {
 
     private final static String DEFAULT_LANGUAGE = "default";
     static final Map<String, RedPen> redPens = new LinkedHashMap<>();
+    static final RedPenCache customRedPens = new RedPenCache(RedPenCache.DEFAULT_CAPACITY);
 
     /**
      * Create redpens for the given context
@@ -87,9 +88,29 @@ public class RedPenService {
     }
 
     /**
-     * Create a new redpen for the JSON object.
+     * Get a redpen for the given configuration, reusing the one built for an equivalent configuration.
+     *
+     * @param configuration the configuration
+     * @return a configured redpen instance, shared with other requests
+     * @throws RedPenException when failed to build the redpen
+     */
+    public RedPen getRedPen(Configuration configuration) throws RedPenException {
+        return customRedPens.get(configuration);
+    }
+
+    /**
+     * Get the cache of the redpens built for configurations posted with requests.
+     *
+     * @return cache shared by all the requests
+     */
+    public RedPenCache getRedPenCache() {
+        return customRedPens;
+    }
+
+    /**
+     * Get a redpen for the JSON object.
      * @param requestJSON the JSON contains configurations
-     * @return a configured redpen instance
+     * @return a configured redpen instance, shared with other requests with the same configurations
      */
     public RedPen getRedPenFromJSON(JSONObject requestJSON) throws RedPenException {
         String lang;
@@ -114,37 +135,37 @@ public class RedPenService {
             throw new RedPenException(e);
         }
 
-        RedPen redPen = this.getRedPen(lang, properties);
-
-        // override any symbols
+        // override any symbols, before building the redpen since it may be shared
+        List<Symbol> symbolOverrides = new ArrayList<>();
         if (config.has("symbols")) {
             try {
+                SymbolTable defaultSymbols = Configuration.builder(lang).build().getSymbolTable();
                 JSONObject symbols = config.getJSONObject("symbols");
                 Iterator keyIter = symbols.keys();
                 while (keyIter.hasNext()) {
-                    registerSymbolSettings(redPen, symbols, keyIter);
+                    registerSymbolSettings(defaultSymbols, symbolOverrides, symbols, keyIter);
                 }
             } catch (Exception e) {
                 LOG.error("Exception when processing JSON symbol overrides");
                 throw new RedPenException(e);
             }
         }
-        return redPen;
+        return this.getRedPen(lang, properties, symbolOverrides);
     }
 
-    private void registerSymbolSettings(RedPen redPen, JSONObject symbols, Iterator keyIter) throws JSONException {
+    private void registerSymbolSettings(SymbolTable defaultSymbols, List<Symbol> symbolOverrides, JSONObject symbols, Iterator keyIter) throws JSONException {
         String symbolName = String.valueOf(keyIter.next());
         try {
             SymbolType symbolType = SymbolType.valueOf(symbolName);
             JSONObject symbolConfig = symbols.getJSONObject(symbolName);
-            Symbol originalSymbol = redPen.getConfiguration().getSymbolTable().getSymbol(symbolType);
+            Symbol originalSymbol = defaultSymbols.getSymbol(symbolType);
             if ((originalSymbol != null) && (symbolConfig != null) && symbolConfig.has("value")) {
                 String value = symbolConfig.has("value") ? symbolConfig.getString("value") : String.valueOf(originalSymbol.getValue());
                 boolean spaceBefore = symbolConfig.has("before_space") ? symbolConfig.getBoolean("before_space") : originalSymbol.isNeedBeforeSpace();
                 boolean spaceAfter = symbolConfig.has("after_space") ? symbolConfig.getBoolean("after_space") : originalSymbol.isNeedAfterSpace();
                 String invalidChars = symbolConfig.has("invalid_chars") ? symbolConfig.getString("invalid_chars") : String.valueOf(originalSymbol.getInvalidChars());
                 if ((value != null) && !value.isEmpty()) {
-                    redPen.getConfiguration().getSymbolTable().overrideSymbol(new Symbol(symbolType, value.charAt(0), invalidChars, spaceBefore, spaceAfter));
+                    symbolOverrides.add(new Symbol(symbolType, value.charAt(0), invalidChars, spaceBefore, spaceAfter));
                 }
             }
         } catch (IllegalArgumentException iae) {
@@ -170,15 +191,28 @@ public class RedPenService {
     }
 
     /**
-     * Create a new redpen for the specified language. The validator properties map is a map of validator names to their (optional) properties.
+     * Get a redpen for the specified language. The validator properties map is a map of validator names to their (optional) properties.
      * Only validitors present in this map are added to the redpen configuration
      *
      * @param lang                the language to use
      * @param validatorProperties a map of redpen validator names to a map of their properties
-     * @return a configured redpen instance
+     * @return a configured redpen instance, shared with other requests with the same configurations
      */
     public RedPen getRedPen(String lang, Map<String, Map<String, String>> validatorProperties) {
+        return getRedPen(lang, validatorProperties, Collections.emptyList());
+    }
+
+    /**
+     * Get a redpen for the specified language, validators and symbol overrides.
+     *
+     * @param lang                the language to use
+     * @param validatorProperties a map of redpen validator names to a map of their properties
+     * @param symbols             symbols overriding the defaults of the language
+     * @return a configured redpen instance, shared with other requests with the same configurations
+     */
+    public RedPen getRedPen(String lang, Map<String, Map<String, String>> validatorProperties, List<Symbol> symbols) {
         Configuration.ConfigurationBuilder configBuilder = Configuration.builder(lang).secure();
+        symbols.forEach(configBuilder::addSymbol);
 
         // add the validators and their properties
         validatorProperties.forEach((validatorName, props) -> {
@@ -187,7 +221,7 @@ public class RedPenService {
             configBuilder.addValidatorConfig(validatorConfig);
         });
         try {
-            return new RedPen(configBuilder.build());
+            return getRedPen(configBuilder.build());
         } catch (RedPenException e) {
             LOG.error("Unable to initialize RedPen", e);
             throw new ExceptionInInitializerError(e);
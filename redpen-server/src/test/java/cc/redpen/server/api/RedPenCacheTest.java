@@ -0,0 +1,68 @@
+package cc.redpen.server.api;
+
+import cc.redpen.RedPen;
+import cc.redpen.config.Configuration;
+import cc.redpen.config.Symbol;
+import cc.redpen.config.ValidatorConfiguration;
+import org.junit.jupiter.api.Test;
+
+import static cc.redpen.config.SymbolType.COMMA;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedPenCacheTest {
+    private static Configuration configuration(String lang, String maxNum, String minLevel) {
+        return Configuration.builder(lang).secure()
+                .addValidatorConfig(new ValidatorConfiguration("WordNumber").addProperty("max_num", maxNum).addProperty("min_level", minLevel))
+                .build();
+    }
+
+    @Test
+    void equivalentConfigurationsShareRedPen() throws Exception {
+        RedPenCache cache = new RedPenCache(4);
+        RedPen redPen = cache.get(configuration("en", "30", "1"));
+        assertSame(redPen, cache.get(configuration("en", "30", "1")));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void differentConfigurationsDoNotShareRedPen() throws Exception {
+        RedPenCache cache = new RedPenCache(4);
+        RedPen redPen = cache.get(configuration("en", "30", "1"));
+        assertNotSame(redPen, cache.get(configuration("en", "31", "1")));
+        assertNotSame(redPen, cache.get(configuration("ru", "30", "1")));
+        assertNotSame(redPen, cache.get(Configuration.builder("en").secure()
+                .addSymbol(new Symbol(COMMA, '、'))
+                .addValidatorConfig(new ValidatorConfiguration("WordNumber").addProperty("max_num", "30").addProperty("min_level", "1"))
+                .build()));
+        assertNotSame(redPen, cache.get(Configuration.builder("en").secure()
+                .addWhiteWord("Prof.")
+                .addValidatorConfig(new ValidatorConfiguration("WordNumber").addProperty("max_num", "30").addProperty("min_level", "1"))
+                .build()));
+        assertEquals(5, cache.getMissCount());
+    }
+
+    @Test
+    void canonicalKeyIgnoresPropertyOrder() {
+        Configuration first = Configuration.builder("en")
+                .addValidatorConfig(new ValidatorConfiguration("WordNumber").addProperty("a", "1").addProperty("b", "2")).build();
+        Configuration second = Configuration.builder("en")
+                .addValidatorConfig(new ValidatorConfiguration("WordNumber").addProperty("b", "2").addProperty("a", "1")).build();
+        assertEquals(RedPenCache.canonicalKey(first), RedPenCache.canonicalKey(second));
+    }
+
+    @Test
+    void leastRecentlyUsedRedPenIsEvicted() throws Exception {
+        RedPenCache cache = new RedPenCache(2);
+        RedPen first = cache.get(configuration("en", "10", "1"));
+        cache.get(configuration("en", "20", "1"));
+        cache.get(configuration("en", "10", "1"));
+        cache.get(configuration("en", "30", "1"));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(first, cache.get(configuration("en", "10", "1")));
+        assertEquals(2, cache.getHitCount());
+    }
+}
@@ -18,6 +18,8 @@
 package cc.redpen.server.api;
 
 import cc.redpen.RedPen;
+import cc.redpen.config.Configuration;
+import cc.redpen.config.ValidatorConfiguration;
 import cc.redpen.parser.DocumentParser;
 import cc.redpen.tokenizer.NeologdJapaneseTokenizer;
 import com.google.common.collect.ImmutableMap;
@@ -43,6 +45,22 @@ class RedPenConfigurationResourceTest {
         assertEquals(new JSONArray(DocumentParser.PARSER_MAP.keySet()).toString(), response.get("documentParsers").toString());
     }
 
+    @Test
+    void redPenCacheUsageIsReturned() throws Exception {
+        RedPenCache cache = new RedPenService(null).getRedPenCache();
+        long misses = cache.getMissCount();
+        cache.get(Configuration.builder("en")
+                .addValidatorConfig(new ValidatorConfiguration("SentenceLength").addProperty("max_len", String.valueOf(1000 + misses)))
+                .build());
+
+        JSONObject usage = ((JSONObject)resource.getRedPens("").getEntity()).getJSONObject("redpenCache");
+        assertEquals(RedPenCache.DEFAULT_CAPACITY, usage.getInt("capacity"));
+        assertEquals(misses + 1, usage.getLong("misses"));
+        assertEquals(cache.getHitCount(), usage.getLong("hits"));
+        assertEquals(cache.getEvictionCount(), usage.getLong("evictions"));
+        assertEquals(cache.size(), usage.getInt("size"));
+    }
+
     @Test
     void allConfigurationsIfLangNotSpecified() throws Exception {
         RedPenService service = mock(RedPenService.class);
@@ -137,6 +137,30 @@ class RedPenResourceTest extends MockServletInvocationTest {
         assertEquals(0, errors.length());
     }
 
+    @Test
+    void testEditingSession() throws Exception {
+        MockHttpServletRequest request = constructMockRequest("POST", "/document/session", WILDCARD, APPLICATION_JSON);
+        request.setContent("{\"document\":\"This is a pen.\\nThis is a pen.\",\"documentParser\":\"PLAIN\",\"lang\":\"en\"}".getBytes());
+        MockHttpServletResponse response = invoke(request);
+        assertEquals("HTTP status", HttpStatus.OK.getCode(), response.getStatus());
+        assertEquals(0, new JSONObject(response.getContentAsString()).getJSONArray("errors").length());
+        String id = response.getHeader(RedPenResource.SESSION_HEADER);
+        assertNotNull(id);
+
+        request = constructMockRequest("POST", "/document/session/" + id + "/edit", WILDCARD, APPLICATION_JSON);
+        request.setContent("{\"edits\":[{\"start\":2,\"end\":3,\"lines\":[\"foobar.foobar\"]}]}".getBytes());
+        response = invoke(request);
+        assertEquals("HTTP status", HttpStatus.OK.getCode(), response.getStatus());
+        assertTrue(new JSONObject(response.getContentAsString()).getJSONArray("errors").length() > 0);
+
+        request = constructMockRequest("DELETE", "/document/session/" + id, WILDCARD);
+        assertEquals("HTTP status", HttpStatus.NO_CONTENT.getCode(), invoke(request).getStatus());
+
+        request = constructMockRequest("POST", "/document/session/" + id + "/edit", WILDCARD, APPLICATION_JSON);
+        request.setContent("{\"edits\":[]}".getBytes());
+        assertEquals("HTTP status", HttpStatus.NOT_FOUND.getCode(), invoke(request).getStatus());
+    }
+
     @Test
     void testDetectLanguage() throws Exception {
         assertEquals("en", new RedPenResource().detectLanguage("Hello World").getString("key"));
@@ -13,6 +13,8 @@ import java.util.Map;
 
 import static java.util.Collections.emptyMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class RedPenServiceTest {
@@ -66,4 +68,18 @@ class RedPenServiceTest {
         assertEquals(conf.getLang(), "ru");
         assertEquals(conf.getSymbolTable().getSymbol(SymbolType.SPACE).getValue(), ' ');
     }
+
+    @Test
+    void redPenFromJSONIsReusedForSameConfiguration() throws Exception {
+        String json = "{\"config\": {\"validators\": {\"WordNumber\": {\"properties\": {\"max_num\": \"30\"}}},\"lang\": \"en\"}}";
+        String withSymbols = "{\"config\": {\"symbols\": {\"COMMA\": {\"value\": \";\"}},\"validators\": {\"WordNumber\": {\"properties\": {\"max_num\": \"30\"}}},\"lang\": \"en\"}}";
+        RedPenService service = new RedPenService(null);
+        RedPen redPen = service.getRedPenFromJSON(new JSONObject(json));
+        assertSame(redPen, service.getRedPenFromJSON(new JSONObject(json)));
+
+        RedPen redPenWithSymbols = service.getRedPenFromJSON(new JSONObject(withSymbols));
+        assertNotSame(redPen, redPenWithSymbols);
+        assertEquals(';', redPenWithSymbols.getConfiguration().getSymbolTable().getSymbol(SymbolType.COMMA).getValue());
+        assertEquals(',', redPen.getConfiguration().getSymbolTable().getSymbol(SymbolType.COMMA).getValue());
+    }
 }